@@ -2,8 +2,10 @@ package com.sportsvenue.venuemanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class VenueManagementApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(VenueManagementApplication.class, args);
@@ -38,6 +38,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/users/register").permitAll()
                         .requestMatchers("/api/users/login").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/venues/manager/**").hasRole("VENUE_MANAGER")
                         .requestMatchers(HttpMethod.GET, "/api/venues/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/venues").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/venues/**").authenticated()
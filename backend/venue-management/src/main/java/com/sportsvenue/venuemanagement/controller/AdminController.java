@@ -1,14 +1,30 @@
 package com.sportsvenue.venuemanagement.controller;
 
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
 import com.sportsvenue.venuemanagement.model.*;
 import com.sportsvenue.venuemanagement.service.AdminService;
+import com.sportsvenue.venuemanagement.service.AnalyticsCache;
+import com.sportsvenue.venuemanagement.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,6 +34,16 @@ public class AdminController extends BaseController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private ExportService exportService;
+
+    // exports stream whole tables and may run for minutes; other requests keep the default timeout
+    @Value("${admin.export.timeout-ms:1800000}")
+    private long exportTimeoutMillis;
+
     // User Management
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -50,17 +76,82 @@ public class AdminController extends BaseController {
     // Analytics
     @GetMapping("/analytics/users")
     public ResponseEntity<Map<String, Object>> getUserAnalytics() {
-        return success(adminService.getUserAnalytics());
+        return cached(analyticsCache.get("admin.analytics.users", adminService::getUserAnalytics));
     }
 
     @GetMapping("/analytics/venues")
     public ResponseEntity<Map<String, Object>> getVenueAnalytics() {
-        return success(adminService.getVenueAnalytics());
+        return cached(analyticsCache.get("admin.analytics.venues", adminService::getVenueAnalytics));
     }
 
     @GetMapping("/analytics/bookings")
     public ResponseEntity<Map<String, Object>> getBookingAnalytics() {
-        return success(adminService.getBookingAnalytics());
+        return cached(analyticsCache.get("admin.analytics.bookings", adminService::getBookingAnalytics));
+    }
+
+    /**
+     * Users, venues and bookings analytics in one call; {@code sections}
+     * narrows it to any of those three.
+     */
+    @GetMapping("/analytics/dashboard")
+    public ResponseEntity<Map<String, Object>> getDashboard(
+            @RequestParam(defaultValue = "users,venues,bookings") Set<String> sections) {
+        // normalized first, so every spelling of the same sections shares one cache entry
+        SortedSet<String> normalized = adminService.normalizeDashboardSections(sections);
+        String key = "admin.analytics.dashboard:" + String.join(",", normalized);
+        return cached(analyticsCache.get(key, () -> adminService.getDashboard(normalized)));
+    }
+
+    @GetMapping("/analytics/utilization")
+    public ResponseEntity<Map<String, Object>> getUtilizationAnalytics(
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        return success(adminService.getUtilizationAnalytics(venueId, start, end));
+    }
+
+    @GetMapping("/analytics/facts")
+    public ResponseEntity<Map<String, Object>> queryBookingFacts(
+            @RequestParam List<String> groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) List<String> status) {
+        return success(adminService.queryBookingFacts(groupBy, from, to, venueId, status));
+    }
+
+    /**
+     * Approximate distinct players over a range of months, within about 1.6%
+     * (one standard error) of the exact count. Defaults to the current quarter.
+     */
+    @GetMapping("/analytics/unique-players")
+    public ResponseEntity<Map<String, Object>> getUniquePlayers(
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths((end.getMonthValue() - 1) % 3);
+        return success(adminService.getUniquePlayers(venueId, start, end));
+    }
+
+    /**
+     * Top venues by bookings in a month. Each count may overshoot by its
+     * {@code error}, which never exceeds {@code maxError}.
+     */
+    @GetMapping("/analytics/top-venues")
+    public ResponseEntity<Map<String, Object>> getTopVenues(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "20") int limit) {
+        return success(adminService.getTopVenues(month != null ? month : YearMonth.now(), limit));
+    }
+
+    @GetMapping("/analytics/top-slots")
+    public ResponseEntity<Map<String, Object>> getTopSlots(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "20") int limit) {
+        return success(adminService.getTopSlots(month != null ? month : YearMonth.now(), limit));
     }
 
     // Venue Management
@@ -92,20 +183,27 @@ public class AdminController extends BaseController {
 
     // Booking Management
     @GetMapping("/bookings")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return success(adminService.getAllBookings());
+    public ResponseEntity<BookingPage> getAllBookings(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingFilter filter = new BookingFilter(null, venueId, null, status, from, to);
+        return success(adminService.getBookings(filter, cursor, limit));
     }
 
     @GetMapping("/bookings/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
-        return success(adminService.getBookingById(id));
+    public ResponseEntity<BookingSummary> getBookingById(@PathVariable Long id) {
+        return success(BookingSummary.of(adminService.getBookingById(id)));
     }
 
     @PutMapping("/bookings/{id}/status")
-    public ResponseEntity<Booking> updateBookingStatus(
+    public ResponseEntity<BookingSummary> updateBookingStatus(
             @PathVariable Long id,
             @RequestParam String status) {
-        return success(adminService.updateBookingStatus(id, status));
+        return success(BookingSummary.of(adminService.updateBookingStatus(id, status)));
     }
 
     @DeleteMapping("/bookings/{id}")
@@ -132,9 +230,56 @@ public class AdminController extends BaseController {
         return success(adminService.getRevenueReport(startDate, endDate));
     }
 
+    // Exports
+    @GetMapping("/export/bookings")
+    public WebAsyncTask<Void> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        ExportService.Format exportFormat = exportFormat(format);
+        return export("bookings", exportFormat, from, to, response,
+                out -> exportService.exportBookings(exportFormat, from, to, out));
+    }
+
+    @GetMapping("/export/payments")
+    public WebAsyncTask<Void> exportPayments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        ExportService.Format exportFormat = exportFormat(format);
+        return export("payments", exportFormat, from, to, response,
+                out -> exportService.exportPayments(exportFormat, from, to, out));
+    }
+
+    private static ExportService.Format exportFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + format + ", expected csv or ndjson");
+        }
+    }
+
+    private WebAsyncTask<Void> export(String name, ExportService.Format format, LocalDate from, LocalDate to,
+            HttpServletResponse response, StreamingResponseBody body) {
+        // validate before the body starts streaming; afterwards the status is already sent
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        String filename = name + "-" + from + "-to-" + to + "." + format.extension();
+        response.setContentType(format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @GetMapping("/payments/analytics")
     public ResponseEntity<Map<String, Object>> getPaymentAnalytics() {
-        return success(adminService.getPaymentAnalytics());
+        return cached(analyticsCache.get("admin.payments.analytics", adminService::getPaymentAnalytics));
     }
 
     // System Settings
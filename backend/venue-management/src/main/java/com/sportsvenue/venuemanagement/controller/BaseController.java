@@ -1,5 +1,7 @@
 package com.sportsvenue.venuemanagement.controller;
 
+import com.sportsvenue.venuemanagement.service.AnalyticsCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,7 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @CrossOrigin(origins = "http://localhost:5173", 
     allowedHeaders = {"Authorization", "Content-Type", "X-Requested-With", "Accept"},
-    exposedHeaders = {"Authorization"},
+    exposedHeaders = {"Authorization", "Age", "X-Cache"},
     methods = {org.springframework.web.bind.annotation.RequestMethod.GET,
               org.springframework.web.bind.annotation.RequestMethod.POST,
               org.springframework.web.bind.annotation.RequestMethod.PUT,
@@ -36,6 +38,19 @@ public class BaseController {
         return ResponseEntity.ok(data);
     }
 
+    /**
+     * Helper method to create a successful response from a cached result
+     * @param cached The cached data and its age
+     * @return ResponseEntity with the data, an Age header in seconds and an
+     * X-Cache header of HIT, STALE or MISS
+     */
+    protected <T> ResponseEntity<T> cached(AnalyticsCache.Cached<T> cached) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()))
+                .header("X-Cache", cached.state().name())
+                .body(cached.value());
+    }
+
     /**
      * Helper method to create a not found response
      * @return ResponseEntity with 404 status
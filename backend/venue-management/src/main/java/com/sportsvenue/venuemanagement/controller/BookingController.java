@@ -1,11 +1,24 @@
 package com.sportsvenue.venuemanagement.controller;
 
+import com.sportsvenue.venuemanagement.dto.BatchBookingResult;
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
+import com.sportsvenue.venuemanagement.dto.BookingTicket;
+import com.sportsvenue.venuemanagement.dto.FreeCourtCandidate;
+import com.sportsvenue.venuemanagement.dto.RecurringBookingRequest;
 import com.sportsvenue.venuemanagement.model.Booking;
 import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.service.AnalyticsCache;
+import com.sportsvenue.venuemanagement.service.BookingIntakeService;
 import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -16,19 +29,36 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = "*")
-public class BookingController {
+public class BookingController extends BaseController {
 
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingIntakeService bookingIntakeService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private UserService userService;
+
     @GetMapping("/admin/all")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<BookingPage> getAllBookings(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingFilter filter = new BookingFilter(null, venueId, null, status, from, to);
+        return ResponseEntity.ok(bookingService.findBookings(filter, cursor, limit));
     }
 
     @GetMapping("/admin/stats")
     public ResponseEntity<Map<String, Object>> getAdminStats() {
-        return ResponseEntity.ok(bookingService.getAdminBookingStats());
+        return cached(analyticsCache.get("bookings.admin.stats",
+                bookingService::getAdminBookingStats));
     }
 
     @GetMapping("/manager/stats")
@@ -37,29 +67,51 @@ public class BookingController {
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<List<Booking>> getManagerBookings(@PathVariable Long managerId) {
-        return ResponseEntity.ok(bookingService.getManagerBookings(managerId));
+    public ResponseEntity<BookingPage> getManagerBookings(
+            @PathVariable Long managerId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingFilter filter = new BookingFilter(null, venueId, managerId, status, from, to);
+        return ResponseEntity.ok(bookingService.findBookings(filter, cursor, limit));
     }
 
     @GetMapping("/user/id/{userId}")
-    public ResponseEntity<List<Booking>> getUserBookings(@PathVariable Long userId) {
-        return ResponseEntity.ok(bookingService.getUserBookings(userId));
+    public ResponseEntity<BookingPage> getUserBookings(
+            @PathVariable Long userId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingFilter filter = new BookingFilter(userId, venueId, null, status, from, to);
+        return ResponseEntity.ok(bookingService.findBookings(filter, cursor, limit));
+    }
+
+    @GetMapping("/user/id/{userId}/analytics")
+    @PreAuthorize("@userService.isSelfOrAdmin(authentication, #userId)")
+    public ResponseEntity<Map<String, Object>> getUserBookingAnalytics(@PathVariable Long userId) {
+        return ResponseEntity.ok(userService.getUserBookingAnalytics(userId));
     }
 
     @GetMapping("/user/name/{username}")
-    public ResponseEntity<List<Booking>> getUserBookingsByUsername(@PathVariable String username) {
+    public ResponseEntity<List<BookingSummary>> getUserBookingsByUsername(@PathVariable String username) {
         return ResponseEntity.ok(bookingService.getUserBookingsByUsername(username));
     }
 
     @GetMapping("/venue/{venueId}")
-    public ResponseEntity<List<Booking>> getVenueBookings(
+    public ResponseEntity<List<BookingSummary>> getVenueBookings(
             @PathVariable Long venueId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return ResponseEntity.ok(bookingService.getVenueBookings(venueId, date));
     }
 
     @PostMapping
-    public ResponseEntity<Booking> createBooking(@RequestBody BookingRequest request) {
+    public ResponseEntity<BookingSummary> createBooking(@RequestBody BookingRequest request) {
         Booking booking = bookingService.createBooking(
                 request.getVenueId(),
                 request.getUserId(),
@@ -68,14 +120,48 @@ public class BookingController {
                 request.getEndTime(),
                 request.getCourtNumber(),
                 request.getTotalAmount());
-        return ResponseEntity.ok(booking);
+        return ResponseEntity.ok(BookingSummary.of(booking));
+    }
+
+    @PostMapping("/recurring")
+    public ResponseEntity<BatchBookingResult> createRecurringBookings(@RequestBody RecurringBookingRequest request) {
+        BatchBookingResult result = bookingService.createRecurringBookings(
+                request.getVenueId(),
+                request.getUserId(),
+                request.getFirstDate(),
+                request.getStartTime(),
+                request.getEndTime(),
+                request.getCourtNumber(),
+                request.getTotalAmount(),
+                request.getOccurrences(),
+                request.getIntervalWeeks());
+        if (!result.isCommitted()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/intake")
+    public ResponseEntity<?> submitBooking(@RequestBody BookingIntakeRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(bookingIntakeService.submit(request));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/intake/{ticketId}")
+    public ResponseEntity<BookingTicket> getIntakeTicket(@PathVariable String ticketId) {
+        return ResponseEntity.ok(bookingIntakeService.getTicket(ticketId));
     }
 
     @PutMapping("/{id}/status")
-    public ResponseEntity<Booking> updateBookingStatus(
+    public ResponseEntity<BookingSummary> updateBookingStatus(
             @PathVariable Long id,
             @RequestParam BookingStatus status) {
-        return ResponseEntity.ok(bookingService.updateBookingStatus(id, status));
+        return ResponseEntity.ok(BookingSummary.of(bookingService.updateBookingStatus(id, status)));
     }
 
     @PutMapping("/{id}/payment")
@@ -102,9 +188,22 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.isCourtAvailable(venueId, date, startTime, endTime, courtNumber));
     }
 
+    @GetMapping("/free-courts")
+    public ResponseEntity<List<FreeCourtCandidate>> findFreeCourts(
+            @RequestParam String sportType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+            @RequestParam(defaultValue = "60") int durationMinutes,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(bookingService.findFreeCourts(sportType, date, from, to, durationMinutes,
+                location, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
-        return ResponseEntity.ok(bookingService.getBookingById(id));
+    public ResponseEntity<BookingSummary> getBookingById(@PathVariable Long id) {
+        return ResponseEntity.ok(BookingSummary.of(bookingService.getBookingById(id)));
     }
 }
 
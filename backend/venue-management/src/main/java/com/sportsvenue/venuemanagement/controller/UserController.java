@@ -103,4 +103,12 @@ public class UserController extends BaseController {
         
         return ResponseEntity.ok(user);
     }
+
+    @GetMapping("/me/analytics")
+    public ResponseEntity<?> getCurrentUserAnalytics(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(userService.getUserAnalytics(authentication.getName()));
+    }
 }
@@ -1,9 +1,12 @@
 package com.sportsvenue.venuemanagement.controller;
 
+import com.sportsvenue.venuemanagement.dto.TimeSlotAvailability;
 import com.sportsvenue.venuemanagement.model.Venue;
 import com.sportsvenue.venuemanagement.model.ErrorResponse;
+import com.sportsvenue.venuemanagement.service.BookingService;
 import com.sportsvenue.venuemanagement.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -13,7 +16,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.access.AccessDeniedException;
 import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/venues")
@@ -24,6 +29,9 @@ public class VenueController extends BaseController {
     @Autowired
     private VenueService venueService;
 
+    @Autowired
+    private BookingService bookingService;
+
     @GetMapping
     public ResponseEntity<List<Venue>> getAllVenues() {
         try {
@@ -35,6 +43,16 @@ public class VenueController extends BaseController {
         }
     }
 
+    @GetMapping("/manager/analytics")
+    @PreAuthorize("hasRole('VENUE_MANAGER')")
+    public ResponseEntity<Map<String, Object>> getManagerAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(89);
+        return success(venueService.getManagerAnalytics(start, end));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Venue> getVenueById(@PathVariable Long id) {
         try {
@@ -49,6 +67,21 @@ public class VenueController extends BaseController {
         }
     }
 
+    @GetMapping("/{id}/available-slots")
+    public ResponseEntity<List<TimeSlotAvailability>> getAvailableSlots(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return success(bookingService.getAvailableSlots(id, date));
+        } catch (ResourceNotFoundException e) {
+            logger.error("Venue not found with id: " + id, e);
+            return notFound();
+        } catch (Exception e) {
+            logger.error("Error fetching available slots for venue with id: " + id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<?> createVenue(@RequestBody Venue venue) {
@@ -105,15 +138,11 @@ public class VenueController extends BaseController {
 
     @GetMapping("/search")
     public ResponseEntity<List<Venue>> searchVenues(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String sportType) {
-        try {
-            List<Venue> venues = venueService.searchVenues(name, location, sportType);
-            return success(venues);
-        } catch (Exception e) {
-            logger.error("Error searching venues", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+            @RequestParam(required = false) String sportType,
+            @RequestParam(defaultValue = "50") int limit) {
+        return success(venueService.searchVenues(q, name, location, sportType, limit));
     }
 }
@@ -0,0 +1,42 @@
+package com.sportsvenue.venuemanagement.controller;
+
+import com.sportsvenue.venuemanagement.dto.WaitlistRequest;
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import com.sportsvenue.venuemanagement.service.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@CrossOrigin(origins = "*")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@RequestBody WaitlistRequest request) {
+        return ResponseEntity.ok(waitlistService.joinWaitlist(request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long id) {
+        waitlistService.leaveWaitlist(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/{id}/priority")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WaitlistEntry> updatePriority(@PathVariable Long id, @RequestParam int priority) {
+        return ResponseEntity.ok(waitlistService.updatePriority(id, priority));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WaitlistEntry>> getUserEntries(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getUserEntries(userId));
+    }
+}
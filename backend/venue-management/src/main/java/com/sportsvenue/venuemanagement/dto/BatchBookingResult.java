@@ -0,0 +1,16 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResult {
+    private boolean committed;
+    private int conflicts;
+    private List<BookingOccurrence> occurrences;
+}
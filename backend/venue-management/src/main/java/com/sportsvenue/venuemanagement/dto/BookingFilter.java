@@ -0,0 +1,23 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional restrictions for booking listings; null fields do not filter.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingFilter {
+    private Long userId;
+    private Long venueId;
+    private Long managerId;
+    private BookingStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
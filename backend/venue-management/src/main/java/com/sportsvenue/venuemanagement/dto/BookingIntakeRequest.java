@@ -0,0 +1,21 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingIntakeRequest {
+    private Long venueId;
+    private Long userId;
+    private LocalDate bookingDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer courtNumber;
+    private Double totalAmount;
+}
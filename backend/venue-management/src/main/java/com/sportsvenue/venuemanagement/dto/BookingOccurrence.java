@@ -0,0 +1,25 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One occurrence of a batch or recurring booking. {@code bookingId} is set once
+ * the batch has been committed; {@code conflict} marks occurrences that
+ * overlapped an existing booking and caused the batch to be rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingOccurrence {
+    private LocalDate bookingDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer courtNumber;
+    private Long bookingId;
+    private boolean conflict;
+}
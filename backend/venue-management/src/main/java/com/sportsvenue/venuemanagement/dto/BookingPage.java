@@ -0,0 +1,19 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a booking listing. Pass {@code nextCursor} back as
+ * {@code cursor} to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingPage {
+    private List<BookingSummary> items;
+    private String nextCursor;
+}
@@ -0,0 +1,38 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read model for bookings. Listings select it straight from the query, so no
+ * {@code User} or {@code Venue} entity is loaded or serialized.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingSummary {
+    private Long id;
+    private Long venueId;
+    private String venueName;
+    private Integer courtNumber;
+    private LocalDate bookingDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private BookingStatus status;
+    private Double totalAmount;
+    private Long userId;
+    private String username;
+
+    public static BookingSummary of(Booking booking) {
+        return new BookingSummary(booking.getId(), booking.getVenue().getId(), booking.getVenue().getName(),
+                booking.getCourtNumber(), booking.getBookingDate(), booking.getStartTime(), booking.getEndTime(),
+                booking.getStatus(), booking.getTotalAmount(), booking.getUser().getId(),
+                booking.getUser().getUsername());
+    }
+}
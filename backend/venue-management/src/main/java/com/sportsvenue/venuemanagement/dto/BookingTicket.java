@@ -0,0 +1,28 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a booking request accepted through the intake queue. Tickets
+ * start {@code QUEUED} and move to {@code BOOKED} or {@code REJECTED} once the
+ * venue's writer has resolved them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingTicket {
+    public static final String QUEUED = "QUEUED";
+    public static final String BOOKED = "BOOKED";
+    public static final String REJECTED = "REJECTED";
+
+    private String ticketId;
+    private String status;
+    private Long bookingId;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime resolvedAt;
+}
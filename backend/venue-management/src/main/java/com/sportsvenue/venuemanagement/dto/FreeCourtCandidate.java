@@ -0,0 +1,21 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeCourtCandidate {
+    private Long venueId;
+    private String venueName;
+    private String location;
+    private String sportType;
+    private Integer courtNumber;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private double price;
+}
@@ -0,0 +1,29 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How one request of a booking group was resolved: either the id of the new
+ * booking or the reason it was turned down.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupBookingOutcome {
+    private Long bookingId;
+    private String rejection;
+
+    public static GroupBookingOutcome booked(Long bookingId) {
+        return new GroupBookingOutcome(bookingId, null);
+    }
+
+    public static GroupBookingOutcome rejected(String rejection) {
+        return new GroupBookingOutcome(null, rejection);
+    }
+
+    public boolean isBooked() {
+        return bookingId != null;
+    }
+}
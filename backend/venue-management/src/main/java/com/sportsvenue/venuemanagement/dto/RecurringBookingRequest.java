@@ -0,0 +1,23 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringBookingRequest {
+    private Long venueId;
+    private Long userId;
+    private LocalDate firstDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer courtNumber;
+    private Double totalAmount;
+    private int occurrences;
+    private int intervalWeeks = 1;
+}
@@ -0,0 +1,17 @@
+package com.sportsvenue.venuemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSlotAvailability {
+    private String time;
+    private String endTime;
+    private List<Integer> availableCourts;
+    private boolean available;
+}
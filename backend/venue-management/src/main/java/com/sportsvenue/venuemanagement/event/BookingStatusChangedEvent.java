@@ -0,0 +1,25 @@
+package com.sportsvenue.venuemanagement.event;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published whenever a booking changes status. {@code previousStatus} is null
+ * for a new booking and {@code newStatus} is null for a deleted one.
+ */
+public record BookingStatusChangedEvent(long bookingId, long venueId, long userId, int courtNumber,
+        LocalDate bookingDate, LocalTime startTime, LocalTime endTime, double totalAmount,
+        BookingStatus previousStatus, BookingStatus newStatus) {
+
+    public static BookingStatusChangedEvent of(Booking booking, BookingStatus previousStatus,
+            BookingStatus newStatus) {
+        return new BookingStatusChangedEvent(booking.getId(), booking.getVenue().getId(),
+                booking.getUser().getId(), booking.getCourtNumber(), booking.getBookingDate(),
+                booking.getStartTime(), booking.getEndTime(),
+                booking.getTotalAmount() != null ? booking.getTotalAmount() : 0,
+                previousStatus, newStatus);
+    }
+}
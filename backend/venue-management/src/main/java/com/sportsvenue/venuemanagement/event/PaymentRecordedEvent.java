@@ -0,0 +1,18 @@
+package com.sportsvenue.venuemanagement.event;
+
+import com.sportsvenue.venuemanagement.model.Payment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a payment has been stored against a booking.
+ */
+public record PaymentRecordedEvent(long paymentId, long bookingId, long venueId, long userId, double amount,
+        String method, LocalDateTime paymentDate) {
+
+    public static PaymentRecordedEvent of(Payment payment) {
+        return new PaymentRecordedEvent(payment.getId(), payment.getBooking().getId(),
+                payment.getBooking().getVenue().getId(), payment.getBooking().getUser().getId(),
+                payment.getAmount(), payment.getMethod(), payment.getPaymentDate());
+    }
+}
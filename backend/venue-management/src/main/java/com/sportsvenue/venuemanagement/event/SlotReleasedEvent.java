@@ -0,0 +1,10 @@
+package com.sportsvenue.venuemanagement.event;
+
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+
+/**
+ * Published when a booking stops occupying its court-day, through
+ * cancellation, deletion or an expired payment hold.
+ */
+public record SlotReleasedEvent(CourtDayKey key) {
+}
@@ -0,0 +1,18 @@
+package com.sportsvenue.venuemanagement.event;
+
+import com.sportsvenue.venuemanagement.model.Venue;
+
+/**
+ * Published when a venue is created, updated or deleted. {@code venue} is
+ * null for a deleted venue.
+ */
+public record VenueChangedEvent(long venueId, Venue venue) {
+
+    public static VenueChangedEvent saved(Venue venue) {
+        return new VenueChangedEvent(venue.getId(), venue);
+    }
+
+    public static VenueChangedEvent deleted(long venueId) {
+        return new VenueChangedEvent(venueId, null);
+    }
+}
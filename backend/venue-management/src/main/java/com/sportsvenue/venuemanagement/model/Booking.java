@@ -3,6 +3,7 @@ package com.sportsvenue.venuemanagement.model;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -10,7 +11,11 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_hold", columnList = "status, hold_expires_at"),
+        @Index(name = "idx_bookings_date_id", columnList = "booking_date, id"),
+        @Index(name = "idx_bookings_user_date_id", columnList = "user_id, booking_date, id"),
+        @Index(name = "idx_bookings_venue_date_id", columnList = "venue_id, booking_date, id") })
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -48,9 +53,28 @@ public class Booking {
     @Column(name = "status", nullable = false)
     private BookingStatus status = BookingStatus.PENDING;
 
+    // When a PENDING booking stops holding its court if still unpaid
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDate createdAt;
 
+    /**
+     * Whether this booking is an unpaid hold that still holds its court.
+     */
+    public boolean isOpenHold(LocalDateTime now) {
+        return status == BookingStatus.PENDING && (holdExpiresAt == null || holdExpiresAt.isAfter(now));
+    }
+
+    /**
+     * Whether this booking keeps its court from others, matching
+     * {@code BookingRepository.HOLDS_COURT}.
+     */
+    public boolean holdsCourt(LocalDateTime now) {
+        return status != BookingStatus.CANCELLED && (status != BookingStatus.PENDING || isOpenHold(now));
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDate.now();
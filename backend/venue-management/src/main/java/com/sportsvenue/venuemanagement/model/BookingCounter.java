@@ -0,0 +1,26 @@
+package com.sportsvenue.venuemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpointed value of one in-memory booking counter, used to warm the
+ * counters up again after a restart.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_counters")
+public class BookingCounter {
+    @Id
+    @Column(name = "name", length = 191)
+    private String name;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
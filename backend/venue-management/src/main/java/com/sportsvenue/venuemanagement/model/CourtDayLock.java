@@ -0,0 +1,32 @@
+package com.sportsvenue.venuemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Row-level lock target for a single court on a single day. Booking writers
+ * lock the row with SELECT ... FOR UPDATE so that instances sharing the
+ * database serialize on the same court-day.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "court_day_locks", uniqueConstraints = @UniqueConstraint(columnNames = { "venue_id",
+        "court_number", "booking_date" }), indexes = @Index(name = "idx_court_day_lock_date",
+        columnList = "booking_date"))
+public class CourtDayLock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "court_number", nullable = false)
+    private Integer courtNumber;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+}
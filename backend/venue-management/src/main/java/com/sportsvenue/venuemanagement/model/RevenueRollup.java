@@ -0,0 +1,36 @@
+package com.sportsvenue.venuemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Revenue received on one day at one venue through one payment method,
+ * kept up to date as payments are recorded.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revenue_rollups", uniqueConstraints = @UniqueConstraint(columnNames = { "rollup_date", "venue_id",
+        "method" }))
+public class RevenueRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "method", nullable = false, length = 64)
+    private String method;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+}
@@ -0,0 +1,67 @@
+package com.sportsvenue.venuemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of one player's bookings and payments, kept up to date as
+ * bookings change status and payments are recorded, so the player dashboard
+ * reads a single row instead of the player's booking history.
+ *
+ * The favourite venue is the one with the most bookings; streaks count
+ * consecutive Monday-based weeks with a confirmed or completed booking.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_summaries")
+public class UserSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_bookings", nullable = false)
+    private long totalBookings;
+
+    @Column(name = "active_bookings", nullable = false)
+    private long activeBookings;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private long cancelledBookings;
+
+    @Column(name = "minutes_played", nullable = false)
+    private long minutesPlayed;
+
+    @Column(name = "total_spent_cents", nullable = false)
+    private long totalSpentCents;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "distinct_venues", nullable = false)
+    private long distinctVenues;
+
+    @Column(name = "favorite_venue_id")
+    private Long favoriteVenueId;
+
+    @Column(name = "favorite_venue_bookings", nullable = false)
+    private long favoriteVenueBookings;
+
+    @Column(name = "favorite_sport")
+    private String favoriteSport;
+
+    @Column(name = "current_streak_weeks", nullable = false)
+    private int currentStreakWeeks;
+
+    @Column(name = "longest_streak_weeks", nullable = false)
+    private int longestStreakWeeks;
+
+    @Column(name = "last_played_week")
+    private LocalDate lastPlayedWeek;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
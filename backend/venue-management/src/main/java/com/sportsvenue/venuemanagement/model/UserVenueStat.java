@@ -0,0 +1,28 @@
+package com.sportsvenue.venuemanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of bookings one player has made at one venue, used to pick the
+ * player's favourite venue.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_venue_stats", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "venue_id" }))
+public class UserVenueStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "bookings", nullable = false)
+    private long bookings;
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-
+@Table(indexes = @Index(name = "idx_venue_manager", columnList = "manager_id"))
 public class Venue {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,9 @@
+package com.sportsvenue.venuemanagement.model;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    CANCELLED,
+    EXPIRED,
+    FAILED
+}
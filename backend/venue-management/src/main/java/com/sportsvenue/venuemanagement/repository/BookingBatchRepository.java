@@ -0,0 +1,76 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts many bookings with a single JDBC batch. {@link Booking} uses IDENTITY
+ * ids, which stops Hibernate from batching inserts, so bulk writers go through
+ * here instead. Runs inside the caller's transaction.
+ */
+@Repository
+public class BookingBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO bookings (venue_id, user_id, booking_date, start_time, "
+            + "end_time, court_number, total_amount, payment_id, status, hold_expires_at, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the bookings and assigns their generated ids. Each booking must
+     * carry a venue and user whose ids are set; they may be lazy references.
+     */
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setLong(1, booking.getVenue().getId());
+                        ps.setLong(2, booking.getUser().getId());
+                        ps.setObject(3, booking.getBookingDate());
+                        ps.setObject(4, booking.getStartTime());
+                        ps.setObject(5, booking.getEndTime());
+                        ps.setInt(6, booking.getCourtNumber());
+                        ps.setDouble(7, booking.getTotalAmount());
+                        ps.setString(8, booking.getPaymentId());
+                        ps.setString(9, booking.getStatus().name());
+                        ps.setObject(10, booking.getHoldExpiresAt());
+                        ps.setObject(11, booking.getCreatedAt());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            bookings.get(i).setId(id.longValue());
+        }
+    }
+}
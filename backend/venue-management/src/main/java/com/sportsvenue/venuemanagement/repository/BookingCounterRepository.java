@@ -0,0 +1,9 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.BookingCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookingCounterRepository extends JpaRepository<BookingCounter, String> {
+}
@@ -1,43 +1,235 @@
 package com.sportsvenue.venuemanagement.repository;
 
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
 import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Bookings that still hold their court: anything not cancelled, except
+     * PENDING holds whose expiry has passed. Requires a {@code :now} parameter.
+     */
+    String HOLDS_COURT = "b.status != 'CANCELLED' " +
+            "AND (b.status != 'PENDING' OR b.holdExpiresAt IS NULL OR b.holdExpiresAt > :now)";
+
+    /**
+     * Selects a {@link BookingSummary} from {@code b}, its venue {@code v}
+     * and its user {@code u}.
+     */
+    String SUMMARY = "SELECT new com.sportsvenue.venuemanagement.dto.BookingSummary(b.id, v.id, v.name, " +
+            "b.courtNumber, b.bookingDate, b.startTime, b.endTime, b.status, b.totalAmount, u.id, u.username) " +
+            "FROM Booking b JOIN b.venue v JOIN b.user u ";
+
     List<Booking> findByUserId(Long userId);
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.venue v WHERE b.user.id = :userId")
     List<Booking> findByUserIdWithDetails(@Param("userId") Long userId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.venue v WHERE b.user.username = :username")
-    List<Booking> findByUserUsername(@Param("username") String username);
+    @Query(SUMMARY + "WHERE u.username = :username ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummary> findSummariesByUsername(@Param("username") String username);
 
     List<Booking> findByVenueId(Long venueId);
 
-    List<Booking> findByVenueIdAndBookingDate(Long venueId, LocalDate bookingDate);
+    @Query(SUMMARY + "WHERE v.id = :venueId AND b.bookingDate = :date ORDER BY b.courtNumber, b.startTime")
+    List<BookingSummary> findSummariesByVenueAndDate(@Param("venueId") Long venueId, @Param("date") LocalDate date);
 
     @Query("SELECT b FROM Booking b WHERE b.venue.id = :venueId AND b.bookingDate = :date " +
-            "AND b.courtNumber = :courtNumber AND b.status != 'CANCELLED' " +
-            "AND ((b.startTime <= :endTime AND b.endTime >= :startTime))")
+            "AND b.courtNumber = :courtNumber AND " + HOLDS_COURT + " " +
+            "AND b.startTime < :endTime AND b.endTime > :startTime")
     List<Booking> findConflictingBookings(
             @Param("venueId") Long venueId,
             @Param("date") LocalDate date,
             @Param("startTime") LocalTime startTime,
             @Param("endTime") LocalTime endTime,
-            @Param("courtNumber") Integer courtNumber);
+            @Param("courtNumber") Integer courtNumber,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.id, b.venue.id, b.courtNumber, b.bookingDate, b.startTime, b.endTime, b.holdExpiresAt " +
+            "FROM Booking b WHERE b.bookingDate >= :fromDate AND " + HOLDS_COURT)
+    List<Object[]> findActiveSlotsFrom(@Param("fromDate") LocalDate fromDate, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.courtNumber, b.startTime, b.endTime FROM Booking b " +
+            "WHERE b.venue.id = :venueId AND b.bookingDate = :date AND " + HOLDS_COURT)
+    List<Object[]> findActiveSlotsForVenueDate(@Param("venueId") Long venueId,
+            @Param("date") LocalDate date,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+            "WHERE b.venue.id = :venueId AND b.courtNumber = :courtNumber " +
+            "AND b.bookingDate BETWEEN :fromDate AND :toDate AND " + HOLDS_COURT)
+    List<Object[]> findActiveSlotsForCourtBetween(
+            @Param("venueId") Long venueId,
+            @Param("courtNumber") Integer courtNumber,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Lapsed holds: id, venueId, court, date, userId, start, end, totalAmount.
+     * The rows stay locked until the transaction ends, so nobody else can
+     * confirm or cancel them in the meantime.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id, b.venue.id, b.courtNumber, b.bookingDate, b.user.id, b.startTime, b.endTime, " +
+            "b.totalAmount FROM Booking b WHERE b.status = 'PENDING' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Object[]> lockExpiredHolds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.sportsvenue.venuemanagement.model.BookingStatus.CANCELLED " +
+            "WHERE b.id IN :ids AND b.status = 'PENDING' AND b.holdExpiresAt <= :now")
+    int releaseExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.holdExpiresAt = :expiresAt " +
+            "WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NULL")
+    int assignMissingHoldExpiry(@Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Confirmed or completed bookings from the given date: venueId, date,
+     * start, end.
+     */
+    @Query("SELECT b.venue.id, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+            "WHERE b.bookingDate >= :fromDate AND b.status IN ('CONFIRMED', 'COMPLETED')")
+    List<Object[]> findSoldSlotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * One page, in id order after {@code afterId}, of bookings dated on or
+     * after {@code fromDate}: id, venueId, userId, date, start.
+     */
+    @Query("SELECT b.id, b.venue.id, b.user.id, b.bookingDate, b.startTime FROM Booking b " +
+            "WHERE b.id > :afterId AND b.bookingDate >= :fromDate ORDER BY b.id")
+    List<Object[]> findSketchInputsAfter(@Param("afterId") long afterId, @Param("fromDate") LocalDate fromDate,
+            Pageable pageable);
+
+    /**
+     * Booking count and amount per status: status, count, sum of totalAmount.
+     */
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalAmount), 0) FROM Booking b GROUP BY b.status")
+    List<Object[]> countAndSumByStatus();
+
+    /**
+     * Booking count per venue: venueId, count.
+     */
+    @Query("SELECT b.venue.id, COUNT(b) FROM Booking b GROUP BY b.venue.id")
+    List<Object[]> countByVenue();
+
+    /**
+     * One page of booking facts in id order after {@code afterId}: id, venueId,
+     * court, date, start, end, status, totalAmount, createdAt.
+     */
+    @Query("SELECT b.id, b.venue.id, b.courtNumber, b.bookingDate, b.startTime, b.endTime, b.status, " +
+            "b.totalAmount, b.createdAt FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findFactsAfter(@Param("afterId") long afterId, Pageable pageable);
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.venue v WHERE v.manager.id = :managerId")
     List<Booking> findByVenueManagerId(@Param("managerId") Long managerId);
 
+    /**
+     * Seek condition shared by the booking listings: strictly after the
+     * cursor in (bookingDate, id) descending order, on or after
+     * {@code fromDate}, in one of {@code statuses}. The cursor is a seek
+     * position, not an offset, so every page costs the same. Each listing
+     * adds only equalities on its own index's leading columns, so the
+     * planner can seek along that index.
+     */
+    String PAGE_AFTER = "(b.bookingDate < :afterDate OR (b.bookingDate = :afterDate AND b.id < :afterId)) " +
+            "AND b.bookingDate >= :fromDate AND b.status IN :statuses ORDER BY b.bookingDate DESC, b.id DESC";
+
+    /**
+     * Bookings of every user and venue, along {@code idx_bookings_date_id}.
+     */
+    @Query(SUMMARY + "WHERE " + PAGE_AFTER)
+    List<BookingSummary> findPageAfter(@Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
+    /**
+     * One user's bookings, along {@code idx_bookings_user_date_id}.
+     */
+    @Query(SUMMARY + "WHERE b.user.id = :userId AND " + PAGE_AFTER)
+    List<BookingSummary> findUserPageAfter(@Param("userId") Long userId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
+    /**
+     * One venue's bookings, along {@code idx_bookings_venue_date_id}.
+     */
+    @Query(SUMMARY + "WHERE b.venue.id = :venueId AND " + PAGE_AFTER)
+    List<BookingSummary> findVenuePageAfter(@Param("venueId") Long venueId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
+    /**
+     * One user's bookings at one venue, along
+     * {@code idx_bookings_user_date_id}.
+     */
+    @Query(SUMMARY + "WHERE b.user.id = :userId AND b.venue.id = :venueId AND " + PAGE_AFTER)
+    List<BookingSummary> findUserVenuePageAfter(@Param("userId") Long userId,
+            @Param("venueId") Long venueId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
+    /**
+     * Bookings at every venue of one manager: their venues are found through
+     * {@code idx_venue_manager}, and each venue's bookings along
+     * {@code idx_bookings_venue_date_id}.
+     */
+    @Query(SUMMARY + "WHERE v.manager.id = :managerId AND " + PAGE_AFTER)
+    List<BookingSummary> findManagerPageAfter(@Param("managerId") Long managerId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
+    /**
+     * One venue's bookings, along {@code idx_bookings_venue_date_id}, if the
+     * venue belongs to the manager; none otherwise.
+     */
+    @Query(SUMMARY + "WHERE b.venue.id = :venueId AND v.manager.id = :managerId AND " + PAGE_AFTER)
+    List<BookingSummary> findManagerVenuePageAfter(@Param("managerId") Long managerId,
+            @Param("venueId") Long venueId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") long afterId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable);
+
     @Query("SELECT b FROM Booking b JOIN FETCH b.venue v JOIN FETCH b.user u WHERE b.id = :id")
     Optional<Booking> findByIdWithDetails(@Param("id") Long id);
+
+    /**
+     * Loads the booking under a row lock, so the hold sweeper cannot release
+     * it while it is being paid for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> lockById(@Param("id") Long id);
 }
@@ -0,0 +1,40 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Creates many {@code court_day_locks} rows for one court with a single JDBC
+ * batch, so locking a long series of court-days does not cost one insert
+ * round trip per day. Runs inside the caller's transaction.
+ */
+@Repository
+public class CourtDayLockBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO court_day_locks (venue_id, court_number, "
+            + "booking_date) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourtDayLockBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts a row for every date that does not have one yet. Dates must be
+     * in ascending order.
+     */
+    public void insertAllIfAbsent(Long venueId, Integer courtNumber, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, dates, dates.size(), (ps, date) -> {
+            ps.setLong(1, venueId);
+            ps.setInt(2, courtNumber);
+            ps.setObject(3, date);
+        });
+    }
+}
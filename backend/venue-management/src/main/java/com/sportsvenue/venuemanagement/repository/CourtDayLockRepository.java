@@ -0,0 +1,32 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.CourtDayLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CourtDayLockRepository extends JpaRepository<CourtDayLock, Long> {
+
+    /**
+     * Locks the rows for the given dates of one court, in date order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM CourtDayLock l WHERE l.venueId = :venueId " +
+            "AND l.courtNumber = :courtNumber AND l.bookingDate IN :dates ORDER BY l.bookingDate")
+    List<CourtDayLock> lockCourtDays(@Param("venueId") Long venueId,
+            @Param("courtNumber") Integer courtNumber,
+            @Param("dates") Collection<LocalDate> dates);
+
+    @Modifying
+    @Query("DELETE FROM CourtDayLock l WHERE l.bookingDate < :date")
+    int deleteBefore(@Param("date") LocalDate date);
+}
@@ -0,0 +1,48 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+/**
+ * Forward-only reads of whole tables for exports. Rows are handed to the
+ * callback one at a time and never collected, and no entities are built, so
+ * memory does not grow with the table.
+ *
+ * MySQL Connector/J only streams a result set row by row when the fetch
+ * size is {@link Integer#MIN_VALUE}; any other value buffers the whole
+ * result on the client. The streaming result holds its connection until the
+ * last row is read.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String BOOKINGS_SQL = "SELECT b.id, b.booking_date, b.start_time, b.end_time, "
+            + "b.court_number, b.status, b.total_amount, b.payment_id, b.venue_id, v.name AS venue_name, "
+            + "b.user_id, u.username, b.created_at "
+            + "FROM bookings b JOIN venue v ON v.id = b.venue_id JOIN `user` u ON u.id = b.user_id "
+            + "WHERE b.booking_date BETWEEN ? AND ? ORDER BY b.id";
+
+    private static final String PAYMENTS_SQL = "SELECT p.id, p.booking_id, b.venue_id, b.user_id, p.amount, "
+            + "p.method, p.payment_method, p.status, p.transaction_id, p.payment_date "
+            + "FROM payment p JOIN bookings b ON b.id = p.booking_id "
+            + "WHERE p.payment_date >= ? AND p.payment_date < ? ORDER BY p.id";
+
+    private final JdbcTemplate streamingTemplate;
+
+    public ExportRepository(DataSource dataSource) {
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void streamBookings(LocalDate from, LocalDate to, RowCallbackHandler handler) {
+        streamingTemplate.query(BOOKINGS_SQL, handler, from, to);
+    }
+
+    public void streamPayments(LocalDate from, LocalDate to, RowCallbackHandler handler) {
+        streamingTemplate.query(PAYMENTS_SQL, handler, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+}
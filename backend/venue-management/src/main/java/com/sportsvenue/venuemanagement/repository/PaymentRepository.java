@@ -2,9 +2,39 @@ package com.sportsvenue.venuemanagement.repository;
 
 import com.sportsvenue.venuemanagement.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Payment findByBookingId(Long bookingId);
+
+    /**
+     * Payments with their booking, venue and user, which are all serialized
+     * in the response, fetched in one query.
+     */
+    @Query("SELECT p FROM Payment p JOIN FETCH p.booking b JOIN FETCH b.venue JOIN FETCH b.user ORDER BY p.id")
+    List<Payment> findAllWithDetails();
+
+    @Query("SELECT p FROM Payment p JOIN FETCH p.booking b JOIN FETCH b.venue JOIN FETCH b.user WHERE p.id = :id")
+    Optional<Payment> findByIdWithDetails(@Param("id") Long id);
+
+    /**
+     * Payment count and amount per method: method, count, sum of amount.
+     */
+    @Query("SELECT p.method, COUNT(p), COALESCE(SUM(p.amount), 0) FROM Payment p GROUP BY p.method")
+    List<Object[]> countAndSumByMethod();
+
+    @Query("SELECT p.paymentMethod, COUNT(p) FROM Payment p GROUP BY p.paymentMethod")
+    List<Object[]> countByPaymentMethod();
+
+    @Query("SELECT p.status, COUNT(p) FROM Payment p GROUP BY p.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p")
+    double sumAmount();
 }
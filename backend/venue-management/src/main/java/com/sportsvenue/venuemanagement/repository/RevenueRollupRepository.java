@@ -0,0 +1,56 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (rollup_date, venue_id, method, payment_count, amount_cents) " +
+            "VALUES (:day, :venueId, :method, 1, :amountCents) " +
+            "ON DUPLICATE KEY UPDATE payment_count = payment_count + 1, " +
+            "amount_cents = amount_cents + VALUES(amount_cents)", nativeQuery = true)
+    int addPayment(@Param("day") LocalDate day,
+            @Param("venueId") Long venueId,
+            @Param("method") String method,
+            @Param("amountCents") long amountCents);
+
+    /**
+     * Rebuilds the rollup from every stored payment; only used while the
+     * rollup table is still empty.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_rollups (rollup_date, venue_id, method, payment_count, amount_cents) " +
+            "SELECT DATE(p.payment_date), b.venue_id, p.method, COUNT(*), ROUND(SUM(p.amount) * 100) " +
+            "FROM payment p JOIN bookings b ON b.id = p.booking_id " +
+            "GROUP BY DATE(p.payment_date), b.venue_id, p.method", nativeQuery = true)
+    int backfillFromPayments();
+
+    /**
+     * Rollup totals in the range grouped by month, venue and method: year,
+     * month, venueId, method, payment count, amount in cents.
+     */
+    @Query("SELECT YEAR(r.day), MONTH(r.day), r.venueId, r.method, SUM(r.paymentCount), SUM(r.amountCents) " +
+            "FROM RevenueRollup r WHERE r.day BETWEEN :fromDate AND :toDate " +
+            "GROUP BY YEAR(r.day), MONTH(r.day), r.venueId, r.method")
+    List<Object[]> sumByMonthVenueAndMethod(@Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Monthly totals in the range: year, month, amount in cents.
+     */
+    @Query("SELECT YEAR(r.day), MONTH(r.day), SUM(r.amountCents) FROM RevenueRollup r " +
+            "WHERE r.day BETWEEN :fromDate AND :toDate GROUP BY YEAR(r.day), MONTH(r.day)")
+    List<Object[]> sumByMonth(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT COALESCE(SUM(r.amountCents), 0) FROM RevenueRollup r")
+    long sumAllCents();
+}
@@ -0,0 +1,59 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.UserSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserSummaryRepository extends JpaRepository<UserSummary, Long> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_summaries (user_id, total_bookings, active_bookings, cancelled_bookings, " +
+            "minutes_played, total_spent_cents, payment_count, distinct_venues, favorite_venue_bookings, " +
+            "current_streak_weeks, longest_streak_weeks) VALUES (:userId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSummary s WHERE s.userId = :userId")
+    Optional<UserSummary> lockByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s FROM UserSummary s, User u WHERE u.id = s.userId AND u.username = :username")
+    Optional<UserSummary> findByUsername(@Param("username") String username);
+
+    /**
+     * Per player: all bookings, active bookings, cancelled bookings and
+     * distinct venues. Only used to backfill an empty table.
+     */
+    @Query("SELECT b.user.id, COUNT(b), " +
+            "SUM(CASE WHEN b.status IN (com.sportsvenue.venuemanagement.model.BookingStatus.PENDING, " +
+            "com.sportsvenue.venuemanagement.model.BookingStatus.CONFIRMED) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = com.sportsvenue.venuemanagement.model.BookingStatus.CANCELLED " +
+            "THEN 1 ELSE 0 END), COUNT(DISTINCT b.venue.id) FROM Booking b GROUP BY b.user.id")
+    List<Object[]> countBookingsByUser();
+
+    /**
+     * Per player and time slot: how many confirmed or completed bookings
+     * cover it. The minutes are worked out by the caller, which keeps the
+     * query free of database-specific time functions.
+     */
+    @Query("SELECT b.user.id, b.startTime, b.endTime, COUNT(b) FROM Booking b " +
+            "WHERE b.status IN (com.sportsvenue.venuemanagement.model.BookingStatus.CONFIRMED, " +
+            "com.sportsvenue.venuemanagement.model.BookingStatus.COMPLETED) " +
+            "GROUP BY b.user.id, b.startTime, b.endTime")
+    List<Object[]> countPlayedSlotsByUser();
+
+    /**
+     * Per player: number of payments and their total amount.
+     */
+    @Query("SELECT b.user.id, COUNT(p), SUM(p.amount) FROM Payment p JOIN p.booking b GROUP BY b.user.id")
+    List<Object[]> sumPaymentsByUser();
+}
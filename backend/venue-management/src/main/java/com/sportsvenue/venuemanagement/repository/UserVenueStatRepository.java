@@ -0,0 +1,33 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.UserVenueStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserVenueStatRepository extends JpaRepository<UserVenueStat, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO user_venue_stats (user_id, venue_id, bookings) VALUES (:userId, :venueId, :delta) " +
+            "ON DUPLICATE KEY UPDATE bookings = bookings + VALUES(bookings)", nativeQuery = true)
+    int addBookings(@Param("userId") Long userId, @Param("venueId") Long venueId, @Param("delta") long delta);
+
+    @Query("SELECT s.bookings FROM UserVenueStat s WHERE s.userId = :userId AND s.venueId = :venueId")
+    Optional<Long> findBookings(@Param("userId") Long userId, @Param("venueId") Long venueId);
+
+    Optional<UserVenueStat> findFirstByUserIdOrderByBookingsDesc(Long userId);
+
+    /**
+     * Bookings per player and venue, with the venue's sport. Only used to
+     * backfill an empty table.
+     */
+    @Query("SELECT b.user.id, v.id, v.sportType, COUNT(b) FROM Booking b JOIN b.venue v " +
+            "GROUP BY b.user.id, v.id, v.sportType")
+    List<Object[]> countBookingsByUserAndVenue();
+}
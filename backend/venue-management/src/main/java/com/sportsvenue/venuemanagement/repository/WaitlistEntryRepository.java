@@ -0,0 +1,44 @@
+package com.sportsvenue.venuemanagement.repository;
+
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.userId = :userId AND w.venueId = :venueId " +
+            "AND w.courtNumber = :courtNumber AND w.bookingDate = :date " +
+            "AND w.startTime = :startTime AND w.endTime = :endTime " +
+            "AND w.status = com.sportsvenue.venuemanagement.model.WaitlistStatus.WAITING")
+    boolean isWaiting(@Param("userId") Long userId,
+            @Param("venueId") Long venueId,
+            @Param("courtNumber") Integer courtNumber,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime);
+
+    /**
+     * Waiting entries from the given date: id, venueId, court, date, start,
+     * end, priority.
+     */
+    @Query("SELECT w.id, w.venueId, w.courtNumber, w.bookingDate, w.startTime, w.endTime, w.priority " +
+            "FROM WaitlistEntry w WHERE w.bookingDate >= :fromDate " +
+            "AND w.status = com.sportsvenue.venuemanagement.model.WaitlistStatus.WAITING")
+    List<Object[]> findWaitingFrom(@Param("fromDate") LocalDate fromDate);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.sportsvenue.venuemanagement.model.WaitlistStatus.EXPIRED, " +
+            "w.resolvedAt = CURRENT_TIMESTAMP WHERE w.bookingDate < :date " +
+            "AND w.status = com.sportsvenue.venuemanagement.model.WaitlistStatus.WAITING")
+    int expireBefore(@Param("date") LocalDate date);
+}
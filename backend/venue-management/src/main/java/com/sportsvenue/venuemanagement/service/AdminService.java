@@ -1,8 +1,15 @@
 package com.sportsvenue.venuemanagement.service;
 
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
 import com.sportsvenue.venuemanagement.model.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
 
 public interface AdminService {
     // User Management
@@ -17,6 +24,14 @@ public interface AdminService {
     Map<String, Object> getVenueAnalytics();
     Map<String, Object> getBookingAnalytics();
     Map<String, Object> getFinancialAnalytics();
+    SortedSet<String> normalizeDashboardSections(Collection<String> sections);
+    Map<String, Object> getDashboard(Set<String> sections);
+    Map<String, Object> getUtilizationAnalytics(Long venueId, LocalDate from, LocalDate to);
+    Map<String, Object> queryBookingFacts(List<String> groupBy, LocalDate from, LocalDate to, Long venueId,
+            List<String> statuses);
+    Map<String, Object> getUniquePlayers(Long venueId, YearMonth from, YearMonth to);
+    Map<String, Object> getTopVenues(YearMonth month, int limit);
+    Map<String, Object> getTopSlots(YearMonth month, int limit);
 
     // Venue Management
     List<Venue> getAllVenues();
@@ -26,7 +41,7 @@ public interface AdminService {
     void deleteVenue(Long id);
 
     // Booking Management
-    List<Booking> getAllBookings();
+    BookingPage getBookings(BookingFilter filter, String cursor, int limit);
     Booking getBookingById(Long id);
     Booking updateBookingStatus(Long id, String status);
     void deleteBooking(Long id);
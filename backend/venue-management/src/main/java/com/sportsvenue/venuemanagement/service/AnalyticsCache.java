@@ -0,0 +1,189 @@
+package com.sportsvenue.venuemanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache for expensive analytics results.
+ *
+ * A value younger than {@code analytics.cache.ttl-seconds} is served as is.
+ * An older one is still served immediately while a background refresh runs,
+ * until it is older than the TTL plus {@code analytics.cache.max-stale-seconds},
+ * after which callers wait for the refresh. Refreshes of one key are
+ * coalesced, so at most one computation per key is in flight; a failed
+ * refresh keeps the previous value. A partial fan-out result (see
+ * {@link AnalyticsFanOut}) is only served for
+ * {@code analytics.cache.partial-ttl-seconds} and never while stale, so the
+ * missing figures are retried soon. At most {@code analytics.cache.max-entries}
+ * keys are kept: adding a key to a full cache first drops entries too old to
+ * be served, then the least recently read one.
+ */
+@Component
+public class AnalyticsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsCache.class);
+
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final long partialTtlNanos;
+    private final int maxEntries;
+    private final ExecutorService refresher;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AnalyticsCache(@Value("${analytics.cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${analytics.cache.max-stale-seconds:600}") long maxStaleSeconds,
+            @Value("${analytics.cache.partial-ttl-seconds:5}") long partialTtlSeconds,
+            @Value("${analytics.cache.refresh-threads:2}") int refreshThreads,
+            @Value("${analytics.cache.max-entries:64}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxStaleNanos = TimeUnit.SECONDS.toNanos(maxStaleSeconds);
+        this.partialTtlNanos = TimeUnit.SECONDS.toNanos(partialTtlSeconds);
+        this.maxEntries = maxEntries;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Cached<T> get(String key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            evictIfFull(now);
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+        }
+        entry.lastReadAt = now;
+        Snapshot snapshot = entry.snapshot;
+        if (snapshot != null) {
+            long age = now - snapshot.computedAt();
+            if (age < snapshot.ttlNanos()) {
+                return new Cached<>((T) snapshot.value(), age, Cached.State.HIT);
+            }
+            if (snapshot.servable(now)) {
+                refresh(key, entry, loader);
+                return new Cached<>((T) snapshot.value(), age, Cached.State.STALE);
+            }
+        }
+
+        try {
+            Snapshot fresh = refresh(key, entry, loader).join();
+            return new Cached<>((T) fresh.value(), System.nanoTime() - fresh.computedAt(), Cached.State.MISS);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictIfFull(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> {
+            Snapshot snapshot = entry.snapshot;
+            return entry.inFlight.get() == null && snapshot != null && !snapshot.servable(now);
+        });
+        while (entries.size() >= maxEntries) {
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().lastReadAt - oldest.getValue().lastReadAt < 0) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private CompletableFuture<Snapshot> refresh(String key, Entry entry, Supplier<?> loader) {
+        while (true) {
+            CompletableFuture<Snapshot> running = entry.inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<Snapshot> started = new CompletableFuture<>();
+            if (entry.inFlight.compareAndSet(null, started)) {
+                // inFlight is cleared before the future completes, so a caller
+                // released by it never joins the finished refresh again
+                refresher.execute(() -> {
+                    try {
+                        Object value = loader.get();
+                        boolean partial = AnalyticsFanOut.isPartial(value);
+                        Snapshot snapshot = new Snapshot(value, System.nanoTime(),
+                                partial ? partialTtlNanos : ttlNanos, partial ? 0 : maxStaleNanos);
+                        entry.snapshot = snapshot;
+                        entry.inFlight.set(null);
+                        started.complete(snapshot);
+                    } catch (Throwable e) {
+                        // Callers waiting on a miss must be released whatever the loader threw
+                        logger.warn("Refreshing analytics cache entry {} failed", key, e);
+                        entry.inFlight.set(null);
+                        started.completeExceptionally(e);
+                        if (e instanceof Error error) {
+                            throw error;
+                        }
+                    }
+                });
+                return started;
+            }
+        }
+    }
+
+    /**
+     * A cached value with its age. STALE means the value outlived its TTL and
+     * a refresh was started; MISS means the caller waited for a computation.
+     */
+    public record Cached<T>(T value, long ageNanos, State state) {
+        public enum State {
+            HIT,
+            STALE,
+            MISS
+        }
+
+        public long ageSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(ageNanos);
+        }
+    }
+
+    private record Snapshot(Object value, long computedAt, long ttlNanos, long maxStaleNanos) {
+
+        boolean servable(long now) {
+            return now - computedAt < ttlNanos + maxStaleNanos;
+        }
+    }
+
+    private static final class Entry {
+        volatile Snapshot snapshot;
+        volatile long lastReadAt;
+        final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    }
+}
@@ -0,0 +1,131 @@
+package com.sportsvenue.venuemanagement.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent parts of an analytics response concurrently, each in
+ * its own read-only transaction, on a bounded pool shared by all endpoints.
+ *
+ * The caller waits at most until its deadline. Parts that fail, time out or
+ * cannot be queued are left out and listed under {@code missing}, with
+ * {@code partial} set, so a slow query degrades one figure instead of the
+ * whole dashboard. Each part's transaction times out at the caller's
+ * deadline, rounded up to whole seconds, so its statements are cancelled in
+ * the database rather than left running after the caller has given up;
+ * interrupting the worker alone does not stop a JDBC call.
+ */
+@Component
+public class AnalyticsFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsFanOut.class);
+
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor executor;
+
+    public AnalyticsFanOut(PlatformTransactionManager transactionManager,
+            @Value("${analytics.fanout.threads:8}") int threads,
+            @Value("${analytics.fanout.queue-capacity:64}") int queueCapacity) {
+        this.transactionManager = transactionManager;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "analytics-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Evaluates every part concurrently and returns their results under the
+     * same keys, in the same order.
+     */
+    public Map<String, Object> run(Duration deadline, Map<String, Supplier<?>> parts) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        parts.forEach((key, part) -> {
+            try {
+                futures.put(key, executor.submit(
+                        () -> readOnlyTransaction(deadlineNanos).execute(status -> part.get())));
+            } catch (RejectedExecutionException e) {
+                logger.warn("Analytics part {} rejected, executor is saturated", key);
+                missing.add(key);
+            }
+        });
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+            Future<?> future = entry.getValue();
+            try {
+                results.put(entry.getKey(), future.get(Math.max(0, deadlineNanos - System.nanoTime()),
+                        TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                logger.warn("Analytics part {} missed its {} ms deadline", entry.getKey(), deadline.toMillis());
+                missing.add(entry.getKey());
+            } catch (ExecutionException e) {
+                logger.error("Analytics part {} failed", entry.getKey(), e.getCause());
+                missing.add(entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                missing.add(entry.getKey());
+                break;
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            results.put("partial", true);
+            results.put("missing", missing);
+        }
+        return results;
+    }
+
+    /**
+     * Whether {@code result} came from {@link #run} with some parts missing.
+     */
+    public static boolean isPartial(Object result) {
+        return result instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get("partial"));
+    }
+
+    /**
+     * A read-only transaction that times out at the deadline. Spring applies
+     * the timeout to every JPA query and JDBC statement run inside it.
+     */
+    TransactionTemplate readOnlyTransaction(long deadlineNanos) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new IllegalStateException("Deadline passed before the part started");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return transaction;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,261 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
+import com.sportsvenue.venuemanagement.model.BookingCounter;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.repository.BookingCounterRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running booking and payment totals behind the admin and manager stats.
+ *
+ * Counters are {@link LongAdder}s updated from committed booking and payment
+ * events, so writers never contend on a shared total and reads do not touch
+ * the database. Amounts are kept in cents. The counters are checkpointed to
+ * {@code booking_counters} for a warm start and periodically reconciled with
+ * grouped queries over the source tables, which corrects any drift such as
+ * events lost between the last checkpoint and a restart.
+ */
+@Component
+public class BookingCounterStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingCounterStore.class);
+
+    private static final String STATUS = "status.";
+    private static final String CONFIRMED_REVENUE = "revenue.confirmed.cents";
+    private static final String VENUE = "venue.";
+    private static final String PAYMENT_COUNT = "payments.count.";
+    private static final String PAYMENT_AMOUNT = "payments.cents.";
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingCounterRepository bookingCounterRepository;
+
+    private final Map<BookingStatus, LongAdder> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+    private final LongAdder confirmedRevenueCents = new LongAdder();
+    private final Map<Long, LongAdder> bookingsByVenue = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> paymentsByMethod = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> paymentCentsByMethod = new ConcurrentHashMap<>();
+
+    public BookingCounterStore(BookingRepository bookingRepository,
+            PaymentRepository paymentRepository,
+            BookingCounterRepository bookingCounterRepository) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookingCounterRepository = bookingCounterRepository;
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Restores the last checkpoint, or rebuilds from the source tables when
+     * there is none yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<BookingCounter> checkpoint = bookingCounterRepository.findAll();
+        if (checkpoint.isEmpty()) {
+            reconcile();
+            return;
+        }
+        for (BookingCounter counter : checkpoint) {
+            LongAdder adder = adderFor(counter.getName());
+            if (adder != null) {
+                adder.reset();
+                adder.add(counter.getValue());
+            }
+        }
+        logger.info("Booking counters restored from {} checkpointed values", checkpoint.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        long cents = toCents(event.totalAmount());
+        if (event.previousStatus() != null) {
+            bookingsByStatus.get(event.previousStatus()).decrement();
+            if (event.previousStatus() == BookingStatus.CONFIRMED) {
+                confirmedRevenueCents.add(-cents);
+            }
+        }
+        if (event.newStatus() != null) {
+            bookingsByStatus.get(event.newStatus()).increment();
+            if (event.newStatus() == BookingStatus.CONFIRMED) {
+                confirmedRevenueCents.add(cents);
+            }
+        }
+        if (event.previousStatus() == null) {
+            counter(bookingsByVenue, event.venueId()).increment();
+        } else if (event.newStatus() == null) {
+            counter(bookingsByVenue, event.venueId()).decrement();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        counter(paymentsByMethod, event.method()).increment();
+        counter(paymentCentsByMethod, event.method()).add(toCents(event.amount()));
+    }
+
+    /**
+     * Same shape as the former aggregate stats: totalBookings, activeBookings,
+     * pendingBookings, totalRevenue and paymentsByMethod.
+     */
+    public Map<String, Object> adminStats() {
+        long totalBookings = 0;
+        for (LongAdder count : bookingsByStatus.values()) {
+            totalBookings += count.sum();
+        }
+
+        Map<String, Map<String, Object>> payments = new HashMap<>();
+        paymentsByMethod.forEach((method, count) -> {
+            Map<String, Object> totals = new HashMap<>();
+            totals.put("count", count.sum());
+            totals.put("amount", fromCents(counter(paymentCentsByMethod, method).sum()));
+            payments.put(method, totals);
+        });
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalBookings", totalBookings);
+        stats.put("activeBookings", bookingsByStatus.get(BookingStatus.CONFIRMED).sum());
+        stats.put("pendingBookings", bookingsByStatus.get(BookingStatus.PENDING).sum());
+        stats.put("totalRevenue", fromCents(confirmedRevenueCents.sum()));
+        stats.put("paymentsByMethod", payments);
+        return stats;
+    }
+
+    public Map<String, Object> managerStats() {
+        Map<String, Object> stats = adminStats();
+        Map<Long, Long> bookingsPerVenue = new HashMap<>();
+        bookingsByVenue.forEach((venueId, count) -> {
+            long value = count.sum();
+            if (value != 0) {
+                bookingsPerVenue.put(venueId, value);
+            }
+        });
+        stats.put("bookingsPerVenue", bookingsPerVenue);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.counters.checkpoint-interval-ms:60000}")
+    @Transactional
+    public void checkpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingCounter> rows = new ArrayList<>();
+        snapshot().forEach((name, value) -> rows.add(new BookingCounter(name, value, now)));
+        bookingCounterRepository.saveAll(rows);
+    }
+
+    /**
+     * Recomputes every counter from the source tables with grouped queries and
+     * adds the difference to the value the counter had just before the
+     * queries ran. Events applied while the queries run are therefore kept on
+     * top of the corrected value rather than overwritten. An event whose
+     * commit lands before the queries' snapshot but whose listener runs after
+     * the counters were read is counted twice; the next reconcile corrects it.
+     */
+    @Scheduled(initialDelayString = "${booking.counters.reconcile-initial-delay-ms:300000}",
+            fixedDelayString = "${booking.counters.reconcile-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<String, Long> before = snapshot();
+        Map<String, Long> expected = new HashMap<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            expected.put(STATUS + status.name(), 0L);
+        }
+        expected.put(CONFIRMED_REVENUE, 0L);
+        for (Object[] row : bookingRepository.countAndSumByStatus()) {
+            BookingStatus status = (BookingStatus) row[0];
+            expected.put(STATUS + status.name(), (Long) row[1]);
+            if (status == BookingStatus.CONFIRMED) {
+                expected.put(CONFIRMED_REVENUE, toCents(((Number) row[2]).doubleValue()));
+            }
+        }
+        for (Object[] row : bookingRepository.countByVenue()) {
+            expected.put(VENUE + row[0], (Long) row[1]);
+        }
+        for (Object[] row : paymentRepository.countAndSumByMethod()) {
+            expected.put(PAYMENT_COUNT + row[0], (Long) row[1]);
+            expected.put(PAYMENT_AMOUNT + row[0], toCents(((Number) row[2]).doubleValue()));
+        }
+
+        before.keySet().forEach(name -> expected.putIfAbsent(name, 0L));
+        int drifted = 0;
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            long drift = entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            if (drift != 0) {
+                adderFor(entry.getKey()).add(drift);
+                drifted++;
+            }
+        }
+        if (drifted > 0) {
+            logger.info("Reconciled {} booking counters against the source tables", drifted);
+        }
+    }
+
+    private Map<String, Long> snapshot() {
+        Map<String, Long> values = new HashMap<>();
+        bookingsByStatus.forEach((status, count) -> values.put(STATUS + status.name(), count.sum()));
+        values.put(CONFIRMED_REVENUE, confirmedRevenueCents.sum());
+        bookingsByVenue.forEach((venueId, count) -> values.put(VENUE + venueId, count.sum()));
+        paymentsByMethod.forEach((method, count) -> values.put(PAYMENT_COUNT + method, count.sum()));
+        paymentCentsByMethod.forEach((method, cents) -> values.put(PAYMENT_AMOUNT + method, cents.sum()));
+        return values;
+    }
+
+    private LongAdder adderFor(String name) {
+        if (name.startsWith(STATUS)) {
+            try {
+                return bookingsByStatus.get(BookingStatus.valueOf(name.substring(STATUS.length())));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if (name.equals(CONFIRMED_REVENUE)) {
+            return confirmedRevenueCents;
+        }
+        if (name.startsWith(VENUE)) {
+            return counter(bookingsByVenue, Long.valueOf(name.substring(VENUE.length())));
+        }
+        if (name.startsWith(PAYMENT_COUNT)) {
+            return counter(paymentsByMethod, name.substring(PAYMENT_COUNT.length()));
+        }
+        if (name.startsWith(PAYMENT_AMOUNT)) {
+            return counter(paymentCentsByMethod, name.substring(PAYMENT_AMOUNT.length()));
+        }
+        return null;
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+}
@@ -0,0 +1,487 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented copy of every booking for ad-hoc admin slices, such as
+ * bookings by sport type and weekday or cancellations by lead time.
+ *
+ * Each booking is one row across primitive arrays (about 33 bytes a row, so
+ * ten million bookings take a few hundred MB). A query filters and groups
+ * the rows in parallel chunks. Each worker sums its share of the chunks
+ * into one dense array of its own, and the workers' arrays are added up at
+ * the end. Group keys come from lookup tables
+ * built per query, so the scan does no boxing and no hashing.
+ *
+ * The store is loaded page by page once the application is ready. After
+ * that it follows {@link BookingStatusChangedEvent}s. Writers serialize on
+ * a lock. Readers take no lock and may miss a write that lands during their
+ * scan, which is acceptable for dashboards.
+ */
+@Component
+public class BookingFactStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingFactStore.class);
+
+    private static final int LOAD_PAGE_SIZE = 50_000;
+    static final int SCAN_CHUNK = 1 << 18;
+    // each worker holds three longs per group, about 3 MB at this limit
+    static final int MAX_GROUPS = 1 << 17;
+    private static final byte DELETED = -1;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final String[] LEAD_TIME_BUCKETS = { "same day", "1 day", "2-3 days", "4-7 days",
+            "8-14 days", "15-30 days", "31+ days" };
+
+    /**
+     * Dimensions a query can group by.
+     */
+    public enum Dimension {
+        VENUE, SPORT_TYPE, COURT, WEEKDAY, MONTH, HOUR, STATUS, LEAD_TIME
+    }
+
+    private final BookingRepository bookingRepository;
+    private final Object writeLock = new Object();
+    private final List<BookingStatusChangedEvent> pendingDuringLoad = new ArrayList<>();
+    private boolean loading;
+    private volatile Columns columns = new Columns(1024);
+
+    public BookingFactStore(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            loading = true;
+        }
+        Columns loaded = new Columns(1024);
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = bookingRepository.findFactsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                loaded = loaded.ensureCapacity();
+                loaded.append(afterId, (Long) row[1], (Integer) row[2], (LocalDate) row[3], (LocalTime) row[4],
+                        (LocalTime) row[5], (BookingStatus) row[6], (Double) row[7], (LocalDate) row[8]);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        synchronized (writeLock) {
+            columns = loaded;
+            pendingDuringLoad.forEach(this::apply);
+            pendingDuringLoad.clear();
+            loading = false;
+        }
+        logger.info("Booking fact store loaded {} bookings", loaded.size);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        synchronized (writeLock) {
+            if (loading) {
+                pendingDuringLoad.add(event);
+            } else {
+                apply(event);
+            }
+        }
+    }
+
+    /**
+     * Applies the event as an upsert, so replaying one the load already saw
+     * is harmless. Must hold {@code writeLock}.
+     */
+    private void apply(BookingStatusChangedEvent event) {
+        Columns target = columns;
+        int row = target.rowOf(event.bookingId());
+        if (event.newStatus() == null) {
+            if (row >= 0) {
+                target.status[row] = DELETED;
+            }
+        } else if (row >= 0) {
+            target.status[row] = (byte) event.newStatus().ordinal();
+        } else {
+            target = target.ensureCapacity();
+            target.append(event.bookingId(), event.venueId(), event.courtNumber(), event.bookingDate(),
+                    event.startTime(), event.endTime(), event.newStatus(), event.totalAmount(), LocalDate.now());
+            columns = target;
+        }
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    /**
+     * Bookings, revenue and booked hours grouped by one or two dimensions,
+     * over bookings dated within {@code [from, to]} (either end may be null)
+     * and optionally restricted to one venue and a set of statuses.
+     *
+     * @param venues all venues, used for venue and sport type labels
+     */
+    public Map<String, Object> query(List<Dimension> groupBy, LocalDate from, LocalDate to, Long venueId,
+            Set<BookingStatus> statuses, Collection<Venue> venues) {
+        if (groupBy.isEmpty() || groupBy.size() > 2) {
+            throw new BadRequestException("Group by one or two dimensions");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        long started = System.nanoTime();
+        Columns snapshot = columns;
+        int rows = snapshot.size;
+
+        int minDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int maxDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+        int venueFilter = venueId != null ? venueId.intValue() : -1;
+        int statusMask = 0;
+        for (BookingStatus status : statuses.isEmpty() ? EnumSet.allOf(BookingStatus.class) : statuses) {
+            statusMask |= 1 << status.ordinal();
+        }
+
+        List<Key> keys = new ArrayList<>();
+        for (Dimension dimension : groupBy) {
+            keys.add(key(dimension, snapshot, rows, venues));
+        }
+        Key outer = keys.get(0);
+        Key inner = keys.size() > 1 ? keys.get(1) : Key.NONE;
+        long groups = (long) outer.cardinality * inner.cardinality;
+        if (groups > MAX_GROUPS) {
+            throw new BadRequestException("Too many groups for " + groupBy);
+        }
+        int groupCount = (int) groups;
+        int innerCardinality = inner.cardinality;
+        int filterMask = statusMask;
+
+        // one set of sums per worker, each scanning every workers-th chunk
+        int chunks = (rows + SCAN_CHUNK - 1) / SCAN_CHUNK;
+        int workers = Math.max(1, Math.min(chunks, ForkJoinPool.getCommonPoolParallelism() + 1));
+        List<long[]> partials = IntStream.range(0, workers)
+                .parallel()
+                .mapToObj(worker -> {
+                    long[] sums = new long[groupCount * 3];
+                    for (int chunk = worker; chunk < chunks; chunk += workers) {
+                        int end = Math.min(rows, (chunk + 1) * SCAN_CHUNK);
+                        for (int i = chunk * SCAN_CHUNK; i < end; i++) {
+                            int status = snapshot.status[i];
+                            int day = snapshot.epochDay[i];
+                            if (status == DELETED || (filterMask & (1 << status)) == 0
+                                    || day < minDay || day > maxDay
+                                    || (venueFilter >= 0 && snapshot.venueId[i] != venueFilter)) {
+                                continue;
+                            }
+                            int group = outer.of(snapshot, i) * innerCardinality + inner.of(snapshot, i);
+                            sums[group * 3] += 1;
+                            sums[group * 3 + 1] += snapshot.amountCents[i];
+                            sums[group * 3 + 2] += snapshot.endMinute[i] - snapshot.startMinute[i];
+                        }
+                    }
+                    return sums;
+                })
+                .toList();
+        long[] totals = partials.get(0);
+        for (long[] partial : partials.subList(1, partials.size())) {
+            for (int i = 0; i < partial.length; i++) {
+                totals[i] += partial[i];
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        long matched = 0;
+        for (int group = 0; group < groupCount; group++) {
+            long count = totals[group * 3];
+            if (count == 0) {
+                continue;
+            }
+            matched += count;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(label(groupBy.get(0)), outer.label(group / innerCardinality));
+            if (groupBy.size() > 1) {
+                row.put(label(groupBy.get(1)), inner.label(group % innerCardinality));
+            }
+            row.put("bookings", count);
+            row.put("revenue", totals[group * 3 + 1] / 100.0);
+            row.put("bookedHours", totals[group * 3 + 2] / 60.0);
+            result.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("groupBy", groupBy);
+        response.put("rows", result);
+        response.put("matchedBookings", matched);
+        response.put("scannedBookings", rows);
+        response.put("tookMs", (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private static String label(Dimension dimension) {
+        return switch (dimension) {
+            case VENUE -> "venueId";
+            case SPORT_TYPE -> "sportType";
+            case COURT -> "courtNumber";
+            case WEEKDAY -> "weekday";
+            case MONTH -> "month";
+            case HOUR -> "hour";
+            case STATUS -> "status";
+            case LEAD_TIME -> "leadTime";
+        };
+    }
+
+    private static Key key(Dimension dimension, Columns columns, int rows, Collection<Venue> venues) {
+        switch (dimension) {
+            case VENUE, SPORT_TYPE -> {
+                int maxVenueId = columns.maxVenueId;
+                for (Venue venue : venues) {
+                    maxVenueId = Math.max(maxVenueId, venue.getId().intValue());
+                }
+                int[] groupOfVenue = new int[maxVenueId + 1];
+                List<Object> labels = new ArrayList<>();
+                labels.add(dimension == Dimension.VENUE ? "unknown" : "Other");
+                Map<String, Integer> sportGroups = new HashMap<>();
+                for (Venue venue : venues) {
+                    int group;
+                    if (dimension == Dimension.VENUE) {
+                        group = labels.size();
+                        labels.add(venue.getId());
+                    } else {
+                        String sport = venue.getSportType() != null ? venue.getSportType() : "Other";
+                        group = sportGroups.computeIfAbsent(sport, s -> {
+                            labels.add(s);
+                            return labels.size() - 1;
+                        });
+                    }
+                    groupOfVenue[venue.getId().intValue()] = group;
+                }
+                return new Key(labels.size(), (c, i) -> groupOfVenue[c.venueId[i]], labels::get);
+            }
+            case COURT -> {
+                return new Key(columns.maxCourt + 1, (c, i) -> c.court[i], group -> group);
+            }
+            case WEEKDAY -> {
+                // 1970-01-01 was a Thursday, so epoch day 0 maps to index 3
+                return new Key(7, (c, i) -> Math.floorMod(c.epochDay[i] + 3, 7),
+                        group -> DayOfWeek.of(group + 1));
+            }
+            case MONTH -> {
+                if (rows == 0) {
+                    return new Key(1, (c, i) -> 0, group -> null);
+                }
+                int firstDay = columns.minDay;
+                int lastDay = columns.maxDay;
+                YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(firstDay));
+                int[] monthOfDay = new int[lastDay - firstDay + 1];
+                for (int day = firstDay; day <= lastDay; day++) {
+                    YearMonth month = YearMonth.from(LocalDate.ofEpochDay(day));
+                    monthOfDay[day - firstDay] = (int) firstMonth.until(month, ChronoUnit.MONTHS);
+                }
+                int months = monthOfDay[monthOfDay.length - 1] + 1;
+                return new Key(months, (c, i) -> monthOfDay[c.epochDay[i] - firstDay],
+                        group -> firstMonth.plusMonths(group).toString());
+            }
+            case HOUR -> {
+                return new Key(24, (c, i) -> c.startMinute[i] / 60, group -> group);
+            }
+            case STATUS -> {
+                return new Key(STATUSES.length, (c, i) -> c.status[i], group -> STATUSES[group]);
+            }
+            case LEAD_TIME -> {
+                return new Key(LEAD_TIME_BUCKETS.length, (c, i) -> leadTimeBucket(c.leadDays[i]),
+                        group -> LEAD_TIME_BUCKETS[group]);
+            }
+            default -> throw new IllegalArgumentException(dimension.name());
+        }
+    }
+
+    private static int leadTimeBucket(int days) {
+        if (days <= 0) {
+            return 0;
+        }
+        if (days == 1) {
+            return 1;
+        }
+        if (days <= 3) {
+            return 2;
+        }
+        if (days <= 7) {
+            return 3;
+        }
+        if (days <= 14) {
+            return 4;
+        }
+        return days <= 30 ? 5 : 6;
+    }
+
+    @FunctionalInterface
+    private interface RowKey {
+        int of(Columns columns, int row);
+    }
+
+    @FunctionalInterface
+    private interface GroupLabel {
+        Object of(int group);
+    }
+
+    /**
+     * Maps a row to a dense group index in {@code [0, cardinality)}.
+     */
+    private record Key(int cardinality, RowKey rowKey, GroupLabel groupLabel) {
+        static final Key NONE = new Key(1, (c, i) -> 0, group -> null);
+
+        int of(Columns columns, int row) {
+            return rowKey.of(columns, row);
+        }
+
+        Object label(int group) {
+            return groupLabel.of(group);
+        }
+    }
+
+    /**
+     * The column arrays. Rows are appended in place until the arrays are
+     * full, then copied into a larger instance; readers holding the old one
+     * keep a consistent view of its first {@code size} rows.
+     *
+     * Booking ids arrive almost always in ascending order, so rows are
+     * found by binary search over {@code bookingId}. The few that arrive
+     * out of order are kept in {@code outOfOrder} and repeat the largest id
+     * seen in their {@code bookingId} slot, keeping the column sorted.
+     */
+    private static final class Columns {
+        final long[] bookingId;
+        final int[] venueId;
+        final short[] court;
+        final int[] epochDay;
+        final short[] startMinute;
+        final short[] endMinute;
+        final byte[] status;
+        final long[] amountCents;
+        final short[] leadDays;
+        final Map<Long, Integer> outOfOrder;
+        volatile int size;
+        long maxBookingId;
+        int maxVenueId;
+        int maxCourt;
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+
+        Columns(int capacity) {
+            this(capacity, new HashMap<>());
+        }
+
+        private Columns(int capacity, Map<Long, Integer> outOfOrder) {
+            bookingId = new long[capacity];
+            venueId = new int[capacity];
+            court = new short[capacity];
+            epochDay = new int[capacity];
+            startMinute = new short[capacity];
+            endMinute = new short[capacity];
+            status = new byte[capacity];
+            amountCents = new long[capacity];
+            leadDays = new short[capacity];
+            this.outOfOrder = outOfOrder;
+        }
+
+        /**
+         * This instance if it has room for another row, otherwise a copy
+         * half as large again.
+         */
+        Columns ensureCapacity() {
+            if (size < bookingId.length) {
+                return this;
+            }
+            int rows = size;
+            Columns grown = new Columns(rows + (rows >> 1), outOfOrder);
+            System.arraycopy(bookingId, 0, grown.bookingId, 0, rows);
+            System.arraycopy(venueId, 0, grown.venueId, 0, rows);
+            System.arraycopy(court, 0, grown.court, 0, rows);
+            System.arraycopy(epochDay, 0, grown.epochDay, 0, rows);
+            System.arraycopy(startMinute, 0, grown.startMinute, 0, rows);
+            System.arraycopy(endMinute, 0, grown.endMinute, 0, rows);
+            System.arraycopy(status, 0, grown.status, 0, rows);
+            System.arraycopy(amountCents, 0, grown.amountCents, 0, rows);
+            System.arraycopy(leadDays, 0, grown.leadDays, 0, rows);
+            grown.maxBookingId = maxBookingId;
+            grown.maxVenueId = maxVenueId;
+            grown.maxCourt = maxCourt;
+            grown.minDay = minDay;
+            grown.maxDay = maxDay;
+            grown.size = rows;
+            return grown;
+        }
+
+        void append(long id, long venue, int courtNumber, LocalDate date, LocalTime start, LocalTime end,
+                BookingStatus bookingStatus, Double totalAmount, LocalDate createdAt) {
+            int row = size;
+            int day = (int) date.toEpochDay();
+            venueId[row] = (int) venue;
+            court[row] = (short) courtNumber;
+            epochDay[row] = day;
+            startMinute[row] = (short) (start.toSecondOfDay() / 60);
+            endMinute[row] = (short) (end.toSecondOfDay() / 60);
+            status[row] = (byte) bookingStatus.ordinal();
+            amountCents[row] = totalAmount != null ? Math.round(totalAmount * 100) : 0;
+            long lead = createdAt != null ? day - createdAt.toEpochDay() : 0;
+            leadDays[row] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, lead));
+
+            if (id > maxBookingId) {
+                maxBookingId = id;
+            } else {
+                outOfOrder.put(id, row);
+            }
+            bookingId[row] = maxBookingId;
+            maxVenueId = Math.max(maxVenueId, (int) venue);
+            maxCourt = Math.max(maxCourt, courtNumber);
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+            size = row + 1;
+        }
+
+        /**
+         * Row of the booking, or -1 if it is not stored.
+         */
+        int rowOf(long id) {
+            Integer row = outOfOrder.get(id);
+            if (row != null) {
+                return row;
+            }
+            int found = Arrays.binarySearch(bookingId, 0, size, id);
+            if (found < 0) {
+                return -1;
+            }
+            // the booking's own row precedes any out-of-order rows repeating its id
+            while (found > 0 && bookingId[found - 1] == id) {
+                found--;
+            }
+            return found;
+        }
+    }
+}
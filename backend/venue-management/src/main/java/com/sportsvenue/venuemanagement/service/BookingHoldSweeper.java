@@ -0,0 +1,109 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.SlotReleasedEvent;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cancels PENDING bookings whose payment hold has expired.
+ *
+ * Each sweep reads at most one batch of expired ids through the
+ * (status, hold_expires_at) index and cancels them with a single update, so
+ * its cost depends on the number of expired holds, not the size of the table.
+ * The batch is read with row locks, like a payment or status change locks
+ * its booking, so a hold paid for or cancelled concurrently is either left
+ * out of the batch or waits for the sweep. Events are therefore published
+ * only for the holds this sweep cancelled.
+ */
+@Component
+public class BookingHoldSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingHoldSweeper.class);
+
+    private final BookingRepository bookingRepository;
+    private final CourtOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long holdTtlMinutes;
+    private final int batchSize;
+
+    public BookingHoldSweeper(BookingRepository bookingRepository,
+            CourtOccupancyIndex occupancyIndex,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${booking.hold.ttl-minutes:15}") long holdTtlMinutes,
+            @Value("${booking.hold.sweep-batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.eventPublisher = eventPublisher;
+        this.holdTtlMinutes = holdTtlMinutes;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * PENDING bookings created before holds existed get one full hold period
+     * from now. Runs before the occupancy index is rebuilt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void assignMissingExpiries() {
+        int updated = bookingRepository.assignMissingHoldExpiry(LocalDateTime.now().plusMinutes(holdTtlMinutes));
+        if (updated > 0) {
+            logger.info("Assigned hold expiry to {} pending bookings", updated);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval-ms:60000}")
+    @Transactional
+    public void releaseExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> expired = bookingRepository.lockExpiredHolds(now, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Object[]> rows = new HashMap<>();
+        Map<Long, CourtDayKey> keys = new HashMap<>();
+        for (Object[] row : expired) {
+            rows.put((Long) row[0], row);
+            keys.put((Long) row[0], new CourtDayKey((Long) row[1], (Integer) row[2], (LocalDate) row[3]));
+        }
+
+        List<Long> ids = new ArrayList<>(keys.keySet());
+        bookingRepository.releaseExpiredHolds(ids, now);
+
+        Set<CourtDayKey> releasedCourtDays = new LinkedHashSet<>();
+        for (Long id : ids) {
+            occupancyIndex.remove(keys.get(id), id);
+            releasedCourtDays.add(keys.get(id));
+            Object[] row = rows.get(id);
+            eventPublisher.publishEvent(new BookingStatusChangedEvent(id, (Long) row[1], (Long) row[4],
+                    (Integer) row[2], (LocalDate) row[3], (LocalTime) row[5], (LocalTime) row[6],
+                    row[7] != null ? (Double) row[7] : 0, BookingStatus.PENDING, BookingStatus.CANCELLED));
+        }
+        releasedCourtDays.forEach(key -> eventPublisher.publishEvent(new SlotReleasedEvent(key)));
+        logger.info("Released {} expired booking holds", ids.size());
+    }
+}
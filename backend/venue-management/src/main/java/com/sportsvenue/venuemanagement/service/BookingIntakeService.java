@@ -0,0 +1,14 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingTicket;
+
+public interface BookingIntakeService {
+    /**
+     * Queues the request for its venue's writer and returns a QUEUED ticket.
+     * Throws IllegalStateException when the intake queue is full.
+     */
+    BookingTicket submit(BookingIntakeRequest request);
+
+    BookingTicket getTicket(String ticketId);
+}
@@ -0,0 +1,124 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.repository.CourtDayLockBatchRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes booking writes that contend for the same court-day.
+ *
+ * Each court-day hashes onto one of a fixed number of in-process lock stripes,
+ * so writes for different courts proceed in parallel. Locks are held until the
+ * surrounding transaction completes, which is after the occupancy index has
+ * seen the commit. When {@code booking.lock.db-guard} is enabled the matching
+ * {@code court_day_locks} rows are also locked FOR UPDATE, so several
+ * application instances sharing one database serialize as well. The rows of
+ * each court are created with one batch and locked with one query, however
+ * many days are locked, and rows for days that have passed are deleted once
+ * a day.
+ */
+@Component
+public class BookingLockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingLockManager.class);
+
+    private static final Comparator<CourtDayKey> KEY_ORDER = Comparator
+            .comparingLong(CourtDayKey::venueId)
+            .thenComparingInt(CourtDayKey::courtNumber)
+            .thenComparing(CourtDayKey::date);
+
+    private final CourtDayLockRepository courtDayLockRepository;
+    private final CourtDayLockBatchRepository courtDayLockBatchRepository;
+    private final ReentrantLock[] stripes;
+    private final boolean dbGuard;
+
+    public BookingLockManager(CourtDayLockRepository courtDayLockRepository,
+            CourtDayLockBatchRepository courtDayLockBatchRepository,
+            @Value("${booking.lock.stripes:256}") int stripeCount,
+            @Value("${booking.lock.db-guard:false}") boolean dbGuard) {
+        this.courtDayLockRepository = courtDayLockRepository;
+        this.courtDayLockBatchRepository = courtDayLockBatchRepository;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.dbGuard = dbGuard;
+    }
+
+    /**
+     * Whether the database, rather than this instance's memory, is the
+     * authority on conflicts once the locks are held.
+     */
+    public boolean isDbGuardEnabled() {
+        return dbGuard;
+    }
+
+    /**
+     * Locks the given court-days until the current transaction completes.
+     * Stripes and rows are always taken in a fixed order to avoid deadlocks
+     * between writers that lock several court-days at once.
+     */
+    public void lockForTransaction(Collection<CourtDayKey> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Court locks require an active transaction");
+        }
+
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (CourtDayKey key : keys) {
+            stripeIndexes.add(Math.floorMod(key.hashCode(), stripes.length));
+        }
+        List<ReentrantLock> held = stripeIndexes.stream().map(i -> stripes[i]).toList();
+        for (ReentrantLock lock : held) {
+            lock.lock();
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = held.size() - 1; i >= 0; i--) {
+                    held.get(i).unlock();
+                }
+            }
+        });
+
+        if (dbGuard) {
+            Map<Court, List<LocalDate>> datesByCourt = new LinkedHashMap<>();
+            keys.stream().distinct().sorted(KEY_ORDER).forEach(key -> datesByCourt
+                    .computeIfAbsent(new Court(key.venueId(), key.courtNumber()), c -> new ArrayList<>())
+                    .add(key.date()));
+            datesByCourt.forEach((court, dates) -> {
+                courtDayLockBatchRepository.insertAllIfAbsent(court.venueId(), court.courtNumber(), dates);
+                courtDayLockRepository.lockCourtDays(court.venueId(), court.courtNumber(), dates);
+            });
+        }
+    }
+
+    @Scheduled(cron = "${booking.lock.purge-cron:0 20 0 * * *}")
+    @Transactional
+    public void purgePastLocks() {
+        int purged = courtDayLockRepository.deleteBefore(LocalDate.now());
+        if (purged > 0) {
+            logger.info("Purged {} court-day locks for past dates", purged);
+        }
+    }
+
+    private record Court(long venueId, int courtNumber) {
+    }
+}
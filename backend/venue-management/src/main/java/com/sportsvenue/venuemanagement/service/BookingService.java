@@ -1,5 +1,13 @@
 package com.sportsvenue.venuemanagement.service;
 
+import com.sportsvenue.venuemanagement.dto.BatchBookingResult;
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
+import com.sportsvenue.venuemanagement.dto.FreeCourtCandidate;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.dto.TimeSlotAvailability;
 import com.sportsvenue.venuemanagement.model.Booking;
 import com.sportsvenue.venuemanagement.model.BookingStatus;
 
@@ -9,32 +17,59 @@ import java.util.List;
 import java.util.Map;
 
 public interface BookingService {
-    List<Booking> getAllBookings();
+    /**
+     * One page of bookings matching the filter, newest booking date first,
+     * starting after {@code cursor} (null for the first page).
+     */
+    BookingPage findBookings(BookingFilter filter, String cursor, int limit);
     
     Map<String, Object> getAdminBookingStats();
     
     Map<String, Object> getManagerBookingStats();
     
-    List<Booking> getManagerBookings(Long managerId);
+    List<BookingSummary> getUserBookingsByUsername(String username);
     
-    List<Booking> getUserBookings(Long userId);
-    
-    List<Booking> getUserBookingsByUsername(String username);
-    
-    List<Booking> getVenueBookings(Long venueId, LocalDate date);
+    List<BookingSummary> getVenueBookings(Long venueId, LocalDate date);
     
     Booking createBooking(Long venueId, Long userId, LocalDate bookingDate,
                          LocalTime startTime, LocalTime endTime, Integer courtNumber,
                          Double totalAmount);
     
+    /**
+     * Books the same court and time every {@code intervalWeeks} weeks, starting on
+     * {@code firstDate}. Either every occurrence is created or, if any of them
+     * conflicts with an existing booking, none are.
+     */
+    BatchBookingResult createRecurringBookings(Long venueId, Long userId, LocalDate firstDate,
+                                               LocalTime startTime, LocalTime endTime, Integer courtNumber,
+                                               Double totalAmount, int occurrences, int intervalWeeks);
+    
+    /**
+     * Resolves independent booking requests in order within one transaction and
+     * inserts the accepted ones as a single batch. Returns, for each request,
+     * the new booking id or why it was turned down.
+     */
+    List<GroupBookingOutcome> createBookingGroup(List<BookingIntakeRequest> requests);
+    
     Booking updateBookingStatus(Long bookingId, BookingStatus status);
     
     void updatePaymentInfo(Long bookingId, String paymentId);
     
     void cancelBooking(Long bookingId);
+
+    void deleteBooking(Long bookingId);
     
     boolean isCourtAvailable(Long venueId, LocalDate date, LocalTime startTime,
                            LocalTime endTime, Integer courtNumber);
+
+    List<TimeSlotAvailability> getAvailableSlots(Long venueId, LocalDate date);
+
+    /**
+     * Finds free courts of the given sport across all venues, earliest start
+     * first and cheapest first within the same start.
+     */
+    List<FreeCourtCandidate> findFreeCourts(String sportType, LocalDate date, LocalTime from, LocalTime to,
+                                            int durationMinutes, String location, int limit);
     
     Booking getBookingById(Long bookingId);
 } 
\ No newline at end of file
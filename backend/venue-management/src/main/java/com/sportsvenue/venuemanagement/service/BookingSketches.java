@@ -0,0 +1,270 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.util.HyperLogLog;
+import com.sportsvenue.venuemanagement.util.SpaceSaving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monthly sketches of bookings for questions that would otherwise need
+ * {@code COUNT(DISTINCT user_id)} or a sort over the whole bookings table.
+ *
+ * Each month, keyed by booking date, keeps a HyperLogLog of players per
+ * venue and overall, plus Space-Saving heavy-hitters sketches of venues and
+ * of (venue, weekday, start hour) slots. A venue costs 4 KB per retained
+ * month no matter how many bookings it takes.
+ *
+ * Sketches count bookings as they are created; later cancellations are not
+ * taken back out. They are rebuilt from the database once the application
+ * is ready, page by page, so the load never holds more than one page of
+ * rows. Bookings created during the load are replayed afterwards unless the
+ * load already read them, which it did for every id up to the last one
+ * loaded.
+ */
+@Component
+public class BookingSketches {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSketches.class);
+
+    static final int LOAD_PAGE_SIZE = 50_000;
+    private static final int PRECISION = 12;
+
+    private final BookingRepository bookingRepository;
+    private final int retentionMonths;
+    private final int topCapacity;
+    private final Object loadLock = new Object();
+    private final List<BookingStatusChangedEvent> pendingDuringLoad = new ArrayList<>();
+    private boolean loading;
+    private volatile Map<YearMonth, MonthSketch> months = new ConcurrentHashMap<>();
+
+    public BookingSketches(BookingRepository bookingRepository,
+            @Value("${analytics.sketch.retention-months:13}") int retentionMonths,
+            @Value("${analytics.sketch.top-capacity:256}") int topCapacity) {
+        this.bookingRepository = bookingRepository;
+        this.retentionMonths = retentionMonths;
+        this.topCapacity = topCapacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (loadLock) {
+            loading = true;
+        }
+        Map<YearMonth, MonthSketch> loaded = new ConcurrentHashMap<>();
+        LocalDate fromDate = oldestRetained().atDay(1);
+        long afterId = 0;
+        long rows = 0;
+        List<Object[]> page;
+        do {
+            page = bookingRepository.findSketchInputsAfter(afterId, fromDate, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                add(loaded, (Long) row[1], (Long) row[2], (LocalDate) row[3], (LocalTime) row[4]);
+            }
+            rows += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        long lastLoadedId = afterId;
+        synchronized (loadLock) {
+            months = loaded;
+            pendingDuringLoad.stream()
+                    .filter(event -> event.bookingId() > lastLoadedId)
+                    .forEach(event -> add(loaded, event.venueId(), event.userId(), event.bookingDate(),
+                            event.startTime()));
+            pendingDuringLoad.clear();
+            loading = false;
+        }
+        logger.info("Booking sketches loaded {} bookings across {} months", rows, loaded.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.previousStatus() != null || event.newStatus() == null) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loading) {
+                pendingDuringLoad.add(event);
+                return;
+            }
+        }
+        add(months, event.venueId(), event.userId(), event.bookingDate(), event.startTime());
+    }
+
+    @Scheduled(cron = "${analytics.sketch.evict-cron:0 30 0 1 * *}")
+    public void evictExpiredMonths() {
+        YearMonth oldest = oldestRetained();
+        months.keySet().removeIf(month -> month.isBefore(oldest));
+    }
+
+    private void add(Map<YearMonth, MonthSketch> target, long venueId, long userId, LocalDate date,
+            LocalTime start) {
+        YearMonth month = YearMonth.from(date);
+        if (month.isBefore(oldestRetained())) {
+            return;
+        }
+        target.computeIfAbsent(month, m -> new MonthSketch(topCapacity))
+                .add(venueId, userId, date.getDayOfWeek(), start.getHour());
+    }
+
+    private YearMonth oldestRetained() {
+        return YearMonth.now().minusMonths(retentionMonths - 1);
+    }
+
+    /**
+     * Estimated distinct players with bookings dated in {@code [from, to]},
+     * at one venue or, if {@code venueId} is null, across all venues.
+     */
+    public Map<String, Object> uniquePlayers(Long venueId, YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        checkRetained(from);
+        HyperLogLog players = new HyperLogLog(PRECISION);
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthSketch sketch = months.get(month);
+            if (sketch != null) {
+                sketch.mergePlayersInto(players, venueId);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("venueId", venueId);
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        result.put("uniquePlayers", players.estimate());
+        result.put("relativeStandardError", HyperLogLog.relativeStandardError(PRECISION));
+        return result;
+    }
+
+    /**
+     * Venues with the most bookings dated in the month. {@code bookings}
+     * may overcount by up to {@code error}; {@code minBookings} is a
+     * guaranteed lower bound.
+     */
+    public Map<String, Object> topVenues(YearMonth month, int limit) {
+        checkRetained(month);
+        MonthSketch sketch = months.get(month);
+        Top top = sketch != null ? sketch.top(sketch.venues, limit) : Top.EMPTY;
+        List<Map<String, Object>> venues = new ArrayList<>();
+        for (SpaceSaving.Counter<Long> counter : top.counters()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("venueId", counter.item());
+            putCounts(entry, counter);
+            venues.add(entry);
+        }
+        Map<String, Object> result = topResult(month, top);
+        result.put("venues", venues);
+        return result;
+    }
+
+    /**
+     * Busiest (venue, weekday, start hour) slots for bookings dated in the
+     * month, with the same error bounds as {@link #topVenues}.
+     */
+    public Map<String, Object> topSlots(YearMonth month, int limit) {
+        checkRetained(month);
+        MonthSketch sketch = months.get(month);
+        Top top = sketch != null ? sketch.top(sketch.slots, limit) : Top.EMPTY;
+        List<Map<String, Object>> slots = new ArrayList<>();
+        for (SpaceSaving.Counter<Long> counter : top.counters()) {
+            long slot = counter.item();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("venueId", slot >>> 16);
+            entry.put("weekday", DayOfWeek.of((int) (slot >>> 8 & 0xff)));
+            entry.put("hour", (int) (slot & 0xff));
+            putCounts(entry, counter);
+            slots.add(entry);
+        }
+        Map<String, Object> result = topResult(month, top);
+        result.put("slots", slots);
+        return result;
+    }
+
+    private void checkRetained(YearMonth month) {
+        if (month.isBefore(oldestRetained())) {
+            throw new BadRequestException("Sketches are only kept for the last " + retentionMonths + " months");
+        }
+    }
+
+    private static Map<String, Object> topResult(YearMonth month, Top top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("month", month.toString());
+        result.put("totalBookings", top.total());
+        result.put("maxError", top.maxError());
+        return result;
+    }
+
+    private static void putCounts(Map<String, Object> entry, SpaceSaving.Counter<Long> counter) {
+        entry.put("bookings", counter.count());
+        entry.put("minBookings", counter.count() - counter.error());
+        entry.put("error", counter.error());
+    }
+
+    private record Top(long total, long maxError, List<SpaceSaving.Counter<Long>> counters) {
+        static final Top EMPTY = new Top(0, 0, List.of());
+    }
+
+    /**
+     * The sketches of one month. Each sketch is guarded by its own monitor.
+     */
+    private static final class MonthSketch {
+        final HyperLogLog players = new HyperLogLog(PRECISION);
+        final Map<Long, HyperLogLog> playersByVenue = new HashMap<>();
+        final SpaceSaving<Long> venues;
+        final SpaceSaving<Long> slots;
+
+        MonthSketch(int topCapacity) {
+            venues = new SpaceSaving<>(topCapacity);
+            slots = new SpaceSaving<>(topCapacity);
+        }
+
+        void add(long venueId, long userId, DayOfWeek weekday, int hour) {
+            synchronized (players) {
+                players.add(userId);
+                playersByVenue.computeIfAbsent(venueId, v -> new HyperLogLog(PRECISION)).add(userId);
+            }
+            synchronized (venues) {
+                venues.add(venueId);
+            }
+            synchronized (slots) {
+                slots.add(venueId << 16 | weekday.getValue() << 8 | hour);
+            }
+        }
+
+        void mergePlayersInto(HyperLogLog target, Long venueId) {
+            synchronized (players) {
+                HyperLogLog source = venueId == null ? players : playersByVenue.get(venueId);
+                if (source != null) {
+                    target.merge(source);
+                }
+            }
+        }
+
+        Top top(SpaceSaving<Long> sketch, int limit) {
+            synchronized (sketch) {
+                return new Top(sketch.total(), sketch.maxError(), sketch.top(limit));
+            }
+        }
+    }
+}
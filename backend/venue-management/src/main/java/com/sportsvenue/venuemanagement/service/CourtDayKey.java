@@ -0,0 +1,9 @@
+package com.sportsvenue.venuemanagement.service;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies the schedule of a single court on a single day at a venue.
+ */
+public record CourtDayKey(long venueId, int courtNumber, LocalDate date) {
+}
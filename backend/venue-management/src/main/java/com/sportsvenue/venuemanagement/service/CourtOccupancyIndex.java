@@ -0,0 +1,205 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.util.IntervalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of occupied court time, keyed by (venue, court, date).
+ * Each court-day is an interval tree of half-open {@code [start, end)} minute
+ * ranges, so back-to-back bookings do not conflict.
+ *
+ * The index is rebuilt from the database once the application is ready and
+ * kept in sync by the booking service after each committed write. Dates before
+ * the rebuild are not covered; callers fall back to the database for those.
+ * PENDING holds carry their expiry and stop counting as occupied once it has
+ * passed, even before the hold sweeper cancels them.
+ */
+@Component
+public class CourtOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourtOccupancyIndex.class);
+
+    private final BookingRepository bookingRepository;
+    private final Map<CourtDayKey, CourtDaySchedule> schedules = new ConcurrentHashMap<>();
+    private volatile LocalDate coveredFrom;
+
+    public CourtOccupancyIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate from = LocalDate.now();
+        coveredFrom = null;
+        schedules.clear();
+
+        List<Object[]> rows = bookingRepository.findActiveSlotsFrom(from, LocalDateTime.now());
+        for (Object[] row : rows) {
+            CourtDayKey key = new CourtDayKey((Long) row[1], (Integer) row[2], (LocalDate) row[3]);
+            occupy(key, (Long) row[0], toMinute((LocalTime) row[4]), toMinute((LocalTime) row[5]),
+                    toEpochMillis((LocalDateTime) row[6]));
+        }
+
+        coveredFrom = from;
+        logger.info("Court occupancy index loaded {} bookings across {} court-days", rows.size(), schedules.size());
+    }
+
+    /**
+     * Whether availability for the given date can be answered from memory.
+     */
+    public boolean covers(LocalDate date) {
+        LocalDate from = coveredFrom;
+        return from != null && !date.isBefore(from);
+    }
+
+    public boolean hasConflict(Long venueId, Integer courtNumber, LocalDate date,
+            LocalTime startTime, LocalTime endTime) {
+        return hasConflict(venueId, courtNumber, date, toMinute(startTime), toMinute(endTime));
+    }
+
+    public boolean hasConflict(long venueId, int courtNumber, LocalDate date, int startMinute, int endMinute) {
+        CourtDaySchedule schedule = schedules.get(new CourtDayKey(venueId, courtNumber, date));
+        return schedule != null && schedule.overlaps(startMinute, endMinute, System.currentTimeMillis());
+    }
+
+    /**
+     * Earliest start at or after {@code fromMinute} with {@code length} free
+     * minutes ending by {@code limitMinute}, or -1 if the court is full.
+     */
+    public int nextFreeGap(long venueId, int courtNumber, LocalDate date, int fromMinute, int length,
+            int limitMinute) {
+        CourtDaySchedule schedule = schedules.get(new CourtDayKey(venueId, courtNumber, date));
+        if (schedule == null) {
+            return fromMinute + length <= limitMinute ? fromMinute : -1;
+        }
+        return schedule.nextFreeGap(fromMinute, length, limitMinute, System.currentTimeMillis());
+    }
+
+    /**
+     * Free {@code [start, end)} minute ranges of at least {@code minLength}
+     * within {@code [fromMinute, toMinute)}.
+     */
+    public List<int[]> freeGaps(long venueId, int courtNumber, LocalDate date, int fromMinute, int toMinute,
+            int minLength) {
+        CourtDaySchedule schedule = schedules.get(new CourtDayKey(venueId, courtNumber, date));
+        if (schedule == null) {
+            return toMinute - fromMinute >= minLength ? List.of(new int[] { fromMinute, toMinute }) : List.of();
+        }
+        return schedule.freeGaps(fromMinute, toMinute, minLength, System.currentTimeMillis());
+    }
+
+    /**
+     * Applies the current state of the booking to the index once the surrounding
+     * transaction commits, or immediately when there is no transaction.
+     */
+    public void record(Booking booking) {
+        long bookingId = booking.getId();
+        CourtDayKey key = new CourtDayKey(booking.getVenue().getId(), booking.getCourtNumber(),
+                booking.getBookingDate());
+        int start = toMinute(booking.getStartTime());
+        int end = toMinute(booking.getEndTime());
+        boolean occupying = booking.getStatus() != BookingStatus.CANCELLED;
+        long expiresAt = booking.getStatus() == BookingStatus.PENDING
+                ? toEpochMillis(booking.getHoldExpiresAt())
+                : IntervalTree.NEVER_EXPIRES;
+
+        afterCommit(() -> {
+            if (occupying) {
+                occupy(key, bookingId, start, end, expiresAt);
+            } else {
+                release(key, bookingId);
+            }
+        });
+    }
+
+    public void remove(Booking booking) {
+        remove(new CourtDayKey(booking.getVenue().getId(), booking.getCourtNumber(), booking.getBookingDate()),
+                booking.getId());
+    }
+
+    public void remove(CourtDayKey key, long bookingId) {
+        afterCommit(() -> release(key, bookingId));
+    }
+
+    private void release(CourtDayKey key, long bookingId) {
+        schedules.computeIfPresent(key, (k, schedule) -> schedule.remove(bookingId) ? null : schedule);
+    }
+
+    private void occupy(CourtDayKey key, long bookingId, int start, int end, long expiresAt) {
+        schedules.compute(key, (k, schedule) -> {
+            CourtDaySchedule target = schedule != null ? schedule : new CourtDaySchedule();
+            target.put(bookingId, start, end, expiresAt);
+            return target;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time == null ? IntervalTree.NEVER_EXPIRES : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Booked intervals of one court-day. Readers and writers of the same
+     * court-day synchronize on the schedule; different court-days never contend.
+     */
+    private static final class CourtDaySchedule {
+        private final IntervalTree intervals = new IntervalTree();
+
+        synchronized boolean overlaps(int start, int end, long now) {
+            return intervals.overlaps(start, end, now);
+        }
+
+        synchronized int nextFreeGap(int from, int length, int limit, long now) {
+            return intervals.nextFreeGap(from, length, limit, now);
+        }
+
+        synchronized List<int[]> freeGaps(int from, int to, int minLength, long now) {
+            return intervals.freeGaps(from, to, minLength, now);
+        }
+
+        synchronized void put(long id, int start, int end, long expiresAt) {
+            intervals.put(id, start, end, expiresAt);
+        }
+
+        /**
+         * @return true if the schedule is empty afterwards
+         */
+        synchronized boolean remove(long id) {
+            intervals.remove(id);
+            return intervals.isEmpty();
+        }
+    }
+}
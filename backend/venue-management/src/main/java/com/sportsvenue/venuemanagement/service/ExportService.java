@@ -0,0 +1,39 @@
+package com.sportsvenue.venuemanagement.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Writes every booking dated within {@code [from, to]} to {@code out}.
+     */
+    void exportBookings(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+
+    /**
+     * Writes every payment made within {@code [from, to]} to {@code out}.
+     */
+    void exportPayments(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+}
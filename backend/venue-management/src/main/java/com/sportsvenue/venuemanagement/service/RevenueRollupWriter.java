@@ -0,0 +1,59 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
+import com.sportsvenue.venuemanagement.repository.RevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps {@code revenue_rollup} in step with the payment table. Each payment
+ * adds itself to its (day, venue, method) row inside the payment's own
+ * transaction, so the rollup commits or rolls back together with it.
+ */
+@Component
+public class RevenueRollupWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupWriter.class);
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final TransactionTemplate transaction;
+
+    public RevenueRollupWriter(RevenueRollupRepository revenueRollupRepository,
+            PlatformTransactionManager transactionManager) {
+        this.revenueRollupRepository = revenueRollupRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Builds the rollup from existing payments the first time it is deployed.
+     * Runs while the context is still being created, before the web server
+     * accepts requests, so no payment can reach the rollup ahead of the
+     * backfill and make it look already done.
+     */
+    @PostConstruct
+    public void backfill() {
+        transaction.executeWithoutResult(status -> {
+            if (revenueRollupRepository.count() > 0) {
+                return;
+            }
+            int rows = revenueRollupRepository.backfillFromPayments();
+            if (rows > 0) {
+                logger.info("Backfilled {} revenue rollup rows from existing payments", rows);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        LocalDate day = event.paymentDate() != null ? event.paymentDate().toLocalDate() : LocalDate.now();
+        revenueRollupRepository.addPayment(day, event.venueId(), event.method(), Math.round(event.amount() * 100));
+    }
+}
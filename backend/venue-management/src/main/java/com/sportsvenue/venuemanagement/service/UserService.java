@@ -1,7 +1,9 @@
 package com.sportsvenue.venuemanagement.service;
 
 import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.UserSummary;
 import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.UserSummaryRepository;
 import com.sportsvenue.venuemanagement.dto.LoginRequest;
 import com.sportsvenue.venuemanagement.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +15,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import java.util.List;
@@ -34,6 +40,9 @@ public class UserService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         try {
@@ -193,6 +202,65 @@ public class UserService {
         }
     }
 
+    /**
+     * Whether the caller may read the given player's data: admins may read
+     * anyone's, everybody else only their own.
+     */
+    @Transactional(readOnly = true)
+    public boolean isSelfOrAdmin(Authentication authentication, Long userId) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+            return true;
+        }
+        return userRepository.findByUsername(authentication.getName())
+                .map(user -> user.getId().equals(userId))
+                .orElse(false);
+    }
+
+    /**
+     * Booking totals for the player dashboard, read from the player's summary row.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserBookingAnalytics(Long userId) {
+        UserSummary summary = userSummaryRepository.findById(userId).orElseGet(UserSummary::new);
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("totalBookings", summary.getTotalBookings());
+        analytics.put("activeBookings", summary.getActiveBookings());
+        analytics.put("cancelledBookings", summary.getCancelledBookings());
+        analytics.put("hoursPlayed", summary.getMinutesPlayed() / 60.0);
+        analytics.put("totalSpent", summary.getTotalSpentCents() / 100.0);
+        analytics.put("totalPayments", summary.getPaymentCount());
+        return analytics;
+    }
+
+    /**
+     * Favourites and streaks of the given player, read from their summary row.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserAnalytics(String username) {
+        UserSummary summary = userSummaryRepository.findByUsername(username).orElseGet(UserSummary::new);
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("favoriteVenues", summary.getDistinctVenues());
+        analytics.put("favoriteVenueId", summary.getFavoriteVenueId());
+        analytics.put("favoriteSport", summary.getFavoriteSport());
+        analytics.put("currentStreakWeeks", currentStreak(summary));
+        analytics.put("longestStreakWeeks", summary.getLongestStreakWeeks());
+        analytics.put("hoursPlayed", summary.getMinutesPlayed() / 60.0);
+        return analytics;
+    }
+
+    /**
+     * The stored streak still counts while the player has played this week
+     * or last week; after that it has lapsed.
+     */
+    private static int currentStreak(UserSummary summary) {
+        LocalDate lastWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+        LocalDate lastPlayed = summary.getLastPlayedWeek();
+        return lastPlayed != null && !lastPlayed.isBefore(lastWeek) ? summary.getCurrentStreakWeeks() : 0;
+    }
+
     private void validateRole(String role) {
         try {
             User.Role.valueOf(role.toUpperCase());
@@ -0,0 +1,303 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.UserSummary;
+import com.sportsvenue.venuemanagement.model.UserVenueStat;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.UserSummaryRepository;
+import com.sportsvenue.venuemanagement.repository.UserVenueStatRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Keeps {@code user_summaries} and {@code user_venue_stats} in step with
+ * bookings and payments. Changes are collected for the whole transaction and
+ * written just before it commits, once per player and under that player's
+ * row lock, so a recurring series or group booking costs a handful of
+ * statements rather than a few per booking, and concurrent bookings by the
+ * same player cannot lose an update.
+ */
+@Component
+public class UserSummaryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSummaryWriter.class);
+
+    private final UserSummaryRepository userSummaryRepository;
+    private final UserVenueStatRepository userVenueStatRepository;
+    private final VenueRepository venueRepository;
+    private final TransactionTemplate transaction;
+
+    public UserSummaryWriter(UserSummaryRepository userSummaryRepository,
+            UserVenueStatRepository userVenueStatRepository, VenueRepository venueRepository,
+            PlatformTransactionManager transactionManager) {
+        this.userSummaryRepository = userSummaryRepository;
+        this.userVenueStatRepository = userVenueStatRepository;
+        this.venueRepository = venueRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Builds the summaries from existing bookings and payments the first time
+     * they are deployed. Runs before the web server accepts requests, so no
+     * booking can create a summary row ahead of the backfill and make it
+     * look already done. Streaks start counting from then on.
+     */
+    @PostConstruct
+    public void backfill() {
+        transaction.executeWithoutResult(status -> {
+            if (userSummaryRepository.count() > 0) {
+                return;
+            }
+            Map<Long, UserSummary> summaries = new TreeMap<>();
+            for (Object[] row : userSummaryRepository.countBookingsByUser()) {
+                UserSummary summary = new UserSummary();
+                summary.setUserId((Long) row[0]);
+                summary.setTotalBookings(((Number) row[1]).longValue());
+                summary.setActiveBookings(((Number) row[2]).longValue());
+                summary.setCancelledBookings(((Number) row[3]).longValue());
+                summary.setDistinctVenues(((Number) row[4]).longValue());
+                summary.setUpdatedAt(LocalDateTime.now());
+                summaries.put(summary.getUserId(), summary);
+            }
+            if (summaries.isEmpty()) {
+                return;
+            }
+            for (Object[] row : userSummaryRepository.countPlayedSlotsByUser()) {
+                long minutes = (((LocalTime) row[2]).toSecondOfDay() - ((LocalTime) row[1]).toSecondOfDay()) / 60;
+                UserSummary summary = summaries.get((Long) row[0]);
+                summary.setMinutesPlayed(summary.getMinutesPlayed() + minutes * ((Number) row[3]).longValue());
+            }
+            for (Object[] row : userSummaryRepository.sumPaymentsByUser()) {
+                UserSummary summary = summaries.get((Long) row[0]);
+                summary.setPaymentCount(((Number) row[1]).longValue());
+                summary.setTotalSpentCents(Math.round(((Number) row[2]).doubleValue() * 100));
+            }
+            List<UserVenueStat> stats = new ArrayList<>();
+            for (Object[] row : userVenueStatRepository.countBookingsByUserAndVenue()) {
+                long userId = (Long) row[0];
+                long venueId = (Long) row[1];
+                long bookings = ((Number) row[3]).longValue();
+                stats.add(new UserVenueStat(null, userId, venueId, bookings));
+                UserSummary summary = summaries.get(userId);
+                if (bookings > summary.getFavoriteVenueBookings()) {
+                    summary.setFavoriteVenueId(venueId);
+                    summary.setFavoriteSport((String) row[2]);
+                    summary.setFavoriteVenueBookings(bookings);
+                }
+            }
+            userVenueStatRepository.saveAll(stats);
+            userSummaryRepository.saveAll(summaries.values());
+            logger.info("Backfilled summaries for {} players from existing bookings", summaries.size());
+        });
+    }
+
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        BookingStatus previous = event.previousStatus();
+        BookingStatus next = event.newStatus();
+        int played = delta(isPlayed(previous), isPlayed(next));
+        long minutes = (event.endTime().toSecondOfDay() - event.startTime().toSecondOfDay()) / 60;
+
+        record(event.userId(), change -> {
+            if (previous == null) {
+                change.totalBookings++;
+                change.venueBookings.merge(event.venueId(), 1L, Long::sum);
+            } else if (next == null) {
+                change.totalBookings--;
+                change.venueBookings.merge(event.venueId(), -1L, Long::sum);
+            }
+            change.activeBookings += delta(isActive(previous), isActive(next));
+            change.cancelledBookings += delta(previous == BookingStatus.CANCELLED, next == BookingStatus.CANCELLED);
+            change.minutesPlayed += played * minutes;
+            if (played > 0) {
+                change.playedDates.add(event.bookingDate());
+            }
+        });
+    }
+
+    @EventListener
+    public void onPaymentRecorded(PaymentRecordedEvent event) {
+        record(event.userId(), change -> {
+            change.paymentCount++;
+            change.totalSpentCents += Math.round(event.amount() * 100);
+        });
+    }
+
+    /**
+     * Adds to the player's pending change for the current transaction, which
+     * is written just before it commits and dropped if it rolls back.
+     * Outside a transaction the change is written straight away.
+     */
+    private void record(long userId, Consumer<PendingChange> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChange change = new PendingChange();
+            update.accept(change);
+            transaction.executeWithoutResult(status -> apply(userId, change));
+            return;
+        }
+        PendingChanges pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingChanges.class::isInstance)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElse(null);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        update.accept(pending.changes.computeIfAbsent(userId, id -> new PendingChange()));
+    }
+
+    private void apply(long userId, PendingChange change) {
+        userSummaryRepository.insertIfAbsent(userId);
+        UserSummary summary = userSummaryRepository.lockByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("User summary missing for user " + userId));
+
+        summary.setTotalBookings(summary.getTotalBookings() + change.totalBookings);
+        summary.setActiveBookings(summary.getActiveBookings() + change.activeBookings);
+        summary.setCancelledBookings(summary.getCancelledBookings() + change.cancelledBookings);
+        summary.setMinutesPlayed(summary.getMinutesPlayed() + change.minutesPlayed);
+        summary.setPaymentCount(summary.getPaymentCount() + change.paymentCount);
+        summary.setTotalSpentCents(summary.getTotalSpentCents() + change.totalSpentCents);
+        countVenueBookings(summary, change.venueBookings);
+        for (LocalDate date : change.playedDates) {
+            extendStreak(summary, date);
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        userSummaryRepository.save(summary);
+    }
+
+    private void countVenueBookings(UserSummary summary, Map<Long, Long> venueBookings) {
+        Long favorite = summary.getFavoriteVenueId();
+        boolean favoriteLost = false;
+        Long leader = null;
+        long leaderBookings = 0;
+        for (Map.Entry<Long, Long> entry : venueBookings.entrySet()) {
+            long venueId = entry.getKey();
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            userVenueStatRepository.addBookings(summary.getUserId(), venueId, delta);
+            long bookings = userVenueStatRepository.findBookings(summary.getUserId(), venueId).orElse(0L);
+            long before = bookings - delta;
+            if (before <= 0 && bookings > 0) {
+                summary.setDistinctVenues(summary.getDistinctVenues() + 1);
+            } else if (before > 0 && bookings <= 0) {
+                summary.setDistinctVenues(summary.getDistinctVenues() - 1);
+            }
+
+            if (Long.valueOf(venueId).equals(favorite)) {
+                if (delta < 0) {
+                    favoriteLost = true;
+                } else {
+                    summary.setFavoriteVenueBookings(bookings);
+                }
+            } else if (delta > 0 && bookings > leaderBookings) {
+                leader = venueId;
+                leaderBookings = bookings;
+            }
+        }
+
+        if (favoriteLost) {
+            // the favourite lost bookings, so another venue may have overtaken it
+            UserVenueStat top = userVenueStatRepository.findFirstByUserIdOrderByBookingsDesc(summary.getUserId())
+                    .orElse(null);
+            if (top == null || top.getBookings() == 0) {
+                summary.setFavoriteVenueId(null);
+                summary.setFavoriteSport(null);
+                summary.setFavoriteVenueBookings(0);
+            } else {
+                if (!top.getVenueId().equals(favorite)) {
+                    setFavorite(summary, top.getVenueId());
+                }
+                summary.setFavoriteVenueBookings(top.getBookings());
+            }
+        } else if (leader != null && leaderBookings > summary.getFavoriteVenueBookings()) {
+            setFavorite(summary, leader);
+            summary.setFavoriteVenueBookings(leaderBookings);
+        }
+    }
+
+    private void setFavorite(UserSummary summary, long venueId) {
+        summary.setFavoriteVenueId(venueId);
+        summary.setFavoriteSport(venueRepository.findById(venueId).map(Venue::getSportType).orElse(null));
+    }
+
+    /**
+     * Counts the booking's week towards the streak. Weeks before the last
+     * played week are already accounted for and leave the streak alone.
+     */
+    private static void extendStreak(UserSummary summary, LocalDate bookingDate) {
+        LocalDate week = bookingDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate last = summary.getLastPlayedWeek();
+        if (last != null && !week.isAfter(last)) {
+            return;
+        }
+        int streak = last != null && week.equals(last.plusWeeks(1)) ? summary.getCurrentStreakWeeks() + 1 : 1;
+        summary.setCurrentStreakWeeks(streak);
+        summary.setLongestStreakWeeks(Math.max(summary.getLongestStreakWeeks(), streak));
+        summary.setLastPlayedWeek(week);
+    }
+
+    private static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.PENDING || status == BookingStatus.CONFIRMED;
+    }
+
+    private static boolean isPlayed(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    private static int delta(boolean before, boolean after) {
+        return before == after ? 0 : after ? 1 : -1;
+    }
+    /**
+     * The changes of one transaction, per player in id order so that two
+     * transactions never wait on each other's summary rows.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<Long, PendingChange> changes = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changes.forEach(UserSummaryWriter.this::apply);
+        }
+    }
+
+    /**
+     * What one transaction changes about one player. Venue bookings are kept
+     * in venue id order so stat rows are always locked in the same order.
+     */
+    private static final class PendingChange {
+        private long totalBookings;
+        private long activeBookings;
+        private long cancelledBookings;
+        private long minutesPlayed;
+        private long paymentCount;
+        private long totalSpentCents;
+        private final Map<Long, Long> venueBookings = new TreeMap<>();
+        private final SortedSet<LocalDate> playedDates = new TreeSet<>();
+    }
+}
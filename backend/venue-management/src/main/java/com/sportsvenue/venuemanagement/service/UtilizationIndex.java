@@ -0,0 +1,209 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.util.VenueHours;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Sold court-minutes per venue, day and hour of day, used for utilization
+ * heatmaps.
+ *
+ * Each (venue, day) bucket holds 24 counters of booked minutes, summed over
+ * courts, and is adjusted as CONFIRMED or COMPLETED bookings come and go. A
+ * heatmap only walks the buckets of the requested days and divides by the
+ * venue's sellable court-minutes per hour from {@code totalCourts} and its
+ * opening hours, so its cost does not depend on the number of bookings.
+ */
+@Component
+public class UtilizationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UtilizationIndex.class);
+
+    private static final int HOURS = 24;
+
+    private final BookingRepository bookingRepository;
+    private final int retentionDays;
+    private final int horizonDays;
+    private final Map<Long, Map<LocalDate, AtomicIntegerArray>> buckets = new ConcurrentHashMap<>();
+
+    public UtilizationIndex(BookingRepository bookingRepository,
+            @Value("${booking.utilization.retention-days:400}") int retentionDays,
+            @Value("${booking.utilization.horizon-days:730}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.retentionDays = retentionDays;
+        this.horizonDays = horizonDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        buckets.clear();
+        List<Object[]> rows = bookingRepository.findSoldSlotsFrom(LocalDate.now().minusDays(retentionDays));
+        for (Object[] row : rows) {
+            add((Long) row[0], (LocalDate) row[1], (LocalTime) row[2], (LocalTime) row[3], 1);
+        }
+        logger.info("Utilization index loaded {} bookings", rows.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        boolean wasSold = isSold(event.previousStatus());
+        boolean isSold = isSold(event.newStatus());
+        if (wasSold != isSold) {
+            add(event.venueId(), event.bookingDate(), event.startTime(), event.endTime(), isSold ? 1 : -1);
+        }
+    }
+
+    @Scheduled(cron = "${booking.utilization.evict-cron:0 15 0 * * *}")
+    public void evictExpiredDays() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        buckets.values().forEach(days -> days.keySet().removeIf(date -> date.isBefore(cutoff)));
+    }
+
+    /**
+     * Utilization of the given venues over {@code [from, to]} as percentages:
+     * overall, per venue, by hour of day, by day of week and as a
+     * day-of-week by hour-of-day heatmap (Monday first). The range may span
+     * at most {@code retentionDays} days and end at most {@code horizonDays}
+     * days from today, so its cost stays bounded.
+     */
+    public Map<String, Object> heatmap(Collection<Venue> venues, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (from.isBefore(today.minusDays(retentionDays))) {
+            throw new BadRequestException("Utilization is only kept for the last " + retentionDays + " days");
+        }
+        if (to.isAfter(today.plusDays(horizonDays))) {
+            throw new BadRequestException("Utilization is only available up to " + horizonDays + " days ahead");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= retentionDays) {
+            throw new BadRequestException("Utilization range must not exceed " + retentionDays + " days");
+        }
+        long[][] sold = new long[7][HOURS];
+        long[][] capacity = new long[7][HOURS];
+        List<Map<String, Object>> perVenue = new ArrayList<>();
+
+        for (Venue venue : venues) {
+            int[] hourCapacity = hourCapacity(venue);
+            Map<LocalDate, AtomicIntegerArray> days = buckets.getOrDefault(venue.getId(), Map.of());
+            long venueSold = 0;
+            long venueCapacity = 0;
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                int dow = date.getDayOfWeek().getValue() - 1;
+                AtomicIntegerArray minutes = days.get(date);
+                for (int hour = 0; hour < HOURS; hour++) {
+                    int booked = minutes != null ? minutes.get(hour) : 0;
+                    sold[dow][hour] += booked;
+                    capacity[dow][hour] += hourCapacity[hour];
+                    venueSold += booked;
+                    venueCapacity += hourCapacity[hour];
+                }
+            }
+            Map<String, Object> venueStats = new LinkedHashMap<>();
+            venueStats.put("venueId", venue.getId());
+            venueStats.put("venueName", venue.getName());
+            venueStats.put("soldHours", venueSold / 60.0);
+            venueStats.put("availableHours", venueCapacity / 60.0);
+            venueStats.put("utilization", percent(venueSold, venueCapacity));
+            perVenue.add(venueStats);
+        }
+
+        double[][] heatmap = new double[7][HOURS];
+        double[] byHour = new double[HOURS];
+        Map<DayOfWeek, Double> byDay = new LinkedHashMap<>();
+        long totalSold = 0;
+        long totalCapacity = 0;
+        for (int hour = 0; hour < HOURS; hour++) {
+            long hourSold = 0;
+            long hourCapacity = 0;
+            for (int dow = 0; dow < 7; dow++) {
+                heatmap[dow][hour] = percent(sold[dow][hour], capacity[dow][hour]);
+                hourSold += sold[dow][hour];
+                hourCapacity += capacity[dow][hour];
+            }
+            byHour[hour] = percent(hourSold, hourCapacity);
+            totalSold += hourSold;
+            totalCapacity += hourCapacity;
+        }
+        for (int dow = 0; dow < 7; dow++) {
+            long daySold = 0;
+            long dayCapacity = 0;
+            for (int hour = 0; hour < HOURS; hour++) {
+                daySold += sold[dow][hour];
+                dayCapacity += capacity[dow][hour];
+            }
+            byDay.put(DayOfWeek.of(dow + 1), percent(daySold, dayCapacity));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        result.put("utilization", percent(totalSold, totalCapacity));
+        result.put("byHourOfDay", byHour);
+        result.put("byDayOfWeek", byDay);
+        result.put("heatmap", heatmap);
+        result.put("venues", perVenue);
+        return result;
+    }
+
+    private void add(long venueId, LocalDate date, LocalTime startTime, LocalTime endTime, int sign) {
+        int start = VenueHours.toMinute(startTime);
+        int end = VenueHours.toMinute(endTime);
+        if (end <= start) {
+            end = 24 * 60;
+        }
+        AtomicIntegerArray minutes = buckets.computeIfAbsent(venueId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(date, d -> new AtomicIntegerArray(HOURS));
+        for (int hour = start / 60; hour < HOURS && hour * 60 < end; hour++) {
+            int overlap = Math.min(end, hour * 60 + 60) - Math.max(start, hour * 60);
+            minutes.addAndGet(hour, sign * overlap);
+        }
+    }
+
+    /**
+     * Sellable court-minutes in each hour of the venue's day.
+     */
+    private static int[] hourCapacity(Venue venue) {
+        int open = VenueHours.openingMinute(venue);
+        int close = VenueHours.closingMinute(venue);
+        int[] capacity = new int[HOURS];
+        for (int hour = 0; hour < HOURS; hour++) {
+            int overlap = Math.min(close, hour * 60 + 60) - Math.max(open, hour * 60);
+            capacity[hour] = Math.max(0, overlap) * venue.getTotalCourts();
+        }
+        return capacity;
+    }
+
+    private static boolean isSold(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED;
+    }
+
+    private static double percent(long sold, long capacity) {
+        return capacity == 0 ? 0 : Math.round(sold * 10000.0 / capacity) / 100.0;
+    }
+}
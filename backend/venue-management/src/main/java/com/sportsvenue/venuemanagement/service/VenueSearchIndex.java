@@ -0,0 +1,478 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.VenueChangedEvent;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.util.EditDistance;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory, typo-tolerant venue search, so searches never touch the
+ * database.
+ *
+ * Name, location, sport type and facilities are split into lower-cased,
+ * accent-free tokens. Each field keeps sorted postings from token to a bitset
+ * of venue slots, and every distinct token is indexed by its trigrams. A
+ * query token matches indexed tokens exactly, as a prefix ("badm") once it is
+ * three characters long, and within one or two edits ("badmintn") once it is
+ * four. A prefix expands to at most {@value #MAX_PREFIX_TERMS} terms per
+ * field, taken in dictionary order. Fuzzy candidates come from the trigram
+ * index, must be within the allowed edits in length, and are then checked
+ * with a bounded edit distance, so the term dictionary is never scanned.
+ *
+ * Every query token has to match. A venue scores, per query token, its best
+ * match weighted by field and match quality; the top {@code limit} venues are
+ * kept in a bounded heap, and a venue is dropped as soon as its remaining
+ * tokens can no longer lift it into the heap. Ties go to the lower venue id.
+ *
+ * The index is loaded before the application starts serving and kept
+ * current from {@link VenueChangedEvent}s after each commit.
+ */
+@Component
+public class VenueSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VenueSearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.75;
+    private static final double ONE_EDIT = 0.5;
+    private static final double TWO_EDITS = 0.3;
+
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final int MAX_PREFIX_TERMS = 64;
+
+    /**
+     * Indexed venue fields and how much a match in each counts.
+     */
+    public enum Field {
+        NAME(4), LOCATION(2), SPORT_TYPE(2), FACILITIES(1);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] ALL_FIELDS = Field.values();
+
+    private final VenueRepository venueRepository;
+    private final TransactionTemplate readTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    public VenueSearchIndex(VenueRepository venueRepository, PlatformTransactionManager transactionManager) {
+        this.venueRepository = venueRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads every venue. Runs while the context is still being created,
+     * before the web server accepts requests, so no search sees an empty
+     * index and no venue change can arrive mid-load.
+     */
+    @PostConstruct
+    public void rebuild() {
+        Index loaded = new Index();
+        List<Venue> venues = readTransaction.execute(status -> venueRepository.findAll(Sort.by("id")));
+        venues.forEach(loaded::put);
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Venue search index loaded {} venues", venues.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best venues matching every given filter, best first.
+     * {@code q} is matched against all fields; the others only against their
+     * own field. Null or blank filters match everything, and without any
+     * search terms venues come back in id order.
+     */
+    public List<Venue> search(String q, String name, String location, String sportType, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Clause> clauses = new ArrayList<>();
+            index.addClauses(clauses, tokenize(q), ALL_FIELDS);
+            index.addClauses(clauses, tokenize(name), Field.NAME);
+            index.addClauses(clauses, tokenize(location), Field.LOCATION);
+            index.addClauses(clauses, tokenize(sportType), Field.SPORT_TYPE);
+            return clauses.isEmpty() ? index.first(limit) : index.top(clauses, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased tokens of {@code text} with accents stripped, in order of
+     * first appearance.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Trigrams of {@code term} padded with {@code $} at both ends, so short
+     * terms and word boundaries still produce grams.
+     */
+    static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Edits a query token of this length may be away from an indexed token.
+     */
+    private static int maxEdits(int length) {
+        return length < 4 ? 0 : length < 8 ? 1 : 2;
+    }
+
+    private static String fieldText(Venue venue, Field field) {
+        return switch (field) {
+            case NAME -> venue.getName();
+            case LOCATION -> venue.getLocation();
+            case SPORT_TYPE -> venue.getSportType();
+            case FACILITIES -> venue.getFacilities();
+        };
+    }
+
+    /**
+     * Slots matching a query token through one kind of match, and what that
+     * match adds to the score.
+     */
+    private record Expansion(BitSet slots, double score) {
+    }
+
+    /**
+     * One query token: its expansions, best first, and every slot it matches.
+     */
+    private record Clause(List<Expansion> expansions, BitSet matches) {
+        double best() {
+            return expansions.get(0).score();
+        }
+    }
+
+    private record Hit(int slot, long venueId, double score) {
+    }
+
+    /**
+     * The postings, term dictionary and slots of one generation of the
+     * index. Guarded by the enclosing read-write lock once published.
+     */
+    private static final class Index {
+        final Map<Field, NavigableMap<String, BitSet>> postings = new EnumMap<>(Field.class);
+        final Map<String, Integer> termFields = new HashMap<>();
+        final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+        final List<Venue> slots = new ArrayList<>();
+        // venue id per slot, kept apart so ranking does not touch the venues
+        long[] slotIds = new long[64];
+        final Map<Long, Integer> slotById = new HashMap<>();
+        final BitSet live = new BitSet();
+
+        Index() {
+            for (Field field : ALL_FIELDS) {
+                postings.put(field, new TreeMap<>());
+            }
+        }
+
+        void apply(VenueChangedEvent event) {
+            if (event.venue() != null) {
+                put(event.venue());
+            } else {
+                remove(event.venueId());
+            }
+        }
+
+        void put(Venue venue) {
+            Integer slot = slotById.get(venue.getId());
+            if (slot != null) {
+                unindex(slot);
+                slots.set(slot, venue);
+            } else {
+                slot = slots.size();
+                slots.add(venue);
+                if (slot == slotIds.length) {
+                    slotIds = Arrays.copyOf(slotIds, slot * 2);
+                }
+                slotIds[slot] = venue.getId();
+                slotById.put(venue.getId(), slot);
+            }
+            live.set(slot);
+            for (Field field : ALL_FIELDS) {
+                NavigableMap<String, BitSet> fieldPostings = postings.get(field);
+                for (String token : tokenize(fieldText(venue, field))) {
+                    BitSet bits = fieldPostings.get(token);
+                    if (bits == null) {
+                        bits = new BitSet();
+                        fieldPostings.put(token, bits);
+                        addTerm(token);
+                    }
+                    bits.set(slot);
+                }
+            }
+        }
+
+        void remove(long venueId) {
+            Integer slot = slotById.remove(venueId);
+            if (slot != null) {
+                unindex(slot);
+                slots.set(slot, null);
+            }
+        }
+
+        private void unindex(int slot) {
+            Venue venue = slots.get(slot);
+            live.clear(slot);
+            for (Field field : ALL_FIELDS) {
+                NavigableMap<String, BitSet> fieldPostings = postings.get(field);
+                for (String token : tokenize(fieldText(venue, field))) {
+                    BitSet bits = fieldPostings.get(token);
+                    bits.clear(slot);
+                    if (bits.isEmpty()) {
+                        fieldPostings.remove(token);
+                        removeTerm(token);
+                    }
+                }
+            }
+        }
+
+        private void addTerm(String term) {
+            if (termFields.merge(term, 1, Integer::sum) == 1) {
+                for (String gram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+        }
+
+        private void removeTerm(String term) {
+            if (termFields.merge(term, -1, Integer::sum) > 0) {
+                return;
+            }
+            termFields.remove(term);
+            for (String gram : trigrams(term)) {
+                Set<String> terms = termsByTrigram.get(gram);
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByTrigram.remove(gram);
+                }
+            }
+        }
+
+        /**
+         * Adds a clause per token matching any of the fields. A token that
+         * matches nothing still adds an empty clause, so the search finds
+         * nothing rather than ignoring the token.
+         */
+        void addClauses(List<Clause> clauses, Set<String> tokens, Field... fields) {
+            for (String token : tokens) {
+                Map<String, Integer> fuzzy = fuzzyTerms(token);
+                List<Expansion> expansions = new ArrayList<>();
+                BitSet matches = new BitSet();
+                for (Field field : fields) {
+                    NavigableMap<String, BitSet> fieldPostings = postings.get(field);
+                    BitSet prefixed = prefixed(fieldPostings, token);
+                    BitSet oneEdit = new BitSet();
+                    BitSet twoEdits = new BitSet();
+                    for (Map.Entry<String, Integer> term : fuzzy.entrySet()) {
+                        BitSet bits = fieldPostings.get(term.getKey());
+                        if (bits != null) {
+                            (term.getValue() == 1 ? oneEdit : twoEdits).or(bits);
+                        }
+                    }
+                    addExpansion(expansions, matches, fieldPostings.get(token), field.weight * EXACT);
+                    addExpansion(expansions, matches, prefixed, field.weight * PREFIX);
+                    addExpansion(expansions, matches, oneEdit, field.weight * ONE_EDIT);
+                    addExpansion(expansions, matches, twoEdits, field.weight * TWO_EDITS);
+                }
+                if (expansions.isEmpty()) {
+                    expansions.add(new Expansion(new BitSet(), 0));
+                }
+                expansions.sort(Comparator.comparingDouble(Expansion::score).reversed());
+                clauses.add(new Clause(expansions, matches));
+            }
+        }
+
+        /**
+         * Slots holding a longer term starting with {@code token}, or none if
+         * the token is too short to be worth expanding.
+         */
+        private static BitSet prefixed(NavigableMap<String, BitSet> fieldPostings, String token) {
+            BitSet prefixed = new BitSet();
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                return prefixed;
+            }
+            int expanded = 0;
+            for (BitSet bits : fieldPostings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                if (expanded++ == MAX_PREFIX_TERMS) {
+                    break;
+                }
+                prefixed.or(bits);
+            }
+            return prefixed;
+        }
+
+        private static void addExpansion(List<Expansion> expansions, BitSet matches, BitSet slots, double score) {
+            if (slots != null && !slots.isEmpty()) {
+                expansions.add(new Expansion(slots, score));
+                matches.or(slots);
+            }
+        }
+
+        /**
+         * Indexed terms within the allowed edits of {@code token}, with their
+         * distance. Exact and prefix matches are left out since they score
+         * higher anyway. Candidates must share enough trigrams with the token
+         * that the allowed edits could account for the rest, and differ from
+         * it in length by no more than those edits.
+         */
+        private Map<String, Integer> fuzzyTerms(String token) {
+            int maxEdits = maxEdits(token.length());
+            Map<String, Integer> terms = new HashMap<>();
+            if (maxEdits == 0) {
+                return terms;
+            }
+            Set<String> grams = trigrams(token);
+            // an edit touches at most three grams, a swap of neighbours four
+            int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                Set<String> candidates = termsByTrigram.get(gram);
+                if (candidates != null) {
+                    for (String candidate : candidates) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                String term = candidate.getKey();
+                if (candidate.getValue() < minShared || Math.abs(term.length() - token.length()) > maxEdits
+                        || term.startsWith(token)) {
+                    continue;
+                }
+                int distance = EditDistance.bounded(token, term, maxEdits);
+                if (distance <= maxEdits) {
+                    terms.put(term, distance);
+                }
+            }
+            return terms;
+        }
+
+        List<Venue> top(List<Clause> clauses, int limit) {
+            BitSet candidates = (BitSet) live.clone();
+            for (Clause clause : clauses) {
+                candidates.and(clause.matches());
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+            // most each clause from this one on can still add
+            double[] remainingBest = new double[clauses.size() + 1];
+            for (int i = clauses.size() - 1; i >= 0; i--) {
+                remainingBest[i] = remainingBest[i + 1] + clauses.get(i).best();
+            }
+
+            // worst hit on top: lowest score, then highest venue id
+            Comparator<Hit> order = Comparator.comparingDouble(Hit::score)
+                    .thenComparing(Comparator.comparingLong(Hit::venueId).reversed());
+            PriorityQueue<Hit> heap = new PriorityQueue<>(limit, order);
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                Hit worst = heap.size() == limit ? heap.peek() : null;
+                double floor = worst != null ? worst.score() : -1;
+                long venueId = slotIds[slot];
+                // reaching the floor is enough if the venue would win the tie
+                boolean winsTie = worst == null || venueId < worst.venueId();
+                double score = 0;
+                for (int i = 0; i < clauses.size() && (score + remainingBest[i] > floor
+                        || winsTie && score + remainingBest[i] == floor); i++) {
+                    for (Expansion expansion : clauses.get(i).expansions()) {
+                        if (expansion.slots().get(slot)) {
+                            score += expansion.score();
+                            break;
+                        }
+                    }
+                }
+                if (score < floor || score == floor && !winsTie) {
+                    continue;
+                }
+                if (worst != null) {
+                    heap.poll();
+                }
+                heap.add(new Hit(slot, venueId, score));
+            }
+
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(order.reversed());
+            List<Venue> venues = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                venues.add(slots.get(hit.slot()));
+            }
+            return venues;
+        }
+
+        List<Venue> first(int limit) {
+            List<Venue> venues = new ArrayList<>(Math.min(limit, live.cardinality()));
+            for (int slot = live.nextSetBit(0); slot >= 0 && venues.size() < limit; slot = live.nextSetBit(slot + 1)) {
+                venues.add(slots.get(slot));
+            }
+            return venues;
+        }
+    }
+}
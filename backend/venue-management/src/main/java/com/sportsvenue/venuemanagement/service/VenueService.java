@@ -1,7 +1,9 @@
 package com.sportsvenue.venuemanagement.service;
 
 import com.sportsvenue.venuemanagement.model.Venue;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface VenueService {
     List<Venue> getAllVenues();
@@ -14,5 +16,12 @@ public interface VenueService {
 
     void deleteVenue(Long id);
 
-    List<Venue> searchVenues(String name, String location, String sportType);
+    /**
+     * The best {@code limit} venues matching all given filters, served from
+     * the in-memory search index. {@code q} is free text matched against
+     * every indexed field; small typos are tolerated.
+     */
+    List<Venue> searchVenues(String q, String name, String location, String sportType, int limit);
+
+    Map<String, Object> getManagerAnalytics(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,132 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import com.sportsvenue.venuemanagement.repository.WaitlistEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of waiting waitlist entries, keyed by (venue, court, date).
+ * A released slot only looks at the waiters of its own court-day, already
+ * sorted by priority and join order, so promotion cost does not grow with the
+ * size of the waitlist table.
+ */
+@Component
+public class WaitlistIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistIndex.class);
+
+    private static final Comparator<Waiter> PROMOTION_ORDER = Comparator
+            .comparingInt(Waiter::priority).reversed()
+            .thenComparingLong(Waiter::entryId);
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final Map<CourtDayKey, NavigableSet<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final Map<Long, Waiter> waitersById = new ConcurrentHashMap<>();
+
+    public WaitlistIndex(WaitlistEntryRepository waitlistEntryRepository) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        waiters.clear();
+        waitersById.clear();
+        List<Object[]> rows = waitlistEntryRepository.findWaitingFrom(LocalDate.now());
+        for (Object[] row : rows) {
+            add(new Waiter((Long) row[0], new CourtDayKey((Long) row[1], (Integer) row[2], (LocalDate) row[3]),
+                    toMinute((LocalTime) row[4]), toMinute((LocalTime) row[5]), (Integer) row[6]));
+        }
+        logger.info("Waitlist index loaded {} waiters across {} court-days", rows.size(), waiters.size());
+    }
+
+    /**
+     * Waiters of the court-day in promotion order. The view is live and
+     * weakly consistent, so it can be walked while entries come and go.
+     */
+    public Iterable<Waiter> waitersFor(CourtDayKey key) {
+        NavigableSet<Waiter> courtDay = waiters.get(key);
+        return courtDay != null ? courtDay : List.of();
+    }
+
+    public int countFor(CourtDayKey key) {
+        NavigableSet<Waiter> courtDay = waiters.get(key);
+        return courtDay != null ? courtDay.size() : 0;
+    }
+
+    /**
+     * Adds the entry once the surrounding transaction commits.
+     */
+    public void record(WaitlistEntry entry) {
+        Waiter waiter = new Waiter(entry.getId(),
+                new CourtDayKey(entry.getVenueId(), entry.getCourtNumber(), entry.getBookingDate()),
+                toMinute(entry.getStartTime()), toMinute(entry.getEndTime()), entry.getPriority());
+        afterCommit(() -> add(waiter));
+    }
+
+    /**
+     * Removes the entry once the surrounding transaction commits.
+     */
+    public void remove(long entryId) {
+        afterCommit(() -> {
+            Waiter waiter = waitersById.remove(entryId);
+            if (waiter != null) {
+                waiters.computeIfPresent(waiter.key(), (k, courtDay) -> {
+                    courtDay.remove(waiter);
+                    return courtDay.isEmpty() ? null : courtDay;
+                });
+            }
+        });
+    }
+
+    /**
+     * Drops every court-day before the given date.
+     */
+    public void evictBefore(LocalDate date) {
+        waiters.keySet().removeIf(key -> key.date().isBefore(date));
+        waitersById.values().removeIf(waiter -> waiter.key().date().isBefore(date));
+    }
+
+    private void add(Waiter waiter) {
+        waitersById.put(waiter.entryId(), waiter);
+        waiters.compute(waiter.key(), (k, courtDay) -> {
+            NavigableSet<Waiter> target = courtDay != null ? courtDay : new ConcurrentSkipListSet<>(PROMOTION_ORDER);
+            target.add(waiter);
+            return target;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    public record Waiter(long entryId, CourtDayKey key, int startMinute, int endMinute, int priority) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.dto.WaitlistRequest;
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntry joinWaitlist(WaitlistRequest request);
+
+    void leaveWaitlist(Long entryId);
+
+    List<WaitlistEntry> getUserEntries(Long userId);
+
+    /**
+     * Moves a waiting entry ahead of (or behind) entries of lower (higher)
+     * priority. Entries join at priority 0.
+     */
+    WaitlistEntry updatePriority(Long entryId, int priority);
+
+    /**
+     * Promotes waiters of the court-day, in priority then join order, into
+     * PENDING bookings for as long as their windows are free. Returns the ids
+     * of the bookings created.
+     */
+    List<Long> promoteWaiters(CourtDayKey key);
+}
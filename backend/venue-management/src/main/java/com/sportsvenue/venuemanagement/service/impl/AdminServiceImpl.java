@@ -1,19 +1,36 @@
 package com.sportsvenue.venuemanagement.service.impl;
 
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.event.VenueChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
 import com.sportsvenue.venuemanagement.model.*;
 import com.sportsvenue.venuemanagement.repository.*;
 import com.sportsvenue.venuemanagement.service.AdminService;
+import com.sportsvenue.venuemanagement.service.AnalyticsFanOut;
+import com.sportsvenue.venuemanagement.service.BookingFactStore;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.BookingSketches;
+import com.sportsvenue.venuemanagement.service.UtilizationIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
+    private static final Set<String> DASHBOARD_SECTIONS = Set.of("users", "venues", "bookings");
+
     @Autowired
     private UserRepository userRepository;
 
@@ -29,6 +46,30 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UtilizationIndex utilizationIndex;
+
+    @Autowired
+    private AnalyticsFanOut analyticsFanOut;
+
+    @Autowired
+    private BookingFactStore bookingFactStore;
+
+    @Autowired
+    private BookingSketches bookingSketches;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${analytics.fanout.deadline-ms:2000}")
+    private long analyticsDeadlineMs;
+
     // User Management
     @Override
     public List<User> getAllUsers() {
@@ -63,45 +104,195 @@ public class AdminServiceImpl implements AdminService {
     // Analytics
     @Override
     public Map<String, Object> getUserAnalytics() {
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalUsers", userRepository.count());
-        analytics.put("activeUsers", userRepository.countByEnabled(true));
-        analytics.put("userRoles", userRepository.findAll().stream()
-                .collect(Collectors.groupingBy(User::getRole, Collectors.counting())));
-        return analytics;
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("totalUsers", userRepository::count);
+        parts.put("activeUsers", () -> userRepository.countByEnabled(true));
+        parts.put("userRoles", () -> toCounts(userRepository.countGroupedByRole()));
+        return fanOut(parts);
     }
 
     @Override
     public Map<String, Object> getVenueAnalytics() {
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalVenues", venueRepository.count());
-        analytics.put("totalBookings", bookingRepository.count());
-        analytics.put("totalRevenue", paymentRepository.findAll().stream()
-                .mapToDouble(Payment::getAmount)
-                .sum());
-        return analytics;
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("totalVenues", venueRepository::count);
+        parts.put("totalBookings", bookingRepository::count);
+        parts.put("totalRevenue", () -> revenueRollupRepository.sumAllCents() / 100.0);
+        parts.put("revenueTrend", () -> revenueTrend(calculateRevenueByMonth()));
+        return fanOut(parts);
     }
 
     @Override
     public Map<String, Object> getBookingAnalytics() {
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalBookings", bookingRepository.count());
-        analytics.put("bookingStatus", bookingRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Booking::getStatus, Collectors.counting())));
-        analytics.put("averageBookingDuration", calculateAverageBookingDuration());
-        return analytics;
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("totalBookings", bookingRepository::count);
+        parts.put("bookingStatus", () -> toCounts(bookingRepository.countAndSumByStatus()));
+        parts.put("averageBookingDuration", this::calculateAverageBookingDuration);
+        return fanOut(parts);
     }
 
     @Override
     public Map<String, Object> getFinancialAnalytics() {
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalRevenue", paymentRepository.findAll().stream()
-                .mapToDouble(Payment::getAmount)
-                .sum());
-        analytics.put("paymentMethods", paymentRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Payment::getPaymentMethod, Collectors.counting())));
-        analytics.put("revenueByMonth", calculateRevenueByMonth());
-        return analytics;
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("totalRevenue", () -> revenueRollupRepository.sumAllCents() / 100.0);
+        parts.put("paymentMethods", () -> toCounts(paymentRepository.countByPaymentMethod()));
+        parts.put("revenueByMonth", this::calculateRevenueByMonth);
+        return fanOut(parts);
+    }
+
+    /**
+     * The requested dashboard sections trimmed, lower-cased, deduplicated
+     * and sorted. Blank names are ignored; unknown ones are rejected.
+     */
+    @Override
+    public SortedSet<String> normalizeDashboardSections(Collection<String> sections) {
+        SortedSet<String> normalized = new TreeSet<>();
+        for (String section : sections) {
+            String name = section.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!DASHBOARD_SECTIONS.contains(name)) {
+                throw new BadRequestException("Unknown dashboard section: " + section + ", expected one of "
+                        + DASHBOARD_SECTIONS);
+            }
+            normalized.add(name);
+        }
+        if (normalized.isEmpty()) {
+            throw new BadRequestException("At least one dashboard section is required, expected one of "
+                    + DASHBOARD_SECTIONS);
+        }
+        return normalized;
+    }
+
+    /**
+     * The users, venues and bookings analytics in one response. Each
+     * underlying query runs once, even when several sections use it, and
+     * only for the sections asked for.
+     */
+    @Override
+    public Map<String, Object> getDashboard(Set<String> requested) {
+        SortedSet<String> sections = normalizeDashboardSections(requested);
+        boolean users = sections.contains("users");
+        boolean venues = sections.contains("venues");
+        boolean bookings = sections.contains("bookings");
+
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        if (users) {
+            parts.put("userCount", userRepository::count);
+            parts.put("activeUsers", () -> userRepository.countByEnabled(true));
+            parts.put("userRoles", () -> toCounts(userRepository.countGroupedByRole()));
+        }
+        if (venues) {
+            parts.put("venueCount", venueRepository::count);
+            parts.put("revenueCents", revenueRollupRepository::sumAllCents);
+            parts.put("revenueByMonth", this::calculateRevenueByMonth);
+        }
+        if (venues || bookings) {
+            parts.put("bookingsByStatus", bookingRepository::countAndSumByStatus);
+        }
+        Map<String, Object> results = fanOut(parts);
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        if (users) {
+            Map<String, Object> section = new LinkedHashMap<>();
+            putIfPresent(section, "totalUsers", results.get("userCount"));
+            putIfPresent(section, "activeUsers", results.get("activeUsers"));
+            putIfPresent(section, "userRoles", results.get("userRoles"));
+            dashboard.put("users", section);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> statusRows = (List<Object[]>) results.get("bookingsByStatus");
+        Map<Object, Long> bookingStatus = statusRows != null ? toCounts(statusRows) : null;
+        Long totalBookings = null;
+        double bookedAmount = 0;
+        if (statusRows != null) {
+            totalBookings = 0L;
+            for (Object[] row : statusRows) {
+                totalBookings += (Long) row[1];
+                bookedAmount += ((Number) row[2]).doubleValue();
+            }
+        }
+
+        if (venues) {
+            Map<String, Object> section = new LinkedHashMap<>();
+            putIfPresent(section, "totalVenues", results.get("venueCount"));
+            putIfPresent(section, "totalBookings", totalBookings);
+            Long revenueCents = (Long) results.get("revenueCents");
+            putIfPresent(section, "totalRevenue", revenueCents != null ? revenueCents / 100.0 : null);
+            @SuppressWarnings("unchecked")
+            Map<String, Double> revenueByMonth = (Map<String, Double>) results.get("revenueByMonth");
+            if (revenueByMonth != null) {
+                section.put("revenueTrend", revenueTrend(revenueByMonth));
+            }
+            dashboard.put("venues", section);
+        }
+        if (bookings) {
+            Map<String, Object> section = new LinkedHashMap<>();
+            putIfPresent(section, "totalBookings", totalBookings);
+            putIfPresent(section, "bookingStatus", bookingStatus);
+            if (bookingStatus != null) {
+                section.put("pendingBookings", bookingStatus.getOrDefault(BookingStatus.PENDING, 0L));
+                section.put("completedBookings", bookingStatus.getOrDefault(BookingStatus.COMPLETED, 0L));
+                section.put("averageBookingValue", totalBookings > 0 ? bookedAmount / totalBookings : 0.0);
+            }
+            section.put("averageBookingDuration", calculateAverageBookingDuration());
+            dashboard.put("bookings", section);
+        }
+        if (results.containsKey("partial")) {
+            dashboard.put("partial", true);
+            dashboard.put("missing", results.get("missing"));
+        }
+        return dashboard;
+    }
+
+    @Override
+    public Map<String, Object> getUtilizationAnalytics(Long venueId, LocalDate from, LocalDate to) {
+        List<Venue> venues = venueId != null ? List.of(getVenueById(venueId)) : venueRepository.findAll();
+        return utilizationIndex.heatmap(venues, from, to);
+    }
+
+    @Override
+    public Map<String, Object> queryBookingFacts(List<String> groupBy, LocalDate from, LocalDate to, Long venueId,
+            List<String> statuses) {
+        List<BookingFactStore.Dimension> dimensions = new ArrayList<>();
+        for (String dimension : groupBy) {
+            try {
+                dimensions.add(BookingFactStore.Dimension.valueOf(dimension.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown dimension: " + dimension + ", expected one of "
+                        + Arrays.toString(BookingFactStore.Dimension.values()));
+            }
+        }
+        Set<BookingStatus> statusFilter = EnumSet.noneOf(BookingStatus.class);
+        if (statuses != null) {
+            for (String status : statuses) {
+                try {
+                    statusFilter.add(BookingStatus.valueOf(status.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestException("Invalid booking status: " + status);
+                }
+            }
+        }
+        return bookingFactStore.query(dimensions, from, to, venueId, statusFilter, venueRepository.findAll());
+    }
+
+    @Override
+    public Map<String, Object> getUniquePlayers(Long venueId, YearMonth from, YearMonth to) {
+        if (venueId != null) {
+            getVenueById(venueId);
+        }
+        return bookingSketches.uniquePlayers(venueId, from, to);
+    }
+
+    @Override
+    public Map<String, Object> getTopVenues(YearMonth month, int limit) {
+        return bookingSketches.topVenues(month, checkLimit(limit));
+    }
+
+    @Override
+    public Map<String, Object> getTopSlots(YearMonth month, int limit) {
+        return bookingSketches.topSlots(month, checkLimit(limit));
     }
 
     // Venue Management
@@ -118,73 +309,110 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     public Venue createVenue(Venue venue) {
-        return venueRepository.save(venue);
+        Venue saved = venueRepository.save(venue);
+        eventPublisher.publishEvent(VenueChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     public Venue updateVenue(Long id, Venue venue) {
         Venue existingVenue = getVenueById(id);
         venue.setId(id);
-        return venueRepository.save(venue);
+        Venue saved = venueRepository.save(venue);
+        eventPublisher.publishEvent(VenueChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
     public void deleteVenue(Long id) {
         venueRepository.deleteById(id);
+        eventPublisher.publishEvent(VenueChangedEvent.deleted(id));
     }
 
     // Booking Management
     @Override
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    public BookingPage getBookings(BookingFilter filter, String cursor, int limit) {
+        return bookingService.findBookings(filter, cursor, limit);
     }
 
     @Override
     public Booking getBookingById(Long id) {
-        return bookingRepository.findById(id)
+        return bookingRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
     }
 
     @Override
     public Booking updateBookingStatus(Long id, String status) {
-        Booking booking = getBookingById(id);
-        booking.setStatus(BookingStatus.valueOf(status.toUpperCase()));
-        return bookingRepository.save(booking);
+        return bookingService.updateBookingStatus(id, BookingStatus.valueOf(status.toUpperCase()));
     }
 
     @Override
     public void deleteBooking(Long id) {
-        bookingRepository.deleteById(id);
+        bookingService.deleteBooking(id);
     }
 
     // Financial Management
     @Override
     public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+        return paymentRepository.findAllWithDetails();
     }
 
     @Override
     public Payment getPaymentById(Long id) {
-        return paymentRepository.findById(id)
+        return paymentRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
     }
 
+    /**
+     * Revenue between two ISO dates, inclusive, summed from the daily rollup
+     * rather than the payment table.
+     */
     @Override
     public Map<String, Object> getRevenueReport(String startDate, String endDate) {
-        // Implementation for date range revenue report
-        return new HashMap<>();
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(startDate);
+            to = LocalDate.parse(endDate);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("startDate and endDate must be ISO dates (yyyy-MM-dd)");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("endDate must not be before startDate");
+        }
+
+        long totalCents = 0;
+        long totalPayments = 0;
+        Map<String, Long> centsByMonth = new TreeMap<>();
+        Map<Long, Long> centsByVenue = new HashMap<>();
+        Map<String, Long> centsByMethod = new HashMap<>();
+        for (Object[] row : revenueRollupRepository.sumByMonthVenueAndMethod(from, to)) {
+            long cents = ((Number) row[5]).longValue();
+            totalCents += cents;
+            totalPayments += ((Number) row[4]).longValue();
+            centsByMonth.merge(monthKey(row[0], row[1]), cents, Long::sum);
+            centsByVenue.merge((Long) row[2], cents, Long::sum);
+            centsByMethod.merge((String) row[3], cents, Long::sum);
+        }
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("startDate", from.toString());
+        report.put("endDate", to.toString());
+        report.put("totalRevenue", totalCents / 100.0);
+        report.put("totalPayments", totalPayments);
+        report.put("revenueByMonth", toAmounts(centsByMonth));
+        report.put("revenueByVenue", toAmounts(centsByVenue));
+        report.put("revenueByMethod", toAmounts(centsByMethod));
+        return report;
     }
 
     @Override
     public Map<String, Object> getPaymentAnalytics() {
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("totalPayments", paymentRepository.count());
-        analytics.put("totalAmount", paymentRepository.findAll().stream()
-                .mapToDouble(Payment::getAmount)
-                .sum());
-        analytics.put("paymentStatus", paymentRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Payment::getStatus, Collectors.counting())));
-        return analytics;
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("totalPayments", paymentRepository::count);
+        parts.put("totalAmount", paymentRepository::sumAmount);
+        parts.put("paymentStatus", () -> toCounts(paymentRepository.countByStatus()));
+        return fanOut(parts);
     }
 
     // System Settings
@@ -204,8 +432,68 @@ public class AdminServiceImpl implements AdminService {
         return 0.0;
     }
 
+    /**
+     * Revenue for each of the last twelve months, oldest first, keyed "yyyy-MM".
+     */
     private Map<String, Double> calculateRevenueByMonth() {
-        // Implementation for calculating revenue by month
-        return new HashMap<>();
+        YearMonth current = YearMonth.now();
+        Map<String, Long> centsByMonth = new TreeMap<>();
+        for (int i = 11; i >= 0; i--) {
+            centsByMonth.put(current.minusMonths(i).toString(), 0L);
+        }
+        for (Object[] row : revenueRollupRepository.sumByMonth(current.minusMonths(11).atDay(1),
+                current.atEndOfMonth())) {
+            centsByMonth.merge(monthKey(row[0], row[1]), ((Number) row[2]).longValue(), Long::sum);
+        }
+        return toAmounts(centsByMonth);
+    }
+
+    private static List<Map<String, Object>> revenueTrend(Map<String, Double> revenueByMonth) {
+        List<Map<String, Object>> revenueTrend = new ArrayList<>();
+        revenueByMonth.forEach((month, revenue) -> {
+            Map<String, Object> point = new HashMap<>();
+            point.put("month", month);
+            point.put("revenue", revenue);
+            revenueTrend.add(point);
+        });
+        return revenueTrend;
+    }
+
+    private static void putIfPresent(Map<String, Object> section, String key, Object value) {
+        if (value != null) {
+            section.put(key, value);
+        }
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new BadRequestException("limit must be between 1 and 100");
+        }
+        return limit;
+    }
+
+    private Map<String, Object> fanOut(Map<String, Supplier<?>> parts) {
+        return analyticsFanOut.run(Duration.ofMillis(analyticsDeadlineMs), parts);
+    }
+
+    /**
+     * Turns grouped (key, count, ...) rows into a key to count map.
+     */
+    private static Map<Object, Long> toCounts(List<Object[]> rows) {
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            counts.put(row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static String monthKey(Object year, Object month) {
+        return YearMonth.of(((Number) year).intValue(), ((Number) month).intValue()).toString();
+    }
+
+    private static <K> Map<K, Double> toAmounts(Map<K, Long> cents) {
+        Map<K, Double> amounts = new LinkedHashMap<>();
+        cents.forEach((key, value) -> amounts.put(key, value / 100.0));
+        return amounts;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingTicket;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
+import com.sportsvenue.venuemanagement.service.BookingIntakeService;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts booking requests into a bounded in-memory queue and resolves them
+ * off the request thread.
+ *
+ * Every venue has at most one writer draining its queue at a time, so requests
+ * for a venue are resolved strictly in arrival order. A writer takes up to
+ * {@code booking.intake.group-size} queued requests and commits them with one
+ * transaction and one batch insert, so a burst costs a handful of connections
+ * instead of one per HTTP request. Tickets are kept in memory and dropped a
+ * while after they are resolved, or sooner, oldest first, once more than
+ * {@code booking.intake.max-tickets} are held.
+ */
+@Service
+public class BookingIntakeServiceImpl implements BookingIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingIntakeServiceImpl.class);
+
+    private final BookingService bookingService;
+    private final int capacity;
+    private final int groupSize;
+    private final long ticketTtlMinutes;
+    private final int maxTickets;
+    private final ExecutorService writers;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, VenueQueue> venueQueues = new ConcurrentHashMap<>();
+    private final Map<String, BookingTicket> tickets = new ConcurrentHashMap<>();
+
+    public BookingIntakeServiceImpl(BookingService bookingService,
+            @Value("${booking.intake.capacity:5000}") int capacity,
+            @Value("${booking.intake.group-size:100}") int groupSize,
+            @Value("${booking.intake.writer-threads:4}") int writerThreads,
+            @Value("${booking.intake.ticket-ttl-minutes:30}") long ticketTtlMinutes,
+            @Value("${booking.intake.max-tickets:50000}") int maxTickets) {
+        if (maxTickets <= capacity) {
+            throw new IllegalArgumentException("booking.intake.max-tickets must exceed booking.intake.capacity");
+        }
+        this.bookingService = bookingService;
+        this.capacity = capacity;
+        this.groupSize = groupSize;
+        this.ticketTtlMinutes = ticketTtlMinutes;
+        this.maxTickets = maxTickets;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "booking-intake-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public BookingTicket submit(BookingIntakeRequest request) {
+        if (request.getVenueId() == null || request.getUserId() == null || request.getBookingDate() == null
+                || request.getStartTime() == null || request.getEndTime() == null
+                || request.getCourtNumber() == null || request.getTotalAmount() == null) {
+            throw new BadRequestException(
+                    "venueId, userId, bookingDate, startTime, endTime, courtNumber and totalAmount are required");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new BadRequestException("startTime must be before endTime");
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            throw new IllegalStateException("Booking intake queue is full");
+        }
+
+        if (tickets.size() >= maxTickets) {
+            evictOldestResolvedTickets();
+        }
+        BookingTicket ticket = new BookingTicket(UUID.randomUUID().toString(), BookingTicket.QUEUED, null, null,
+                LocalDateTime.now(), null);
+        tickets.put(ticket.getTicketId(), ticket);
+
+        VenueQueue venueQueue = venueQueues.computeIfAbsent(request.getVenueId(), id -> new VenueQueue());
+        venueQueue.pending.add(new QueuedRequest(ticket.getTicketId(), request));
+        schedule(venueQueue);
+        return copy(ticket);
+    }
+
+    @Override
+    public BookingTicket getTicket(String ticketId) {
+        BookingTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw new ResourceNotFoundException("Ticket not found with id: " + ticketId);
+        }
+        return copy(ticket);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.intake.ticket-sweep-interval-ms:60000}")
+    public void evictResolvedTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ticketTtlMinutes);
+        tickets.values().removeIf(ticket -> ticket.getResolvedAt() != null && ticket.getResolvedAt().isBefore(cutoff));
+    }
+
+    /**
+     * Makes room for new tickets by dropping resolved ones before their time,
+     * oldest first. Unresolved tickets never exceed the queue capacity, which
+     * is below the ticket limit, so there is always enough to drop.
+     */
+    private void evictOldestResolvedTickets() {
+        evictResolvedTickets();
+        int excess = tickets.size() - maxTickets + 1;
+        if (excess <= 0) {
+            return;
+        }
+        tickets.values().stream()
+                .filter(ticket -> ticket.getResolvedAt() != null)
+                .sorted(Comparator.comparing(BookingTicket::getResolvedAt))
+                .limit(excess)
+                .map(BookingTicket::getTicketId)
+                .toList()
+                .forEach(tickets::remove);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void schedule(VenueQueue venueQueue) {
+        if (venueQueue.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(venueQueue));
+        }
+    }
+
+    /**
+     * Commits one group, then yields the writer thread to other venues. The
+     * flag is released before the emptiness re-check so a request queued in
+     * between is never stranded.
+     */
+    private void drain(VenueQueue venueQueue) {
+        List<QueuedRequest> group = new ArrayList<>(groupSize);
+        QueuedRequest next;
+        while (group.size() < groupSize && (next = venueQueue.pending.poll()) != null) {
+            group.add(next);
+        }
+        try {
+            if (!group.isEmpty()) {
+                commit(group);
+            }
+        } finally {
+            queued.addAndGet(-group.size());
+            venueQueue.draining.set(false);
+            if (!venueQueue.pending.isEmpty()) {
+                schedule(venueQueue);
+            }
+        }
+    }
+
+    private void commit(List<QueuedRequest> group) {
+        List<GroupBookingOutcome> outcomes;
+        try {
+            outcomes = bookingService.createBookingGroup(group.stream().map(QueuedRequest::request).toList());
+        } catch (RuntimeException e) {
+            logger.error("Booking intake group of {} failed", group.size(), e);
+            group.forEach(item -> resolve(item.ticketId(), null, "Booking could not be processed"));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            GroupBookingOutcome outcome = outcomes.get(i);
+            resolve(group.get(i).ticketId(), outcome.getBookingId(), outcome.getRejection());
+        }
+    }
+
+    private void resolve(String ticketId, Long bookingId, String message) {
+        tickets.computeIfPresent(ticketId, (id, ticket) -> new BookingTicket(id,
+                bookingId != null ? BookingTicket.BOOKED : BookingTicket.REJECTED, bookingId, message,
+                ticket.getSubmittedAt(), LocalDateTime.now()));
+    }
+
+    private static BookingTicket copy(BookingTicket ticket) {
+        return new BookingTicket(ticket.getTicketId(), ticket.getStatus(), ticket.getBookingId(),
+                ticket.getMessage(), ticket.getSubmittedAt(), ticket.getResolvedAt());
+    }
+
+    private record QueuedRequest(String ticketId, BookingIntakeRequest request) {
+    }
+
+    private static final class VenueQueue {
+        final Queue<QueuedRequest> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -1,19 +1,45 @@
 package com.sportsvenue.venuemanagement.service.impl;
 
+import com.sportsvenue.venuemanagement.dto.BatchBookingResult;
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingOccurrence;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
+import com.sportsvenue.venuemanagement.dto.FreeCourtCandidate;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.dto.TimeSlotAvailability;
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.SlotReleasedEvent;
 import com.sportsvenue.venuemanagement.model.Booking;
 import com.sportsvenue.venuemanagement.model.BookingStatus;
 import com.sportsvenue.venuemanagement.model.User;
 import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
 import com.sportsvenue.venuemanagement.repository.BookingRepository;
 import com.sportsvenue.venuemanagement.repository.UserRepository;
 import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
 import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
 import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
+import com.sportsvenue.venuemanagement.util.BookingCursor;
+import com.sportsvenue.venuemanagement.util.IntervalTree;
+import com.sportsvenue.venuemanagement.util.VenueHours;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,82 +48,122 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    // the smallest DATE MySQL stores, bound as fromDate when the filter has none
+    private static final LocalDate EARLIEST_BOOKING_DATE = LocalDate.of(1000, 1, 1);
+    private static final List<BookingStatus> ALL_STATUSES = List.of(BookingStatus.values());
+    private static final int MAX_FREE_COURTS = 100;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     private final BookingRepository bookingRepository;
+    private final BookingBatchRepository bookingBatchRepository;
     private final UserRepository userRepository;
     private final VenueRepository venueRepository;
+    private final CourtOccupancyIndex occupancyIndex;
+    private final BookingLockManager bookingLocks;
+    private final BookingCounterStore bookingCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int slotMinutes;
+    private final int maxRecurringOccurrences;
+    private final long holdTtlMinutes;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
+            BookingBatchRepository bookingBatchRepository,
             UserRepository userRepository,
-            VenueRepository venueRepository) {
+            VenueRepository venueRepository,
+            CourtOccupancyIndex occupancyIndex,
+            BookingLockManager bookingLocks,
+            BookingCounterStore bookingCounters,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${booking.slot-minutes:60}") int slotMinutes,
+            @Value("${booking.recurring.max-occurrences:104}") int maxRecurringOccurrences,
+            @Value("${booking.hold.ttl-minutes:15}") long holdTtlMinutes) {
         this.bookingRepository = bookingRepository;
+        this.bookingBatchRepository = bookingBatchRepository;
         this.userRepository = userRepository;
         this.venueRepository = venueRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.bookingLocks = bookingLocks;
+        this.bookingCounters = bookingCounters;
+        this.eventPublisher = eventPublisher;
+        this.slotMinutes = slotMinutes;
+        this.maxRecurringOccurrences = maxRecurringOccurrences;
+        this.holdTtlMinutes = holdTtlMinutes;
     }
 
     @Override
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    @Transactional(readOnly = true)
+    public BookingPage findBookings(BookingFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        BookingCursor after = BookingCursor.decode(cursor);
+        // toDate moves the seek position and fromDate and status are always bound, so no predicate is optional
+        if (filter.getToDate() != null && filter.getToDate().isBefore(after.bookingDate())) {
+            after = new BookingCursor(filter.getToDate(), Long.MAX_VALUE);
+        }
+        LocalDate fromDate = filter.getFromDate() != null ? filter.getFromDate() : EARLIEST_BOOKING_DATE;
+        List<BookingStatus> statuses = filter.getStatus() != null ? List.of(filter.getStatus()) : ALL_STATUSES;
+        // one extra row tells whether there is a next page
+        List<BookingSummary> rows = findPage(filter, after, fromDate, statuses, PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) {
+            return new BookingPage(rows, null);
+        }
+        List<BookingSummary> items = rows.subList(0, limit);
+        BookingSummary last = items.get(limit - 1);
+        return new BookingPage(items, new BookingCursor(last.getBookingDate(), last.getId()).encode());
     }
 
-    @Override
-    public Map<String, Object> getAdminBookingStats() {
-        List<Booking> allBookings = bookingRepository.findAll();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalBookings", allBookings.size());
-        stats.put("activeBookings", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
-                .count());
-        stats.put("pendingBookings", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.PENDING)
-                .count());
-        stats.put("totalRevenue", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
-                .mapToDouble(Booking::getTotalAmount)
-                .sum());
-
-        return stats;
+    /**
+     * Runs the listing query written for the filter's shape, so each one
+     * seeks along the index that matches its equality filters.
+     */
+    private List<BookingSummary> findPage(BookingFilter filter, BookingCursor after, LocalDate fromDate,
+            List<BookingStatus> statuses, Pageable page) {
+        Long userId = filter.getUserId();
+        Long venueId = filter.getVenueId();
+        Long managerId = filter.getManagerId();
+        if (managerId != null) {
+            if (userId != null) {
+                throw new BadRequestException("userId and managerId cannot be combined");
+            }
+            return venueId != null
+                    ? bookingRepository.findManagerVenuePageAfter(managerId, venueId, after.bookingDate(), after.id(),
+                            fromDate, statuses, page)
+                    : bookingRepository.findManagerPageAfter(managerId, after.bookingDate(), after.id(), fromDate,
+                            statuses, page);
+        }
+        if (userId != null && venueId != null) {
+            return bookingRepository.findUserVenuePageAfter(userId, venueId, after.bookingDate(), after.id(),
+                    fromDate, statuses, page);
+        }
+        if (userId != null) {
+            return bookingRepository.findUserPageAfter(userId, after.bookingDate(), after.id(), fromDate, statuses,
+                    page);
+        }
+        if (venueId != null) {
+            return bookingRepository.findVenuePageAfter(venueId, after.bookingDate(), after.id(), fromDate, statuses,
+                    page);
+        }
+        return bookingRepository.findPageAfter(after.bookingDate(), after.id(), fromDate, statuses, page);
     }
 
     @Override
-    public Map<String, Object> getManagerBookingStats() {
-        List<Booking> allBookings = bookingRepository.findAll();
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalBookings", allBookings.size());
-        stats.put("activeBookings", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
-                .count());
-        stats.put("pendingBookings", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.PENDING)
-                .count());
-        stats.put("totalRevenue", allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
-                .mapToDouble(Booking::getTotalAmount)
-                .sum());
-
-        // Add venue-specific stats
-        Map<Long, Long> bookingsPerVenue = allBookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getVenue().getId(), Collectors.counting()));
-        stats.put("bookingsPerVenue", bookingsPerVenue);
-
-        return stats;
+    public Map<String, Object> getAdminBookingStats() {
+        return bookingCounters.adminStats();
     }
 
     @Override
-    public List<Booking> getManagerBookings(Long managerId) {
-        return bookingRepository.findByVenueManagerId(managerId);
+    public Map<String, Object> getManagerBookingStats() {
+        return bookingCounters.managerStats();
     }
 
     @Override
     public Booking createBooking(Long venueId, Long userId, LocalDate bookingDate,
             LocalTime startTime, LocalTime endTime, Integer courtNumber,
             Double totalAmount) {
-        // Check if the court is available
-        if (!isCourtAvailable(venueId, bookingDate, startTime, endTime, courtNumber)) {
-            throw new IllegalStateException("Court is not available for the selected time slot");
-        }
+        claimCourt(venueId, bookingDate, startTime, endTime, courtNumber);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
@@ -105,6 +171,189 @@ public class BookingServiceImpl implements BookingService {
         Venue venue = venueRepository.findById(venueId)
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
 
+        Booking booking = newPendingBooking(venue, user, bookingDate, startTime, endTime, courtNumber,
+                totalAmount, LocalDateTime.now().plusMinutes(holdTtlMinutes));
+
+        Booking savedBooking = bookingRepository.save(booking);
+        occupancyIndex.record(savedBooking);
+        publishStatusChange(savedBooking, null);
+        return savedBooking;
+    }
+
+    @Override
+    public BatchBookingResult createRecurringBookings(Long venueId, Long userId, LocalDate firstDate,
+            LocalTime startTime, LocalTime endTime, Integer courtNumber,
+            Double totalAmount, int occurrences, int intervalWeeks) {
+        if (occurrences < 1 || occurrences > maxRecurringOccurrences) {
+            throw new BadRequestException("Occurrences must be between 1 and " + maxRecurringOccurrences);
+        }
+        if (intervalWeeks < 1) {
+            throw new BadRequestException("Interval must be at least one week");
+        }
+        if (venueId == null || userId == null || courtNumber == null) {
+            throw new BadRequestException("venueId, userId and courtNumber are required");
+        }
+        if (firstDate == null || startTime == null || endTime == null) {
+            throw new BadRequestException("firstDate, startTime and endTime are required");
+        }
+        if (!startTime.isBefore(endTime)) {
+            throw new BadRequestException("startTime must be before endTime");
+        }
+
+        List<LocalDate> dates = new ArrayList<>(occurrences);
+        List<CourtDayKey> keys = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            LocalDate date = firstDate.plusWeeks((long) i * intervalWeeks);
+            dates.add(date);
+            keys.add(new CourtDayKey(venueId, courtNumber, date));
+        }
+        bookingLocks.lockForTransaction(keys);
+
+        // One range query covers every occurrence of the series
+        Map<LocalDate, List<Object[]>> existing = bookingRepository
+                .findActiveSlotsForCourtBetween(venueId, courtNumber, dates.get(0), dates.get(dates.size() - 1),
+                        LocalDateTime.now())
+                .stream()
+                .collect(Collectors.groupingBy(row -> (LocalDate) row[0]));
+
+        List<BookingOccurrence> result = new ArrayList<>(occurrences);
+        int conflicts = 0;
+        for (LocalDate date : dates) {
+            boolean conflict = existing.getOrDefault(date, List.of()).stream()
+                    .anyMatch(row -> ((LocalTime) row[1]).isBefore(endTime) && ((LocalTime) row[2]).isAfter(startTime));
+            if (conflict) {
+                conflicts++;
+            }
+            result.add(new BookingOccurrence(date, startTime, endTime, courtNumber, null, conflict));
+        }
+        if (conflicts > 0) {
+            return new BatchBookingResult(false, conflicts, result);
+        }
+
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        if (!venueRepository.existsById(venueId)) {
+            throw new ResourceNotFoundException("Venue not found with id: " + venueId);
+        }
+        User user = userRepository.getReferenceById(userId);
+        Venue venue = venueRepository.getReferenceById(venueId);
+
+        // The whole series is held until paid, like a single booking
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plusMinutes(holdTtlMinutes);
+        List<Booking> bookings = new ArrayList<>(occurrences);
+        for (LocalDate date : dates) {
+            bookings.add(newPendingBooking(venue, user, date, startTime, endTime, courtNumber, totalAmount,
+                    holdExpiresAt));
+        }
+        bookingBatchRepository.insertAll(bookings);
+
+        for (int i = 0; i < bookings.size(); i++) {
+            occupancyIndex.record(bookings.get(i));
+            publishStatusChange(bookings.get(i), null);
+            result.get(i).setBookingId(bookings.get(i).getId());
+        }
+        return new BatchBookingResult(true, 0, result);
+    }
+
+    @Override
+    public List<GroupBookingOutcome> createBookingGroup(List<BookingIntakeRequest> requests) {
+        Set<CourtDayKey> keys = new LinkedHashSet<>();
+        for (BookingIntakeRequest request : requests) {
+            keys.add(new CourtDayKey(request.getVenueId(), request.getCourtNumber(), request.getBookingDate()));
+        }
+        bookingLocks.lockForTransaction(keys);
+
+        // Court-days the index cannot answer for are read from the database, as in isCourtAvailable
+        LocalDateTime now = LocalDateTime.now();
+        Map<CourtDayKey, IntervalTree> dbSchedules = new HashMap<>();
+        for (CourtDayKey key : keys) {
+            if (!bookingLocks.isDbGuardEnabled() && occupancyIndex.covers(key.date())) {
+                continue;
+            }
+            IntervalTree schedule = new IntervalTree();
+            long slotId = 0;
+            for (Object[] row : bookingRepository.findActiveSlotsForCourtBetween(key.venueId(),
+                    key.courtNumber(), key.date(), key.date(), now)) {
+                schedule.put(slotId++, VenueHours.toMinute((LocalTime) row[1]),
+                        VenueHours.toMinute((LocalTime) row[2]), IntervalTree.NEVER_EXPIRES);
+            }
+            dbSchedules.put(key, schedule);
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Map<Long, Venue> venues = new HashMap<>();
+        userRepository.findAllById(requests.stream().map(BookingIntakeRequest::getUserId).toList())
+                .forEach(user -> userIds.add(user.getId()));
+        venueRepository.findAllById(requests.stream().map(BookingIntakeRequest::getVenueId).toList())
+                .forEach(venue -> venues.put(venue.getId(), venue));
+
+        // Requests win in arrival order; later ones must also avoid earlier winners of this group
+        Map<CourtDayKey, IntervalTree> accepted = new HashMap<>();
+        LocalDateTime holdExpiresAt = now.plusMinutes(holdTtlMinutes);
+        List<GroupBookingOutcome> outcomes = new ArrayList<>(requests.size());
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingIntakeRequest request = requests.get(i);
+            if (!userIds.contains(request.getUserId())) {
+                outcomes.add(GroupBookingOutcome.rejected("User not found with id: " + request.getUserId()));
+                continue;
+            }
+            Venue venue = venues.get(request.getVenueId());
+            if (venue == null) {
+                outcomes.add(GroupBookingOutcome.rejected("Venue not found with id: " + request.getVenueId()));
+                continue;
+            }
+            // One bad request must not fail the batch insert, and with it every other request of the group
+            if (request.getCourtNumber() < 1 || request.getCourtNumber() > venue.getTotalCourts()) {
+                outcomes.add(GroupBookingOutcome.rejected("Court number must be between 1 and "
+                        + venue.getTotalCourts()));
+                continue;
+            }
+            if (request.getTotalAmount() == null) {
+                outcomes.add(GroupBookingOutcome.rejected("totalAmount is required"));
+                continue;
+            }
+            CourtDayKey key = new CourtDayKey(request.getVenueId(), request.getCourtNumber(),
+                    request.getBookingDate());
+            int start = VenueHours.toMinute(request.getStartTime());
+            int end = VenueHours.toMinute(request.getEndTime());
+            IntervalTree dbSchedule = dbSchedules.get(key);
+            boolean taken = dbSchedule != null
+                    ? dbSchedule.overlaps(start, end, Long.MIN_VALUE)
+                    : occupancyIndex.hasConflict(key.venueId(), key.courtNumber(), key.date(), start, end);
+            IntervalTree groupSchedule = accepted.computeIfAbsent(key, k -> new IntervalTree());
+            if (taken) {
+                outcomes.add(GroupBookingOutcome.rejected("Court is already booked for the selected time slot"));
+                continue;
+            }
+            if (groupSchedule.overlaps(start, end, Long.MIN_VALUE)) {
+                outcomes.add(GroupBookingOutcome.rejected(
+                        "Court was taken by an earlier request for the selected time slot"));
+                continue;
+            }
+            groupSchedule.put(i, start, end, IntervalTree.NEVER_EXPIRES);
+            bookings.add(newPendingBooking(venue,
+                    userRepository.getReferenceById(request.getUserId()), request.getBookingDate(),
+                    request.getStartTime(), request.getEndTime(), request.getCourtNumber(),
+                    request.getTotalAmount(), holdExpiresAt));
+            positions.add(i);
+            outcomes.add(null);
+        }
+        bookingBatchRepository.insertAll(bookings);
+
+        for (int i = 0; i < bookings.size(); i++) {
+            occupancyIndex.record(bookings.get(i));
+            publishStatusChange(bookings.get(i), null);
+            outcomes.set(positions.get(i), GroupBookingOutcome.booked(bookings.get(i).getId()));
+        }
+        return outcomes;
+    }
+
+    private static Booking newPendingBooking(Venue venue, User user, LocalDate bookingDate,
+            LocalTime startTime, LocalTime endTime, Integer courtNumber, Double totalAmount,
+            LocalDateTime holdExpiresAt) {
         Booking booking = new Booking();
         booking.setVenue(venue);
         booking.setUser(user);
@@ -114,49 +363,220 @@ public class BookingServiceImpl implements BookingService {
         booking.setCourtNumber(courtNumber);
         booking.setTotalAmount(totalAmount);
         booking.setStatus(BookingStatus.PENDING);
-
-        return bookingRepository.save(booking);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        booking.setCreatedAt(LocalDate.now());
+        return booking;
     }
 
     @Override
     public Booking updateBookingStatus(Long bookingId, BookingStatus status) {
-        Booking booking = bookingRepository.findById(bookingId)
+        // Locked so the hold sweeper cannot cancel the booking under this change
+        Booking booking = bookingRepository.lockById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        if (status != BookingStatus.CANCELLED && !booking.holdsCourt(LocalDateTime.now())) {
+            // The court was let go, so someone else may have booked it since
+            claimCourt(booking.getVenue().getId(), booking.getBookingDate(), booking.getStartTime(),
+                    booking.getEndTime(), booking.getCourtNumber());
+        }
+        if (status == BookingStatus.PENDING && booking.getStatus() != BookingStatus.PENDING) {
+            booking.setHoldExpiresAt(LocalDateTime.now().plusMinutes(holdTtlMinutes));
+        }
+        BookingStatus previousStatus = booking.getStatus();
+        boolean releasing = status == BookingStatus.CANCELLED && previousStatus != BookingStatus.CANCELLED;
         booking.setStatus(status);
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        occupancyIndex.record(savedBooking);
+        publishStatusChange(savedBooking, previousStatus);
+        if (releasing) {
+            publishSlotReleased(savedBooking);
+        }
+        return savedBooking;
     }
 
     @Override
     public void cancelBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        occupancyIndex.record(booking);
+        publishStatusChange(booking, previousStatus);
+        if (previousStatus != BookingStatus.CANCELLED) {
+            publishSlotReleased(booking);
+        }
     }
 
     @Override
-    public List<Booking> getUserBookings(Long userId) {
-        return bookingRepository.findByUserIdWithDetails(userId);
+    public void deleteBooking(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        bookingRepository.delete(booking);
+        occupancyIndex.remove(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, booking.getStatus(), null));
+        if (booking.getStatus() != BookingStatus.CANCELLED) {
+            publishSlotReleased(booking);
+        }
+    }
+
+    /**
+     * Serializes with other writers for this court-day, then checks that the
+     * court is still free. Throws if it is not.
+     */
+    private void claimCourt(Long venueId, LocalDate date, LocalTime startTime, LocalTime endTime,
+            Integer courtNumber) {
+        bookingLocks.lockForTransaction(List.of(new CourtDayKey(venueId, courtNumber, date)));
+        boolean available = bookingLocks.isDbGuardEnabled()
+                ? bookingRepository.findConflictingBookings(venueId, date, startTime, endTime, courtNumber,
+                        LocalDateTime.now()).isEmpty()
+                : isCourtAvailable(venueId, date, startTime, endTime, courtNumber);
+        if (!available) {
+            throw new IllegalStateException("Court is not available for the selected time slot");
+        }
+    }
+
+    private void publishStatusChange(Booking booking, BookingStatus previousStatus) {
+        if (previousStatus != booking.getStatus()) {
+            eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, previousStatus, booking.getStatus()));
+        }
+    }
+
+    private void publishSlotReleased(Booking booking) {
+        eventPublisher.publishEvent(new SlotReleasedEvent(new CourtDayKey(booking.getVenue().getId(),
+                booking.getCourtNumber(), booking.getBookingDate())));
     }
 
     @Override
-    public List<Booking> getUserBookingsByUsername(String username) {
-        return bookingRepository.findByUserUsername(username);
+    public List<BookingSummary> getUserBookingsByUsername(String username) {
+        return bookingRepository.findSummariesByUsername(username);
     }
 
     @Override
-    public List<Booking> getVenueBookings(Long venueId, LocalDate date) {
-        return bookingRepository.findByVenueIdAndBookingDate(venueId, date);
+    public List<BookingSummary> getVenueBookings(Long venueId, LocalDate date) {
+        return bookingRepository.findSummariesByVenueAndDate(venueId, date);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isCourtAvailable(Long venueId, LocalDate date, LocalTime startTime,
             LocalTime endTime, Integer courtNumber) {
+        if (occupancyIndex.covers(date)) {
+            return !occupancyIndex.hasConflict(venueId, courtNumber, date, startTime, endTime);
+        }
+
         List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-                venueId, date, startTime, endTime, courtNumber);
+                venueId, date, startTime, endTime, courtNumber, LocalDateTime.now());
         return conflictingBookings.isEmpty();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimeSlotAvailability> getAvailableSlots(Long venueId, LocalDate date) {
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
+
+        // Past dates are not held in memory, so load the whole day with a single query
+        List<Object[]> daySlots = occupancyIndex.covers(date)
+                ? null
+                : bookingRepository.findActiveSlotsForVenueDate(venueId, date, LocalDateTime.now());
+
+        int opening = VenueHours.openingMinute(venue);
+        int closing = VenueHours.closingMinute(venue);
+        List<TimeSlotAvailability> grid = new ArrayList<>();
+        for (int start = opening; start + slotMinutes <= closing; start += slotMinutes) {
+            int end = start + slotMinutes;
+            List<Integer> freeCourts = new ArrayList<>();
+            for (int court = 1; court <= venue.getTotalCourts(); court++) {
+                boolean busy = daySlots == null
+                        ? occupancyIndex.hasConflict(venueId, court, date, start, end)
+                        : overlapsAny(daySlots, court, start, end);
+                if (!busy) {
+                    freeCourts.add(court);
+                }
+            }
+            grid.add(new TimeSlotAvailability(VenueHours.format(start), VenueHours.format(end),
+                    freeCourts, !freeCourts.isEmpty()));
+        }
+        return grid;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeCourtCandidate> findFreeCourts(String sportType, LocalDate date, LocalTime from, LocalTime to,
+            int durationMinutes, String location, int limit) {
+        if (durationMinutes <= 0 || durationMinutes > MINUTES_PER_DAY) {
+            throw new BadRequestException("durationMinutes must be between 1 and " + MINUTES_PER_DAY);
+        }
+        if (limit < 1 || limit > MAX_FREE_COURTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_FREE_COURTS);
+        }
+        if (!occupancyIndex.covers(date)) {
+            throw new BadRequestException("Free courts can only be searched for today or later");
+        }
+
+        int windowStart = VenueHours.toMinute(from);
+        int windowEnd = VenueHours.toMinute(to);
+        if (date.equals(LocalDate.now())) {
+            windowStart = Math.max(windowStart, VenueHours.toMinute(LocalTime.now()));
+        }
+
+        Comparator<FreeCourtCandidate> ranking = Comparator
+                .comparing(FreeCourtCandidate::getStartTime)
+                .thenComparingDouble(FreeCourtCandidate::getPrice)
+                .thenComparing(FreeCourtCandidate::getVenueId);
+        // Max-heap of the best candidates seen so far; the worst one is evicted first
+        PriorityQueue<FreeCourtCandidate> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+
+        String locationFilter = location == null || location.isBlank() ? null : location.trim();
+        for (Venue venue : venueRepository.findActiveBySportAndLocation(sportType, locationFilter)) {
+            int opening = VenueHours.openingMinute(venue);
+            int closing = Math.min(VenueHours.closingMinute(venue), windowEnd);
+            double price = venue.getPricePerHour() * durationMinutes / 60.0;
+
+            // Starts stay on the venue's slot grid
+            int first = opening;
+            if (windowStart > opening) {
+                first = opening + (windowStart - opening + slotMinutes - 1) / slotMinutes * slotMinutes;
+            }
+            // Lowest free court for each start, read from the free gaps of every court
+            Map<Integer, Integer> courtByStart = new TreeMap<>();
+            for (int court = 1; court <= venue.getTotalCourts(); court++) {
+                for (int[] gap : occupancyIndex.freeGaps(venue.getId(), court, date, first, closing, durationMinutes)) {
+                    int start = opening + (gap[0] - opening + slotMinutes - 1) / slotMinutes * slotMinutes;
+                    for (; start + durationMinutes <= gap[1]; start += slotMinutes) {
+                        courtByStart.putIfAbsent(start, court);
+                    }
+                }
+            }
+
+            for (Map.Entry<Integer, Integer> entry : courtByStart.entrySet()) {
+                int start = entry.getKey();
+                int end = start + durationMinutes;
+                best.add(new FreeCourtCandidate(venue.getId(), venue.getName(), venue.getLocation(),
+                        venue.getSportType(), entry.getValue(), LocalTime.of(start / 60, start % 60),
+                        end == 24 * 60 ? LocalTime.MAX : LocalTime.of(end / 60, end % 60), price));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<FreeCourtCandidate> candidates = new ArrayList<>(best);
+        candidates.sort(ranking);
+        return candidates;
+    }
+
+    private static boolean overlapsAny(List<Object[]> daySlots, int court, int start, int end) {
+        for (Object[] slot : daySlots) {
+            if ((Integer) slot[0] == court
+                    && VenueHours.toMinute((LocalTime) slot[1]) < end
+                    && VenueHours.toMinute((LocalTime) slot[2]) > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Booking getBookingById(Long bookingId) {
         return bookingRepository.findByIdWithDetails(bookingId)
@@ -165,10 +585,19 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public void updatePaymentInfo(Long bookingId, String paymentId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        // Locked so the hold sweeper cannot release the booking while it is confirmed
+        Booking booking = bookingRepository.lockById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+        if (!booking.isOpenHold(LocalDateTime.now())) {
+            throw new BadRequestException(booking.getStatus() == BookingStatus.PENDING
+                    ? "Booking hold has expired"
+                    : "Booking is " + booking.getStatus() + " and cannot be paid for");
+        }
+        BookingStatus previousStatus = booking.getStatus();
         booking.setPaymentId(paymentId);
         booking.setStatus(BookingStatus.CONFIRMED);
         bookingRepository.save(booking);
+        occupancyIndex.record(booking);
+        publishStatusChange(booking, previousStatus);
     }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.sportsvenue.venuemanagement.repository.ExportRepository;
+import com.sportsvenue.venuemanagement.service.ExportService;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Writes each row to the response as soon as it is read, through a 64 KB
+ * buffer that is also flushed every few thousand rows, so memory stays flat
+ * and the client starts receiving data right away.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 5000;
+
+    private final ExportRepository exportRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public ExportServiceImpl(ExportRepository exportRepository) {
+        this.exportRepository = exportRepository;
+    }
+
+    @Override
+    public void exportBookings(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        export(format, out, handler -> exportRepository.streamBookings(from, to, handler));
+    }
+
+    @Override
+    public void exportPayments(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        export(format, out, handler -> exportRepository.streamPayments(from, to, handler));
+    }
+
+    private void export(Format format, OutputStream out, Consumer<RowCallbackHandler> query) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] rows = { 0 };
+        try {
+            query.accept(rs -> {
+                try {
+                    rowWriter.write(rs);
+                    if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                        rowWriter.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        default void finish() throws IOException {
+            flush();
+        }
+    }
+
+    private static boolean isNumeric(int type) {
+        return switch (type) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.FLOAT, Types.REAL,
+                    Types.DOUBLE, Types.NUMERIC, Types.DECIMAL -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * RFC 4180 CSV with a header row taken from the column labels.
+     *
+     * Text cells that a spreadsheet would read as a formula (starting with
+     * {@code = + - @}, a tab or a carriage return) are prefixed with a single
+     * quote. Numeric columns are written as they are, so negative amounts
+     * stay numbers.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            if (!headerWritten) {
+                for (int i = 1; i <= columns; i++) {
+                    writeField(i > 1, escapeFormula(meta.getColumnLabel(i)));
+                }
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+            for (int i = 1; i <= columns; i++) {
+                String value = rs.getString(i);
+                writeField(i > 1, isNumeric(meta.getColumnType(i)) ? value : escapeFormula(value));
+            }
+            writer.write("\r\n");
+        }
+
+        static String escapeFormula(String value) {
+            if (value == null || value.isEmpty()) {
+                return value;
+            }
+            return switch (value.charAt(0)) {
+                case '=', '+', '-', '@', '\t', '\r' -> "'" + value;
+                default -> value;
+            };
+        }
+
+        private void writeField(boolean separator, String value) throws IOException {
+            if (separator) {
+                writer.write(',');
+            }
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column label, with numeric columns
+     * written as JSON numbers.
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            generator = jsonFactory.createGenerator(writer);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData meta = rs.getMetaData();
+            generator.writeStartObject();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                generator.writeFieldName(meta.getColumnLabel(i));
+                String value = rs.getString(i);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (isNumeric(meta.getColumnType(i))) {
+                    generator.writeNumber(value);
+                } else {
+                    generator.writeString(value);
+                }
+            }
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.sportsvenue.venuemanagement.service.impl;
 
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
 import com.sportsvenue.venuemanagement.model.Booking;
 import com.sportsvenue.venuemanagement.model.BookingStatus;
 import com.sportsvenue.venuemanagement.model.Payment;
 import com.sportsvenue.venuemanagement.repository.BookingRepository;
 import com.sportsvenue.venuemanagement.repository.PaymentRepository;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
 import com.sportsvenue.venuemanagement.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,21 +24,34 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
+    private final CourtOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public PaymentServiceImpl(PaymentRepository paymentRepository,
-            BookingRepository bookingRepository) {
+            BookingRepository bookingRepository,
+            CourtOccupancyIndex occupancyIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Payment processPayment(Long bookingId, Double amount, String method, String status,
             String paymentDate, String paymentMethod, String transactionId) {
-        // Get the booking
-        Booking booking = bookingRepository.findById(bookingId)
+        // Lock the booking so the hold sweeper cannot release it mid-payment
+        Booking booking = bookingRepository.lockById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
+        // The court is only still ours if the hold has not lapsed
+        if (!booking.isOpenHold(LocalDateTime.now())) {
+            throw new IllegalArgumentException(booking.getStatus() == BookingStatus.PENDING
+                    ? "Booking hold has expired"
+                    : "Booking is " + booking.getStatus() + " and cannot be paid for");
+        }
+
         // Verify amount matches booking amount
         if (!booking.getTotalAmount().equals(amount)) {
             throw new IllegalArgumentException("Payment amount does not match booking amount");
@@ -65,6 +82,11 @@ public class PaymentServiceImpl implements PaymentService {
         // Update booking status
         booking.setStatus(BookingStatus.CONFIRMED);
         bookingRepository.save(booking);
+        occupancyIndex.record(booking);
+
+        eventPublisher.publishEvent(PaymentRecordedEvent.of(savedPayment));
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, BookingStatus.PENDING,
+                BookingStatus.CONFIRMED));
 
         return savedPayment;
     }
@@ -1,10 +1,14 @@
 package com.sportsvenue.venuemanagement.service.impl;
 
+import com.sportsvenue.venuemanagement.event.VenueChangedEvent;
 import com.sportsvenue.venuemanagement.model.Venue;
 import com.sportsvenue.venuemanagement.repository.VenueRepository;
 import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.service.UtilizationIndex;
+import com.sportsvenue.venuemanagement.service.VenueSearchIndex;
 import com.sportsvenue.venuemanagement.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -13,10 +17,13 @@ import org.springframework.security.access.AccessDeniedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
 import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Service
@@ -25,12 +32,23 @@ public class VenueServiceImpl implements VenueService {
 
     private static final Logger logger = LoggerFactory.getLogger(VenueServiceImpl.class);
 
+    private static final int MAX_SEARCH_RESULTS = 200;
+
     @Autowired
     private VenueRepository venueRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UtilizationIndex utilizationIndex;
+
+    @Autowired
+    private VenueSearchIndex venueSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<Venue> getAllVenues() {
         return venueRepository.findAll();
@@ -63,7 +81,9 @@ public class VenueServiceImpl implements VenueService {
         venue.setCreatedAt(LocalDateTime.now());
         
         // Save the venue
-        return venueRepository.save(venue);
+        Venue saved = venueRepository.save(venue);
+        eventPublisher.publishEvent(VenueChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
@@ -79,24 +99,46 @@ public class VenueServiceImpl implements VenueService {
             venue.setPricePerHour(updatedVenue.getPricePerHour());
             venue.setOpeningTime(updatedVenue.getOpeningTime());
             venue.setClosingTime(updatedVenue.getClosingTime());
-            return venueRepository.save(venue);
+            Venue saved = venueRepository.save(venue);
+            eventPublisher.publishEvent(VenueChangedEvent.saved(saved));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Venue not found"));
     }
 
     @Override
     public void deleteVenue(Long id) {
         venueRepository.deleteById(id);
+        eventPublisher.publishEvent(VenueChangedEvent.deleted(id));
     }
 
     @Override
-    public List<Venue> searchVenues(String name, String location, String sportType) {
-        List<Venue> venues = venueRepository.findAll();
-
-        return venues.stream()
-                .filter(venue -> name == null || venue.getName().toLowerCase().contains(name.toLowerCase()))
-                .filter(venue -> location == null || venue.getLocation().toLowerCase().contains(location.toLowerCase()))
-                .filter(venue -> sportType == null
-                        || venue.getSportType().toLowerCase().contains(sportType.toLowerCase()))
-                .collect(Collectors.toList());
+    public List<Venue> searchVenues(String q, String name, String location, String sportType, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return venueSearchIndex.search(q, name, location, sportType, limit);
+    }
+
+    /**
+     * Venue counts and utilization for the venues managed by the current
+     * user. Users without assigned venues get empty analytics.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getManagerAnalytics(LocalDate from, LocalDate to) {
+        List<Venue> venues = List.of();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            venues = userRepository.findByUsername(authentication.getName())
+                    .map(user -> venueRepository.findByManagerId(user.getId()))
+                    .orElse(List.of());
+        }
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("totalVenues", venues.size());
+        analytics.put("activeVenues", venues.stream().filter(Venue::isActive).count());
+        analytics.put("totalCourts", venues.stream().mapToInt(Venue::getTotalCourts).sum());
+        analytics.put("utilization", utilizationIndex.heatmap(venues, from, to));
+        return analytics;
     }
-}
\ No newline at end of file
+}
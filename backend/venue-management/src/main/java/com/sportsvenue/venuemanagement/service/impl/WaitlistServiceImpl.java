@@ -0,0 +1,261 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.WaitlistRequest;
+import com.sportsvenue.venuemanagement.event.SlotReleasedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import com.sportsvenue.venuemanagement.model.WaitlistStatus;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.repository.WaitlistEntryRepository;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import com.sportsvenue.venuemanagement.service.WaitlistIndex;
+import com.sportsvenue.venuemanagement.service.WaitlistService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    private static final int DEFAULT_PRIORITY = 0;
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final UserRepository userRepository;
+    private final VenueRepository venueRepository;
+    private final BookingService bookingService;
+    private final WaitlistIndex waitlistIndex;
+    private final CourtOccupancyIndex occupancyIndex;
+    private final TransactionTemplate promotionTransaction;
+    private final ExecutorService promoter;
+
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistEntryRepository,
+            UserRepository userRepository,
+            VenueRepository venueRepository,
+            BookingService bookingService,
+            WaitlistIndex waitlistIndex,
+            CourtOccupancyIndex occupancyIndex,
+            PlatformTransactionManager transactionManager) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.userRepository = userRepository;
+        this.venueRepository = venueRepository;
+        this.bookingService = bookingService;
+        this.waitlistIndex = waitlistIndex;
+        this.occupancyIndex = occupancyIndex;
+        this.promotionTransaction = new TransactionTemplate(transactionManager);
+        this.promotionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.promoter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-promoter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        promoter.shutdown();
+        promoter.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public WaitlistEntry joinWaitlist(WaitlistRequest request) {
+        if (request.getVenueId() == null || request.getUserId() == null || request.getBookingDate() == null
+                || request.getStartTime() == null || request.getEndTime() == null
+                || request.getCourtNumber() == null || request.getTotalAmount() == null) {
+            throw new BadRequestException(
+                    "venueId, userId, bookingDate, startTime, endTime, courtNumber and totalAmount are required");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new BadRequestException("startTime must be before endTime");
+        }
+        if (request.getBookingDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("Cannot join the waitlist for a past date");
+        }
+        Venue venue = venueRepository.findById(request.getVenueId())
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.getVenueId()));
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+        }
+        if (request.getCourtNumber() < 1 || request.getCourtNumber() > venue.getTotalCourts()) {
+            throw new BadRequestException("Court " + request.getCourtNumber() + " does not exist at this venue");
+        }
+        if (bookingService.isCourtAvailable(request.getVenueId(), request.getBookingDate(),
+                request.getStartTime(), request.getEndTime(), request.getCourtNumber())) {
+            throw new BadRequestException("Court is available; book it directly");
+        }
+        if (waitlistEntryRepository.isWaiting(request.getUserId(), request.getVenueId(), request.getCourtNumber(),
+                request.getBookingDate(), request.getStartTime(), request.getEndTime())) {
+            throw new BadRequestException("Already on the waitlist for this slot");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setVenueId(request.getVenueId());
+        entry.setUserId(request.getUserId());
+        entry.setCourtNumber(request.getCourtNumber());
+        entry.setBookingDate(request.getBookingDate());
+        entry.setStartTime(request.getStartTime());
+        entry.setEndTime(request.getEndTime());
+        entry.setTotalAmount(request.getTotalAmount());
+        entry.setPriority(DEFAULT_PRIORITY);
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistIndex.record(savedEntry);
+        return savedEntry;
+    }
+
+    @Override
+    public void leaveWaitlist(Long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + entryId));
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BadRequestException("Waitlist entry is already " + entry.getStatus());
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        entry.setResolvedAt(LocalDateTime.now());
+        waitlistEntryRepository.save(entry);
+        waitlistIndex.remove(entryId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getUserEntries(Long userId) {
+        return waitlistEntryRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    public WaitlistEntry updatePriority(Long entryId, int priority) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with id: " + entryId));
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new BadRequestException("Waitlist entry is already " + entry.getStatus());
+        }
+        entry.setPriority(priority);
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        // re-sorted into its court-day once this commits
+        waitlistIndex.remove(entryId);
+        waitlistIndex.record(savedEntry);
+        return savedEntry;
+    }
+
+    /**
+     * Runs after the releasing transaction has committed, by which point the
+     * occupancy index no longer holds the released booking. Promotion is
+     * handed to a single promoter thread, so the releasing request does not
+     * wait for it and promotions of one court-day never overlap.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onSlotReleased(SlotReleasedEvent event) {
+        promoter.execute(() -> {
+            try {
+                promoteWaiters(event.key());
+            } catch (RuntimeException e) {
+                logger.error("Waitlist promotion failed for {}", event.key(), e);
+            }
+        });
+    }
+
+    /**
+     * Each promotion commits on its own, so the occupancy index sees it before
+     * the next waiter is checked. A waiter whose promotion fails is marked
+     * FAILED and the next one is tried, so one bad entry at the head of the
+     * list cannot stall the whole court-day.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Long> promoteWaiters(CourtDayKey key) {
+        List<Long> bookingIds = new ArrayList<>();
+        if (!occupancyIndex.covers(key.date()) || waitlistIndex.countFor(key) == 0) {
+            return bookingIds;
+        }
+        for (WaitlistIndex.Waiter waiter : waitlistIndex.waitersFor(key)) {
+            if (occupancyIndex.hasConflict(key.venueId(), key.courtNumber(), key.date(),
+                    waiter.startMinute(), waiter.endMinute())) {
+                continue;
+            }
+            Long bookingId;
+            try {
+                bookingId = promotionTransaction.execute(status -> promote(waiter.entryId()));
+            } catch (RuntimeException e) {
+                logger.error("Waitlist entry {} could not be promoted", waiter.entryId(), e);
+                promotionTransaction.executeWithoutResult(status -> markFailed(waiter.entryId()));
+                continue;
+            }
+            if (bookingId != null) {
+                logger.info("Promoted waitlist entry {} to booking {}", waiter.entryId(), bookingId);
+                bookingIds.add(bookingId);
+            }
+        }
+        return bookingIds;
+    }
+
+    @Scheduled(cron = "${booking.waitlist.expire-cron:0 5 0 * * *}")
+    public void expirePastEntries() {
+        LocalDate today = LocalDate.now();
+        int expired = waitlistEntryRepository.expireBefore(today);
+        waitlistIndex.evictBefore(today);
+        if (expired > 0) {
+            logger.info("Expired {} waitlist entries for past dates", expired);
+        }
+    }
+
+    private Long promote(long entryId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            waitlistIndex.remove(entryId);
+            return null;
+        }
+        if (entry.getTotalAmount() == null) {
+            // Entries from before the amount was required
+            throw new IllegalStateException("Waitlist entry " + entryId + " has no amount");
+        }
+        Long bookingId = bookingService.createBookingGroup(List.of(new BookingIntakeRequest(entry.getVenueId(),
+                entry.getUserId(), entry.getBookingDate(), entry.getStartTime(), entry.getEndTime(),
+                entry.getCourtNumber(), entry.getTotalAmount()))).get(0).getBookingId();
+        if (bookingId == null) {
+            return null;
+        }
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setBookingId(bookingId);
+        entry.setResolvedAt(LocalDateTime.now());
+        waitlistEntryRepository.save(entry);
+        waitlistIndex.remove(entryId);
+        return bookingId;
+    }
+
+    private void markFailed(long entryId) {
+        waitlistEntryRepository.findById(entryId)
+                .filter(entry -> entry.getStatus() == WaitlistStatus.WAITING)
+                .ifPresent(entry -> {
+                    entry.setStatus(WaitlistStatus.FAILED);
+                    entry.setResolvedAt(LocalDateTime.now());
+                    waitlistEntryRepository.save(entry);
+                });
+        waitlistIndex.remove(entryId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sportsvenue.venuemanagement.util;
+
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a booking listing ordered by (booking date, id), newest first.
+ * Clients see it only as an opaque URL-safe token.
+ */
+public record BookingCursor(LocalDate bookingDate, long id) {
+
+    /**
+     * Sorts after every real booking, so the first page needs no special query.
+     */
+    public static final BookingCursor START = new BookingCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = bookingDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token from {@link #encode()}, or returns {@link #START} for a
+     * missing one.
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new BookingCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.sportsvenue.venuemanagement.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Augmented interval tree over half-open integer intervals {@code [start, end)},
+ * each identified by a long id and carrying an expiry time.
+ *
+ * The tree is a treap ordered by (start, id) where every node also records the
+ * largest end in its subtree, so overlap and gap queries prune whole subtrees
+ * and run in O(log n + k). Intervals whose expiry is at or before the
+ * {@code now} passed to a query are treated as absent. Not thread-safe.
+ */
+public class IntervalTree {
+
+    public static final long NEVER_EXPIRES = Long.MAX_VALUE;
+
+    private final Map<Long, Node> nodesById = new HashMap<>();
+    private Node root;
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    public boolean isEmpty() {
+        return nodesById.isEmpty();
+    }
+
+    /**
+     * Adds the interval, replacing any interval previously stored under the id.
+     */
+    public void put(long id, int start, int end, long expiresAt) {
+        remove(id);
+        Node node = new Node(id, start, end, expiresAt, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        nodesById.put(id, node);
+    }
+
+    public boolean remove(long id) {
+        Node node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node.start, id);
+        return true;
+    }
+
+    /**
+     * Whether any live interval overlaps {@code [start, end)}.
+     */
+    public boolean overlaps(int start, int end, long now) {
+        return findOverlap(root, start, end, now) != null;
+    }
+
+    /**
+     * Earliest {@code t >= from} such that {@code [t, t + length)} is free and
+     * ends no later than {@code limit}, or -1 if there is none.
+     */
+    public int nextFreeGap(int from, int length, int limit, long now) {
+        int t = from;
+        while (t + length <= limit) {
+            Node blocking = findOverlap(root, t, t + length, now);
+            if (blocking == null) {
+                return t;
+            }
+            t = Math.max(t + 1, blocking.end);
+        }
+        return -1;
+    }
+
+    /**
+     * All maximal free gaps within {@code [from, to)} that are at least
+     * {@code minLength} long, as {@code [start, end)} pairs in ascending order.
+     */
+    public List<int[]> freeGaps(int from, int to, int minLength, long now) {
+        List<Node> busy = new ArrayList<>();
+        collectOverlapping(root, from, to, now, busy);
+
+        List<int[]> gaps = new ArrayList<>();
+        int cursor = from;
+        for (Node node : busy) {
+            if (node.start - cursor >= minLength) {
+                gaps.add(new int[] { cursor, node.start });
+            }
+            cursor = Math.max(cursor, node.end);
+        }
+        if (to - cursor >= minLength) {
+            gaps.add(new int[] { cursor, to });
+        }
+        return gaps;
+    }
+
+    /**
+     * Depth of the deepest node, for checking that the tree stays balanced.
+     */
+    int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static Node findOverlap(Node node, int start, int end, long now) {
+        while (node != null) {
+            if (node.maxEnd <= start) {
+                return null;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                Node found = findOverlap(node.left, start, end, now);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (node.start >= end) {
+                return null;
+            }
+            if (node.end > start && node.expiresAt > now) {
+                return node;
+            }
+            node = node.right;
+        }
+        return null;
+    }
+
+    /**
+     * In-order walk of live intervals overlapping {@code [start, end)}.
+     */
+    private static void collectOverlapping(Node node, int start, int end, long now, List<Node> out) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, now, out);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start && node.expiresAt > now) {
+            out.add(node);
+        }
+        collectOverlapping(node.right, start, end, now, out);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node.start, node.id, root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node delete(Node root, int start, long id) {
+        if (root == null) {
+            return null;
+        }
+        int cmp = compare(start, id, root);
+        if (cmp < 0) {
+            root.left = delete(root.left, start, id);
+        } else if (cmp > 0) {
+            root.right = delete(root.right, start, id);
+        } else {
+            if (root.left == null) {
+                return root.right;
+            }
+            if (root.right == null) {
+                return root.left;
+            }
+            if (root.left.priority > root.right.priority) {
+                root = rotateRight(root);
+                root.right = delete(root.right, start, id);
+            } else {
+                root = rotateLeft(root);
+                root.left = delete(root.left, start, id);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private static int compare(int start, long id, Node node) {
+        int cmp = Integer.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static final class Node {
+        final long id;
+        final int start;
+        final int end;
+        final long expiresAt;
+        final int priority;
+        int maxEnd;
+        Node left;
+        Node right;
+
+        Node(long id, int start, int end, long expiresAt, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.expiresAt = expiresAt;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
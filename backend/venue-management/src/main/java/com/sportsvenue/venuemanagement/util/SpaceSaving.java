@@ -0,0 +1,106 @@
+package com.sportsvenue.venuemanagement.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitters sketch that keeps at most {@code capacity}
+ * counters.
+ *
+ * When a new item arrives and every counter is taken, it replaces the
+ * smallest counter and inherits that count as its error. Each reported count
+ * overestimates the true count by at most its {@code error}, which is itself
+ * at most {@code total / capacity}. Any item seen more often than that is
+ * guaranteed to be reported. Not thread-safe.
+ */
+public class SpaceSaving<K> {
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(K item) {
+        total++;
+        Counter<K> counter = counters.get(item);
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter<>(item, 1, 0));
+            return;
+        }
+        Counter<K> smallest = null;
+        for (Counter<K> candidate : counters.values()) {
+            if (smallest == null || candidate.count < smallest.count) {
+                smallest = candidate;
+            }
+        }
+        counters.remove(smallest.item);
+        counters.put(item, new Counter<>(item, smallest.count + 1, smallest.count));
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Upper bound on how far any reported count can exceed the true count.
+     */
+    public long maxError() {
+        return total / capacity;
+    }
+
+    /**
+     * The {@code limit} items with the highest counts, highest first.
+     */
+    public List<Counter<K>> top(int limit) {
+        List<Counter<K>> sorted = new ArrayList<>();
+        for (Counter<K> counter : counters.values()) {
+            sorted.add(new Counter<>(counter.item, counter.count, counter.error));
+        }
+        sorted.sort(Comparator.comparingLong((Counter<K> c) -> c.count).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public static final class Counter<K> {
+        private final K item;
+        private long count;
+        private final long error;
+
+        Counter(K item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public K item() {
+            return item;
+        }
+
+        /**
+         * Estimated count, never below the true count.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * How much of {@link #count()} may come from evicted items.
+         */
+        public long error() {
+            return error;
+        }
+    }
+}
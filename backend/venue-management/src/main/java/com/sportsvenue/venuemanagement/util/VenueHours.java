@@ -0,0 +1,66 @@
+package com.sportsvenue.venuemanagement.util;
+
+import com.sportsvenue.venuemanagement.model.Venue;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses the free-form opening and closing times stored on {@link Venue}.
+ * Venues without usable hours are treated as open 06:00 to 22:00.
+ */
+public final class VenueHours {
+
+    public static final LocalTime DEFAULT_OPENING = LocalTime.of(6, 0);
+    public static final LocalTime DEFAULT_CLOSING = LocalTime.of(22, 0);
+
+    private static final List<DateTimeFormatter> FORMATS = List.of(
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("H:mm:ss"),
+            DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h:mma", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("ha", Locale.ENGLISH));
+
+    private VenueHours() {
+    }
+
+    public static int openingMinute(Venue venue) {
+        return toMinute(parse(venue.getOpeningTime(), DEFAULT_OPENING));
+    }
+
+    /**
+     * Closing minute of day; a closing time at or before opening (e.g. "00:00")
+     * is read as midnight.
+     */
+    public static int closingMinute(Venue venue) {
+        int closing = toMinute(parse(venue.getClosingTime(), DEFAULT_CLOSING));
+        return closing <= openingMinute(venue) ? 24 * 60 : closing;
+    }
+
+    public static LocalTime parse(String value, LocalTime fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String text = value.trim().toUpperCase(Locale.ENGLISH);
+        for (DateTimeFormatter format : FORMATS) {
+            try {
+                return LocalTime.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return fallback;
+    }
+
+    public static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    public static String format(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
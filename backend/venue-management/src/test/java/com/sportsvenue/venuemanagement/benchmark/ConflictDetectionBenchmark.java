@@ -0,0 +1,115 @@
+package com.sportsvenue.venuemanagement.benchmark;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.util.IntervalTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares conflict detection on an {@link IntervalTree} court-day with the
+ * old query-shaped path, which scans every booking of the venue-day, keeps
+ * those for the court that overlap, materializes them into a list and tests
+ * {@code isEmpty()}. The database round trip itself is not included, so the
+ * real gap is larger than reported here.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sportsvenue.venuemanagement.benchmark.ConflictDetectionBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictDetectionBenchmark {
+
+    private static final int COURTS = 8;
+
+    @Param({ "8", "24", "96" })
+    public int bookingsPerCourt;
+
+    private List<Booking> venueDay;
+    private IntervalTree courtDay;
+    private int[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        venueDay = new ArrayList<>();
+        courtDay = new IntervalTree();
+        long id = 0;
+        int length = 24 * 60 / bookingsPerCourt;
+        for (int court = 1; court <= COURTS; court++) {
+            for (int i = 0; i < bookingsPerCourt; i++) {
+                int start = i * length;
+                int end = start + length - random.nextInt(Math.max(1, length / 2));
+                Booking booking = new Booking();
+                booking.setId(++id);
+                booking.setCourtNumber(court);
+                booking.setStartTime(LocalTime.of(start / 60, start % 60));
+                booking.setEndTime(end >= 24 * 60 ? LocalTime.MAX : LocalTime.of(end / 60, end % 60));
+                booking.setStatus(BookingStatus.CONFIRMED);
+                venueDay.add(booking);
+                if (court == 1) {
+                    courtDay.put(id, start, end, IntervalTree.NEVER_EXPIRES);
+                }
+            }
+        }
+
+        queries = new int[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            int start = random.nextInt(23 * 60);
+            queries[i] = new int[] { start, start + 30 + random.nextInt(30) };
+        }
+    }
+
+    @Benchmark
+    public boolean queryShapedScan() {
+        int[] query = queries[next++ & (queries.length - 1)];
+        LocalTime start = LocalTime.of(query[0] / 60, query[0] % 60);
+        LocalTime end = LocalTime.of(query[1] / 60, query[1] % 60);
+        List<Booking> conflicts = venueDay.stream()
+                .filter(b -> b.getCourtNumber() == 1)
+                .filter(b -> b.getStatus() != BookingStatus.CANCELLED)
+                .filter(b -> b.getStartTime().isBefore(end) && b.getEndTime().isAfter(start))
+                .collect(Collectors.toList());
+        return conflicts.isEmpty();
+    }
+
+    @Benchmark
+    public boolean intervalTree() {
+        int[] query = queries[next++ & (queries.length - 1)];
+        return !courtDay.overlaps(query[0], query[1], System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public int intervalTreeNextFreeGap() {
+        int[] query = queries[next++ & (queries.length - 1)];
+        return courtDay.nextFreeGap(query[0], 60, 24 * 60, System.currentTimeMillis());
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length > 0 ? args
+                : new String[] { ConflictDetectionBenchmark.class.getSimpleName() });
+    }
+}
@@ -0,0 +1,87 @@
+package com.sportsvenue.venuemanagement.benchmark;
+
+import com.sportsvenue.venuemanagement.event.VenueChangedEvent;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.service.VenueSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link VenueSearchIndex#search} over a synthetic catalogue, for
+ * short prefixes, whole words, typos and multi-word queries. Sampled, so the
+ * report includes percentiles as well as the mean.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.sportsvenue.venuemanagement.benchmark.VenueSearchBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VenueSearchBenchmark {
+
+    private static final String[] NAME_WORDS = { "arena", "ace", "baseline", "birdie", "central", "champions",
+            "court", "club", "downtown", "eagle", "elite", "field", "grand", "green", "hub", "lakeside", "metro",
+            "north", "olympic", "park", "premier", "riverside", "royal", "smash", "south", "sports", "star",
+            "summit", "united", "valley", "victory", "west" };
+    private static final String[] CITIES = { "Ahmedabad", "Bangalore", "Bhopal", "Chennai", "Delhi", "Hyderabad",
+            "Jaipur", "Kochi", "Kolkata", "Lucknow", "Mumbai", "Nagpur", "Pune", "Surat" };
+    private static final String[] SPORTS = { "Badminton", "Basketball", "Cricket", "Football", "Squash",
+            "Table Tennis", "Tennis", "Volleyball" };
+    private static final String[] FACILITIES = { "parking", "showers", "lockers", "cafe", "floodlights",
+            "coaching", "pro shop", "changing rooms", "wifi", "first aid" };
+
+    @Param({ "5000", "50000" })
+    public int venues;
+
+    @Param({ "a", "ba", "bad", "badminton", "badmintn", "north tennis pune" })
+    public String query;
+
+    private VenueSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new VenueSearchIndex(null, null);
+        for (long id = 1; id <= venues; id++) {
+            Venue venue = new Venue();
+            venue.setId(id);
+            venue.setName(pick(random, NAME_WORDS) + " " + pick(random, NAME_WORDS) + " " + id);
+            venue.setLocation(pick(random, CITIES) + " " + (char) ('A' + random.nextInt(26)) + "-block");
+            venue.setSportType(pick(random, SPORTS));
+            venue.setFacilities(pick(random, FACILITIES) + ", " + pick(random, FACILITIES));
+            index.onVenueChanged(VenueChangedEvent.saved(venue));
+        }
+    }
+
+    @Benchmark
+    public List<Venue> search() {
+        return index.search(query, null, null, null, 50);
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args.length > 0 ? args
+                : new String[] { VenueSearchBenchmark.class.getSimpleName() });
+    }
+}
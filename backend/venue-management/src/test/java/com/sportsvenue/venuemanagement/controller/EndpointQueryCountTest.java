@@ -0,0 +1,335 @@
+package com.sportsvenue.venuemanagement.controller;
+
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import com.sportsvenue.venuemanagement.model.WaitlistStatus;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.repository.WaitlistEntryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls every read endpoint against a seeded database and checks that it
+ * issues no more than a fixed number of SQL statements. Every table holds
+ * far more rows than any budget, so a lazy association loaded once per row
+ * fails here rather than in production.
+ *
+ * Statements are counted through Hibernate statistics, so the CSV exports,
+ * which stream over plain JDBC, are only checked for their long async
+ * timeout, which no other endpoint gets. Per-user endpoints are
+ * also checked to refuse other players, and responses to never carry a
+ * password.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint-queries;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(username = "admin", roles = "ADMIN")
+class EndpointQueryCountTest {
+
+    private static final int PLAYERS = 40;
+    private static final int VENUES = 8;
+    private static final int BOOKINGS = 400;
+    private static final int WAITLIST_ENTRIES = 60;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private long adminId;
+    private long managerId;
+    private long playerId;
+    private long venueId;
+    private long bookingId;
+    private long paymentId;
+
+    @BeforeAll
+    void seed() {
+        adminId = userRepository.save(user("admin", "ADMIN")).getId();
+        User manager = userRepository.save(user("manager", "VENUE_MANAGER"));
+        managerId = manager.getId();
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            playerIds.add(userRepository.save(user("player" + i, "PLAYER")).getId());
+        }
+        playerId = playerIds.get(0);
+
+        List<Long> venueIds = new ArrayList<>();
+        for (int i = 0; i < VENUES; i++) {
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setLocation("City " + i % 2);
+            venue.setSportType(i % 2 == 0 ? "Tennis" : "Badminton");
+            venue.setTotalCourts(4);
+            venue.setPricePerHour(500);
+            venue.setOpeningTime("06:00");
+            venue.setClosingTime("22:00");
+            venue.setCreatedAt(LocalDateTime.now());
+            venue.setManager(manager);
+            venueIds.add(venueRepository.save(venue).getId());
+        }
+        venueId = venueIds.get(0);
+
+        List<Object[]> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalTime start = LocalTime.of(6 + i % 16, 0);
+            bookings.add(new Object[] { venueIds.get(i % VENUES), playerIds.get(i % PLAYERS),
+                    Date.valueOf(today.plusDays(i % 10)), Time.valueOf(start), Time.valueOf(start.plusHours(1)),
+                    1 + i % 4, 500.0, STATUSES[i % STATUSES.length].name(), Date.valueOf(today) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+        List<Long> bookingIds = jdbcTemplate.queryForList("SELECT id FROM bookings ORDER BY id", Long.class);
+        bookingId = bookingIds.get(0);
+
+        List<Object[]> payments = new ArrayList<>();
+        for (int i = 0; i < bookingIds.size(); i += 2) {
+            payments.add(new Object[] { bookingIds.get(i), 500.0, "CARD", "COMPLETED",
+                    Timestamp.valueOf(LocalDateTime.now()), "CARD", "txn-" + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO payment (booking_id, amount, method, status, payment_date, " +
+                "payment_method, transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?)", payments);
+        paymentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM payment", Long.class);
+
+        List<WaitlistEntry> entries = new ArrayList<>();
+        for (int i = 0; i < WAITLIST_ENTRIES; i++) {
+            WaitlistEntry entry = new WaitlistEntry();
+            entry.setVenueId(venueIds.get(i % VENUES));
+            entry.setUserId(playerId);
+            entry.setCourtNumber(1 + i % 4);
+            entry.setBookingDate(today.plusDays(1 + i % 10));
+            entry.setStartTime(LocalTime.of(6 + i % 16, 0));
+            entry.setEndTime(LocalTime.of(7 + i % 16, 0));
+            entry.setTotalAmount(500.0);
+            entry.setPriority(i);
+            entry.setStatus(WaitlistStatus.WAITING);
+            entry.setCreatedAt(LocalDateTime.now());
+            entries.add(entry);
+        }
+        waitlistEntryRepository.saveAll(entries);
+    }
+
+    /**
+     * Path and the most SQL statements one request to it may issue.
+     */
+    Stream<Arguments> endpoints() {
+        return Stream.of(
+                Arguments.of("/api/admin/users", 2),
+                Arguments.of("/api/admin/users/{admin}", 2),
+                Arguments.of("/api/admin/analytics/users", 8),
+                Arguments.of("/api/admin/analytics/venues", 8),
+                Arguments.of("/api/admin/analytics/bookings", 8),
+                Arguments.of("/api/admin/analytics/dashboard", 15),
+                Arguments.of("/api/admin/analytics/utilization", 3),
+                Arguments.of("/api/admin/analytics/facts?groupBy=venue,weekday", 3),
+                Arguments.of("/api/admin/analytics/unique-players", 2),
+                Arguments.of("/api/admin/analytics/top-venues", 2),
+                Arguments.of("/api/admin/analytics/top-slots", 2),
+                Arguments.of("/api/admin/venues", 2),
+                Arguments.of("/api/admin/venues/{venue}", 2),
+                Arguments.of("/api/admin/bookings", 2),
+                Arguments.of("/api/admin/bookings/{booking}", 2),
+                Arguments.of("/api/admin/payments", 2),
+                Arguments.of("/api/admin/payments/{payment}", 2),
+                Arguments.of("/api/admin/payments/analytics", 5),
+                Arguments.of("/api/admin/revenue/report?startDate={today}&endDate={today}", 2),
+                Arguments.of("/api/admin/settings", 1),
+                Arguments.of("/api/bookings/admin/all", 2),
+                Arguments.of("/api/bookings/admin/stats", 2),
+                Arguments.of("/api/bookings/manager/stats", 2),
+                Arguments.of("/api/bookings/manager/{manager}", 2),
+                Arguments.of("/api/bookings/user/id/{player}", 2),
+                Arguments.of("/api/bookings/user/id/{player}/analytics", 2),
+                Arguments.of("/api/bookings/user/name/player0", 2),
+                Arguments.of("/api/bookings/venue/{venue}?date={today}", 2),
+                Arguments.of("/api/bookings/available?venueId={venue}&date={today}&startTime=10:00"
+                        + "&endTime=11:00&courtNumber=1", 3),
+                Arguments.of("/api/bookings/free-courts?sportType=Tennis&date={today}&from=06:00&to=22:00", 3),
+                Arguments.of("/api/bookings/{booking}", 2),
+                Arguments.of("/api/payments/booking/{booking}", 2),
+                Arguments.of("/api/users/player0", 2),
+                Arguments.of("/api/users/me", 2),
+                Arguments.of("/api/users/me/analytics", 2),
+                Arguments.of("/api/venues", 2),
+                Arguments.of("/api/venues/{venue}", 2),
+                Arguments.of("/api/venues/{venue}/available-slots?date={today}", 3),
+                Arguments.of("/api/venues/search?name=Venue&location=City&sportType=Tennis", 0),
+                Arguments.of("/api/waitlist/user/{player}", 2));
+    }
+
+    /**
+     * Endpoints only venue managers may call, with their budgets.
+     */
+    Stream<Arguments> managerEndpoints() {
+        return Stream.of(
+                Arguments.of("/api/venues/manager/analytics", 4));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void endpointIssuesBoundedStatements(String path, int maxStatements) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(resolve(path))).andExpect(status().is2xxSuccessful());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                path + " issued " + statements + " statements, budget is " + maxStatements);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("managerEndpoints")
+    @WithMockUser(username = "manager", roles = "VENUE_MANAGER")
+    void managerEndpointIssuesBoundedStatements(String path, int maxStatements) throws Exception {
+        endpointIssuesBoundedStatements(path, maxStatements);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = { "/api/admin/users/{admin}", "/api/admin/bookings/{booking}", "/api/admin/payments",
+            "/api/bookings/{booking}", "/api/users/me" })
+    void responsesNeverContainPasswords(String path) throws Exception {
+        String body = mockMvc.perform(get(resolve(path))).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertFalse(body.contains("password"), path + " exposed a password: " + body);
+    }
+
+    @Test
+    void managerAnalyticsAreOnlyServedToManagers() throws Exception {
+        mockMvc.perform(get("/api/venues/manager/analytics")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/venues/manager/analytics").with(anonymous())).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "manager", roles = "VENUE_MANAGER")
+    void managerAnalyticsRejectUnboundedRanges() throws Exception {
+        mockMvc.perform(get("/api/venues/manager/analytics?from=" + today.minusDays(5) + "&to=" + today))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/venues/manager/analytics?from=" + today + "&to=" + today.plusYears(5)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "limit=0", "limit=101", "limit=2147483647", "durationMinutes=0",
+            "durationMinutes=1441" })
+    @WithMockUser(username = "player1", roles = "PLAYER")
+    void freeCourtSearchRejectsOutOfRangeArguments(String argument) throws Exception {
+        mockMvc.perform(get("/api/bookings/free-courts?sportType=Tennis&date=" + today + "&from=06:00&to=22:00&"
+                + argument)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void dashboardSectionsAreNormalizedBeforeCaching() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/dashboard?sections=venues,USERS"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/analytics/dashboard?sections= users ,venues,users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "HIT"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "sections=payments", "sections=users,secrets", "sections=,," })
+    void dashboardRejectsUnknownOrMissingSections(String argument) throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/dashboard?" + argument)).andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/api/admin/export/bookings", "/api/admin/export/payments" })
+    void exportsRunWithTheirOwnAsyncTimeout(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path + "?from=" + today.minusDays(7) + "&to=" + today))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1_800_000L, result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    @WithMockUser(username = "player1", roles = "PLAYER")
+    void playersOnlyReadTheirOwnBookingAnalytics() throws Exception {
+        mockMvc.perform(get(resolve("/api/bookings/user/id/{player}/analytics"))).andExpect(status().isForbidden());
+        long ownId = userRepository.findByUsername("player1").orElseThrow().getId();
+        mockMvc.perform(get("/api/bookings/user/id/" + ownId + "/analytics")).andExpect(status().isOk());
+    }
+
+    private String resolve(String path) {
+        return path.replace("{admin}", String.valueOf(adminId))
+                .replace("{manager}", String.valueOf(managerId))
+                .replace("{player}", String.valueOf(playerId))
+                .replace("{venue}", String.valueOf(venueId))
+                .replace("{booking}", String.valueOf(bookingId))
+                .replace("{payment}", String.valueOf(paymentId))
+                .replace("{today}", today.toString());
+    }
+
+    private static User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret1");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,117 @@
+package com.sportsvenue.venuemanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Checks that values are served from the cache within their TTL, that
+ * partial results are retried soon, that a failing loader never leaves a
+ * caller waiting, and that the number of cached keys stays bounded, dropping
+ * the least recently read key first.
+ */
+class AnalyticsCacheTest {
+
+    private AnalyticsCache cache;
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void valueIsComputedOnceWithinItsTtl() {
+        cache = new AnalyticsCache(60, 600, 5, 1, 8);
+        AtomicInteger loads = new AtomicInteger();
+
+        AnalyticsCache.Cached<Integer> first = cache.get("k", loads::incrementAndGet);
+        AnalyticsCache.Cached<Integer> second = cache.get("k", loads::incrementAndGet);
+
+        assertEquals(AnalyticsCache.Cached.State.MISS, first.state());
+        assertEquals(AnalyticsCache.Cached.State.HIT, second.state());
+        assertEquals(1, second.value());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void expiredValueIsRecomputed() {
+        cache = new AnalyticsCache(0, 0, 0, 1, 8);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("k", loads::incrementAndGet);
+        AnalyticsCache.Cached<Integer> again = cache.get("k", loads::incrementAndGet);
+
+        assertEquals(AnalyticsCache.Cached.State.MISS, again.state());
+        assertEquals(2, again.value());
+    }
+
+    @Test
+    void partialResultIsNotServedPastItsShortTtl() {
+        cache = new AnalyticsCache(60, 600, 0, 1, 8);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Map<String, Object>> loader = () -> loads.incrementAndGet() == 1
+                ? Map.of("count", 1, "partial", true)
+                : Map.of("count", 2);
+
+        cache.get("k", loader);
+        AnalyticsCache.Cached<Map<String, Object>> retried = cache.get("k", loader);
+        AnalyticsCache.Cached<Map<String, Object>> complete = cache.get("k", loader);
+
+        assertEquals(AnalyticsCache.Cached.State.MISS, retried.state());
+        assertEquals(2, retried.value().get("count"));
+        assertEquals(AnalyticsCache.Cached.State.HIT, complete.state());
+    }
+
+    @Test
+    void loaderErrorReleasesTheWaitingCaller() {
+        cache = new AnalyticsCache(60, 600, 5, 1, 8);
+
+        CompletionException failure = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(CompletionException.class, () -> cache.get("k", () -> {
+                    throw new NoClassDefFoundError("missing");
+                })));
+        AnalyticsCache.Cached<Integer> retried = cache.get("k", () -> 1);
+
+        assertInstanceOf(NoClassDefFoundError.class, failure.getCause());
+        assertEquals(1, retried.value());
+    }
+
+    @Test
+    void keysBeyondCapacityEvictTheLeastRecentlyRead() {
+        cache = new AnalyticsCache(60, 600, 5, 1, 3);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", loads::incrementAndGet);
+        cache.get("b", loads::incrementAndGet);
+        cache.get("c", loads::incrementAndGet);
+        cache.get("a", loads::incrementAndGet);
+
+        cache.get("d", loads::incrementAndGet);
+
+        assertEquals(3, cache.size());
+        assertEquals(AnalyticsCache.Cached.State.HIT, cache.get("a", loads::incrementAndGet).state());
+        assertEquals(AnalyticsCache.Cached.State.HIT, cache.get("c", loads::incrementAndGet).state());
+        assertEquals(AnalyticsCache.Cached.State.MISS, cache.get("b", loads::incrementAndGet).state());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void manyDistinctKeysStayWithinCapacity() {
+        cache = new AnalyticsCache(60, 600, 5, 1, 16);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.get("key-" + i, () -> "value");
+        }
+
+        assertEquals(16, cache.size());
+    }
+}
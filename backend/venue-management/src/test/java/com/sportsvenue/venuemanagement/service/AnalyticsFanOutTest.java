@@ -0,0 +1,95 @@
+package com.sportsvenue.venuemanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that parts run in read-only transactions that time out at the
+ * caller's deadline, and that late parts are reported as missing.
+ */
+class AnalyticsFanOutTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PlatformTransactionManager transactionManager;
+    private AnalyticsFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        fanOut = new AnalyticsFanOut(transactionManager, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        fanOut.shutdown();
+    }
+
+    @Test
+    void partsRunReadOnlyWithTheDeadlineAsTimeout() {
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("a", () -> 1);
+        parts.put("b", () -> 2);
+
+        Map<String, Object> results = fanOut.run(Duration.ofMillis(2_500), parts);
+
+        assertEquals(Map.of("a", 1, "b", 2), results);
+        assertFalse(AnalyticsFanOut.isPartial(results));
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        for (TransactionDefinition definition : definitions.getAllValues()) {
+            assertTrue(definition.isReadOnly());
+            assertEquals(3, definition.getTimeout());
+        }
+    }
+
+    @Test
+    void timeoutIsRoundedUpToAtLeastOneSecond() {
+
+        assertEquals(1, fanOut.readOnlyTransaction(System.nanoTime() + 1_000_000).getTimeout());
+        assertEquals(2, fanOut.readOnlyTransaction(System.nanoTime() + 1_500_000_000L).getTimeout());
+    }
+
+    @Test
+    void latePartsAreListedAsMissing() {
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("fast", () -> 1);
+        parts.put("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 2;
+        });
+
+        Map<String, Object> results = fanOut.run(Duration.ofSeconds(1), parts);
+
+        assertEquals(1, results.get("fast"));
+        assertFalse(results.containsKey("slow"));
+        assertEquals(List.of("slow"), results.get("missing"));
+        assertTrue(AnalyticsFanOut.isPartial(results));
+    }
+}
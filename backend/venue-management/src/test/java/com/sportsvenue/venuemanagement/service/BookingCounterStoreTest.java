@@ -0,0 +1,79 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.repository.BookingCounterRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that reconciling corrects drifted counters without losing events
+ * that are applied while the reconcile queries run.
+ */
+class BookingCounterStoreTest {
+
+    private BookingRepository bookingRepository;
+    private BookingCounterStore counters;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.countAndSumByMethod()).thenReturn(List.of());
+        counters = new BookingCounterStore(bookingRepository, paymentRepository,
+                mock(BookingCounterRepository.class));
+    }
+
+    @Test
+    void driftIsCorrectedFromTheSourceTables() {
+        for (long id = 1; id <= 5; id++) {
+            counters.onBookingStatusChanged(created(id, BookingStatus.CONFIRMED));
+        }
+        when(bookingRepository.countAndSumByStatus())
+                .thenReturn(List.<Object[]>of(new Object[] { BookingStatus.CONFIRMED, 3L, 60.0 }));
+        when(bookingRepository.countByVenue()).thenReturn(List.<Object[]>of(new Object[] { 1L, 3L }));
+
+        counters.reconcile();
+
+        Map<String, Object> stats = counters.adminStats();
+        assertEquals(3L, stats.get("activeBookings"));
+        assertEquals(3L, stats.get("totalBookings"));
+        assertEquals(60.0, (Double) stats.get("totalRevenue"), 0.001);
+        assertEquals(Map.of(1L, 3L), counters.managerStats().get("bookingsPerVenue"));
+    }
+
+    @Test
+    void eventsAppliedWhileTheQueriesRunAreKept() {
+        counters.onBookingStatusChanged(created(1, BookingStatus.CONFIRMED));
+        when(bookingRepository.countAndSumByStatus()).thenAnswer(invocation -> {
+            // committed after the query's snapshot, so the result does not include it
+            counters.onBookingStatusChanged(created(2, BookingStatus.PENDING));
+            return List.<Object[]>of(new Object[] { BookingStatus.CONFIRMED, 1L, 20.0 });
+        });
+        when(bookingRepository.countByVenue()).thenReturn(List.<Object[]>of(new Object[] { 1L, 1L }));
+
+        counters.reconcile();
+
+        Map<String, Object> stats = counters.adminStats();
+        assertEquals(1L, stats.get("activeBookings"));
+        assertEquals(1L, stats.get("pendingBookings"));
+        assertEquals(2L, stats.get("totalBookings"));
+        assertEquals(Map.of(1L, 2L), counters.managerStats().get("bookingsPerVenue"));
+    }
+
+    private static BookingStatusChangedEvent created(long bookingId, BookingStatus status) {
+        return new BookingStatusChangedEvent(bookingId, 1L, 1L, 1, LocalDate.now(), LocalTime.of(18, 0),
+                LocalTime.of(19, 0), 20.0, null, status);
+    }
+}
@@ -0,0 +1,128 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.service.BookingFactStore.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that grouped totals add up across scan chunks and workers, and
+ * that filters, deletions and the group limit are honoured.
+ */
+class BookingFactStoreTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private final BookingFactStore store = new BookingFactStore(mock(BookingRepository.class));
+    private final List<Venue> venues = List.of(venue(1, "Tennis"), venue(2, "Squash"), venue(3, "Tennis"));
+
+    @Test
+    void totalsAddUpAcrossChunks() {
+        int bookings = 2 * BookingFactStore.SCAN_CHUNK + 1000;
+        Map<Object, long[]> expected = new HashMap<>();
+        for (int id = 1; id <= bookings; id++) {
+            long venueId = id % 3 + 1;
+            int hours = id % 2 + 1;
+            store.onBookingStatusChanged(event(id, venueId, FIRST_DAY.plusDays(id % 60), hours, 100.0 * hours,
+                    BookingStatus.CONFIRMED));
+            long[] totals = expected.computeIfAbsent(venueId, v -> new long[3]);
+            totals[0]++;
+            totals[1] += 100 * hours;
+            totals[2] += hours;
+        }
+
+        Map<String, Object> result = store.query(List.of(Dimension.VENUE), null, null, null, Set.of(), venues);
+
+        assertEquals((long) bookings, result.get("matchedBookings"));
+        for (Map<String, Object> row : rows(result)) {
+            long[] totals = expected.get(row.get("venueId"));
+            assertEquals(totals[0], row.get("bookings"));
+            assertEquals((double) totals[1], row.get("revenue"));
+            assertEquals((double) totals[2], row.get("bookedHours"));
+        }
+        assertEquals(3, rows(result).size());
+    }
+
+    @Test
+    void filtersApplyBeforeGrouping() {
+        store.onBookingStatusChanged(event(1, 1, FIRST_DAY, 1, 100, BookingStatus.CONFIRMED));
+        store.onBookingStatusChanged(event(2, 2, FIRST_DAY, 1, 100, BookingStatus.CONFIRMED));
+        store.onBookingStatusChanged(event(3, 3, FIRST_DAY.plusDays(1), 2, 300, BookingStatus.CONFIRMED));
+        store.onBookingStatusChanged(event(4, 3, FIRST_DAY, 1, 100, BookingStatus.CANCELLED));
+
+        Map<String, Object> bySport = store.query(List.of(Dimension.SPORT_TYPE, Dimension.STATUS), FIRST_DAY,
+                FIRST_DAY, null, EnumSet.of(BookingStatus.CONFIRMED), venues);
+
+        assertEquals(List.of(Map.of("sportType", "Tennis", "status", BookingStatus.CONFIRMED, "bookings", 1L,
+                        "revenue", 100.0, "bookedHours", 1.0),
+                Map.of("sportType", "Squash", "status", BookingStatus.CONFIRMED, "bookings", 1L,
+                        "revenue", 100.0, "bookedHours", 1.0)), rows(bySport));
+
+        Map<String, Object> oneVenue = store.query(List.of(Dimension.STATUS), null, null, 3L, Set.of(), venues);
+        assertEquals(2L, oneVenue.get("matchedBookings"));
+    }
+
+    @Test
+    void replayedAndDeletedBookingsAreCountedOnce() {
+        BookingStatusChangedEvent booked = event(1, 1, FIRST_DAY, 1, 100, BookingStatus.PENDING);
+        store.onBookingStatusChanged(booked);
+        store.onBookingStatusChanged(booked);
+        store.onBookingStatusChanged(event(1, 1, FIRST_DAY, 1, 100, BookingStatus.CONFIRMED));
+        store.onBookingStatusChanged(event(2, 1, FIRST_DAY, 1, 100, BookingStatus.CONFIRMED));
+        store.onBookingStatusChanged(event(2, 1, FIRST_DAY, 1, 100, null));
+
+        Map<String, Object> result = store.query(List.of(Dimension.STATUS), null, null, null, Set.of(), venues);
+
+        assertEquals(1L, result.get("matchedBookings"));
+        assertEquals(BookingStatus.CONFIRMED, rows(result).get(0).get("status"));
+    }
+
+    @Test
+    void groupCountIsBounded() {
+        List<Venue> many = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            many.add(venue(id, "Tennis"));
+        }
+        store.onBookingStatusChanged(event(1, 1, FIRST_DAY, 1, 100, BookingStatus.CONFIRMED));
+
+        assertThrows(BadRequestException.class,
+                () -> store.query(List.of(Dimension.VENUE, Dimension.VENUE), null, null, null, Set.of(), many));
+        assertEquals(1L, store.query(List.of(Dimension.VENUE, Dimension.HOUR), null, null, null, Set.of(), many)
+                .get("matchedBookings"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> rows(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("rows");
+    }
+
+    private static BookingStatusChangedEvent event(long id, long venueId, LocalDate date, int hours,
+            double amount, BookingStatus status) {
+        LocalTime start = LocalTime.of(10, 0);
+        return new BookingStatusChangedEvent(id, venueId, 1, 1, date, start, start.plusHours(hours), amount, null,
+                status);
+    }
+
+    private static Venue venue(long id, String sportType) {
+        Venue venue = new Venue();
+        venue.setId(id);
+        venue.setSportType(sportType);
+        return venue;
+    }
+}
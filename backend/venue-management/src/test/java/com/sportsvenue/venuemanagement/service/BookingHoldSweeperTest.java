@@ -0,0 +1,159 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.SlotReleasedEvent;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on H2 that the hold sweeper publishes events only for the holds it
+ * cancelled itself, when a player cancels one of them while the sweep runs.
+ * Tests commit their own transactions, since the race is between two of them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hold-sweeper;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingHoldSweeperTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private TransactionTemplate transaction;
+    private BookingHoldSweeper sweeper;
+    private long userId;
+    private long venueId;
+
+    @BeforeEach
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        sweeper = new BookingHoldSweeper(bookingRepository, new CourtOccupancyIndex(bookingRepository),
+                events::add, 15, 500);
+        jdbcTemplate.update("DELETE FROM bookings");
+        venueRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("player");
+        user.setPassword("secret1");
+        user.setEmail("player@example.com");
+        user.setRole("PLAYER");
+        userId = userRepository.save(user).getId();
+        Venue venue = new Venue();
+        venue.setName("Centre Court");
+        venue.setTotalCourts(4);
+        venueId = venueRepository.save(venue).getId();
+    }
+
+    @Test
+    void holdCancelledDuringTheSweepIsNotReleasedAgain() throws Exception {
+        expiredHold(1);
+        long cancelled = expiredHold(2);
+        expiredHold(3);
+
+        CountDownLatch cancelWritten = new CountDownLatch(1);
+        CountDownLatch sweepStarted = new CountDownLatch(1);
+        CompletableFuture<Void> player = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", cancelled);
+            cancelWritten.countDown();
+            await(sweepStarted);
+            // give the sweep time to reach the row this transaction holds
+            sleep(300);
+        }));
+        await(cancelWritten);
+        CompletableFuture<Void> sweep = CompletableFuture.runAsync(() -> {
+            sweepStarted.countDown();
+            transaction.executeWithoutResult(status -> sweeper.releaseExpiredHolds());
+        });
+        player.get(10, TimeUnit.SECONDS);
+        sweep.get(10, TimeUnit.SECONDS);
+
+        List<Long> released = events.stream()
+                .filter(BookingStatusChangedEvent.class::isInstance)
+                .map(event -> ((BookingStatusChangedEvent) event).bookingId())
+                .toList();
+        assertEquals(2, released.size());
+        assertFalse(released.contains(cancelled));
+        assertEquals(2, events.stream().filter(SlotReleasedEvent.class::isInstance).count());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE status = 'CANCELLED'", Integer.class));
+    }
+
+    private long expiredHold(int courtNumber) {
+        LocalDate date = LocalDate.now().plusDays(1);
+        jdbcTemplate.update("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, hold_expires_at, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 40, 'PENDING', ?, ?)",
+                venueId, userId, Date.valueOf(date), Time.valueOf(LocalTime.of(10, 0)),
+                Time.valueOf(LocalTime.of(11, 0)), courtNumber,
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(courtNumber)), Date.valueOf(LocalDate.now()));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.repository.CourtDayLockBatchRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Checks that the database guard creates and locks each court's rows with
+ * one statement apiece, in a fixed order, whatever the number of days, and
+ * that rows for past days are purged.
+ */
+class BookingLockManagerTest {
+
+    private final LocalDate monday = LocalDate.of(2030, 1, 7);
+
+    private CourtDayLockRepository lockRepository;
+    private CourtDayLockBatchRepository batchRepository;
+
+    @BeforeEach
+    void setUp() {
+        lockRepository = mock(CourtDayLockRepository.class);
+        batchRepository = mock(CourtDayLockBatchRepository.class);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(0));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void aSeriesOnOneCourtTakesOneInsertAndOneLock() {
+        BookingLockManager locks = new BookingLockManager(lockRepository, batchRepository, 256, true);
+        List<LocalDate> dates = List.of(monday, monday.plusWeeks(1), monday.plusWeeks(2), monday.plusWeeks(3));
+
+        locks.lockForTransaction(List.of(new CourtDayKey(1, 2, dates.get(2)), new CourtDayKey(1, 2, dates.get(0)),
+                new CourtDayKey(1, 2, dates.get(3)), new CourtDayKey(1, 2, dates.get(1)),
+                new CourtDayKey(1, 2, dates.get(0))));
+
+        InOrder order = inOrder(batchRepository, lockRepository);
+        order.verify(batchRepository).insertAllIfAbsent(1L, 2, dates);
+        order.verify(lockRepository).lockCourtDays(1L, 2, dates);
+        verifyNoMoreInteractions(batchRepository, lockRepository);
+    }
+
+    @Test
+    void courtsAreLockedInAFixedOrder() {
+        BookingLockManager locks = new BookingLockManager(lockRepository, batchRepository, 256, true);
+
+        locks.lockForTransaction(List.of(new CourtDayKey(2, 1, monday), new CourtDayKey(1, 3, monday),
+                new CourtDayKey(1, 1, monday.plusDays(1)), new CourtDayKey(1, 1, monday)));
+
+        InOrder order = inOrder(lockRepository);
+        order.verify(lockRepository).lockCourtDays(1L, 1, List.of(monday, monday.plusDays(1)));
+        order.verify(lockRepository).lockCourtDays(1L, 3, List.of(monday));
+        order.verify(lockRepository).lockCourtDays(2L, 1, List.of(monday));
+    }
+
+    @Test
+    void withoutTheGuardTheDatabaseIsNotTouched() {
+        BookingLockManager locks = new BookingLockManager(lockRepository, batchRepository, 256, false);
+
+        locks.lockForTransaction(List.of(new CourtDayKey(1, 1, monday)));
+
+        verify(batchRepository, never()).insertAllIfAbsent(any(), any(), any());
+        verify(lockRepository, never()).lockCourtDays(any(), any(), any());
+    }
+
+    @Test
+    void purgeDeletesRowsBeforeToday() {
+        BookingLockManager locks = new BookingLockManager(lockRepository, batchRepository, 256, true);
+
+        locks.purgePastLocks();
+
+        verify(lockRepository).deleteBefore(LocalDate.now());
+    }
+
+    @Test
+    void locksRequireATransaction() {
+        BookingLockManager locks = new BookingLockManager(lockRepository, batchRepository, 256, true);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(IllegalStateException.class,
+                () -> locks.lockForTransaction(List.of(new CourtDayKey(1, 1, monday))));
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the rebuild pages through the retained bookings by id, and
+ * that bookings created during the load are counted exactly once.
+ */
+class BookingSketchesTest {
+
+    @Test
+    void rebuildPagesThroughBookingsById() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        LocalDate date = LocalDate.now().withDayOfMonth(1);
+        List<Object[]> fullPage = new ArrayList<>();
+        for (long id = 1; id <= BookingSketches.LOAD_PAGE_SIZE; id++) {
+            fullPage.add(new Object[] { id, id % 3 + 1, id, date, LocalTime.of(18, 0) });
+        }
+        List<Object[]> lastPage = List.<Object[]>of(
+                new Object[] { BookingSketches.LOAD_PAGE_SIZE + 7L, 1L, 1L, date, LocalTime.of(9, 0) });
+        when(bookingRepository.findSketchInputsAfter(eq(0L), any(LocalDate.class), any(Pageable.class)))
+                .thenReturn(fullPage);
+        when(bookingRepository.findSketchInputsAfter(eq((long) BookingSketches.LOAD_PAGE_SIZE), any(LocalDate.class),
+                any(Pageable.class))).thenReturn(lastPage);
+        BookingSketches sketches = new BookingSketches(bookingRepository, 13, 16);
+
+        sketches.rebuild();
+
+        verify(bookingRepository).findSketchInputsAfter(eq((long) BookingSketches.LOAD_PAGE_SIZE),
+                any(LocalDate.class), any(Pageable.class));
+        Map<String, Object> top = sketches.topVenues(YearMonth.from(date), 3);
+        assertEquals((long) BookingSketches.LOAD_PAGE_SIZE + 1, top.get("totalBookings"));
+    }
+
+    @Test
+    void bookingsCreatedDuringTheLoadAreCountedOnce() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        LocalDate date = LocalDate.now().withDayOfMonth(1);
+        BookingSketches sketches = new BookingSketches(bookingRepository, 13, 16);
+        when(bookingRepository.findSketchInputsAfter(eq(0L), any(LocalDate.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    // one booking the page below already contains, and one it does not
+                    sketches.onBookingStatusChanged(created(2L, date));
+                    sketches.onBookingStatusChanged(created(4L, date));
+                    List<Object[]> page = new ArrayList<>();
+                    for (long id = 1; id <= 3; id++) {
+                        page.add(new Object[] { id, 1L, id, date, LocalTime.of(18, 0) });
+                    }
+                    return page;
+                });
+
+        sketches.rebuild();
+
+        Map<String, Object> top = sketches.topVenues(YearMonth.from(date), 3);
+        assertEquals(4L, top.get("totalBookings"));
+    }
+
+    private static BookingStatusChangedEvent created(long bookingId, LocalDate date) {
+        return new BookingStatusChangedEvent(bookingId, 1L, bookingId, 1, date, LocalTime.of(18, 0),
+                LocalTime.of(19, 0), 40, null, BookingStatus.PENDING);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.RevenueRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the revenue rollup is backfilled from existing payments once
+ * and then kept in step payment by payment.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revenue-rollup;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RevenueRollupWriter.class)
+class RevenueRollupWriterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Autowired
+    private RevenueRollupWriter revenueRollupWriter;
+
+    @Autowired
+    private RevenueRollupRepository revenueRollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long venueId;
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        User user = new User();
+        user.setUsername("player");
+        user.setPassword("secret1");
+        user.setEmail("player@example.com");
+        user.setRole("PLAYER");
+        userId = entityManager.persist(user).getId();
+
+        Venue venue = new Venue();
+        venue.setName("Court House");
+        venue.setTotalCourts(2);
+        venueId = entityManager.persist(venue).getId();
+        entityManager.flush();
+
+        jdbcTemplate.update("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, 1, 300, 'CONFIRMED', ?)",
+                venueId, userId, Date.valueOf(DAY), Time.valueOf(LocalTime.of(10, 0)),
+                Time.valueOf(LocalTime.of(11, 0)), Date.valueOf(DAY));
+        long bookingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+        for (String method : List.of("CARD", "CARD", "UPI")) {
+            jdbcTemplate.update("INSERT INTO payment (booking_id, amount, method, status, payment_date, " +
+                    "payment_method, transaction_id) VALUES (?, 100.25, ?, 'COMPLETED', ?, ?, 'txn')",
+                    bookingId, method, Timestamp.valueOf(DAY.atTime(12, 0)), method);
+        }
+    }
+
+    @Test
+    void backfillSumsExistingPaymentsPerDayVenueAndMethod() {
+        revenueRollupWriter.backfill();
+
+        assertEquals(2, revenueRollupRepository.count());
+        assertEquals(30075, revenueRollupRepository.sumAllCents());
+        assertEquals(3L, revenueRollupRepository.sumByMonthVenueAndMethod(DAY, DAY).stream()
+                .mapToLong(row -> ((Number) row[4]).longValue()).sum());
+    }
+
+    @Test
+    void backfillIsSkippedOnceTheRollupHasRows() {
+        revenueRollupWriter.backfill();
+        revenueRollupWriter.backfill();
+
+        assertEquals(30075, revenueRollupRepository.sumAllCents());
+    }
+
+    @Test
+    void recordedPaymentsAddToTheirRow() {
+        revenueRollupWriter.backfill();
+
+        revenueRollupWriter.onPaymentRecorded(new PaymentRecordedEvent(10, 1, venueId, userId, 50.5, "UPI",
+                LocalDateTime.of(DAY, LocalTime.NOON)));
+        revenueRollupWriter.onPaymentRecorded(new PaymentRecordedEvent(11, 1, venueId, userId, 20, "CASH",
+                LocalDateTime.of(DAY.plusDays(1), LocalTime.NOON)));
+        entityManager.clear();
+
+        assertEquals(3, revenueRollupRepository.count());
+        assertEquals(30075 + 5050 + 2000, revenueRollupRepository.sumAllCents());
+    }
+}
@@ -0,0 +1,237 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.event.PaymentRecordedEvent;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.UserSummary;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.UserSummaryRepository;
+import com.sportsvenue.venuemanagement.repository.UserVenueStatRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the player summaries against the bookings and payments behind them:
+ * the one-off backfill on H2, and the per-transaction updates that follow.
+ * Tests commit their own transactions, since the summaries are only written
+ * when a transaction commits.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-summary;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserSummaryWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSummaryWriterTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private UserSummaryWriter userSummaryWriter;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private UserVenueStatRepository userVenueStatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+    private long userId;
+    private long tennisId;
+    private long squashId;
+
+    @BeforeEach
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM payment");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM user_venue_stats");
+        jdbcTemplate.update("DELETE FROM user_summaries");
+        venueRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setUsername("player");
+        user.setPassword("secret1");
+        user.setEmail("player@example.com");
+        user.setRole("PLAYER");
+        userId = userRepository.save(user).getId();
+        tennisId = venue("Tennis");
+        squashId = venue("Squash");
+    }
+
+    @Test
+    void backfillSummarisesExistingBookingsAndPayments() {
+        long first = booking(tennisId, MONDAY, 10, 12, BookingStatus.CONFIRMED);
+        booking(tennisId, MONDAY.plusDays(1), 9, 10, BookingStatus.COMPLETED);
+        booking(tennisId, MONDAY.plusDays(2), 9, 10, BookingStatus.PENDING);
+        booking(squashId, MONDAY.plusDays(3), 18, 19, BookingStatus.CANCELLED);
+        jdbcTemplate.update("INSERT INTO payment (booking_id, amount, method, status, payment_date, " +
+                "payment_method, transaction_id) VALUES (?, 12.5, 'CARD', 'COMPLETED', ?, 'CARD', 'txn')",
+                first, Timestamp.valueOf(MONDAY.atTime(12, 0)));
+
+        userSummaryWriter.backfill();
+
+        UserSummary summary = userSummaryRepository.findById(userId).orElseThrow();
+        assertEquals(4, summary.getTotalBookings());
+        assertEquals(2, summary.getActiveBookings());
+        assertEquals(1, summary.getCancelledBookings());
+        assertEquals(180, summary.getMinutesPlayed());
+        assertEquals(1, summary.getPaymentCount());
+        assertEquals(1250, summary.getTotalSpentCents());
+        assertEquals(2, summary.getDistinctVenues());
+        assertEquals(tennisId, summary.getFavoriteVenueId());
+        assertEquals("Tennis", summary.getFavoriteSport());
+        assertEquals(3, summary.getFavoriteVenueBookings());
+        assertEquals(3L, userVenueStatRepository.findBookings(userId, tennisId).orElseThrow());
+    }
+
+    @Test
+    void backfillIsSkippedOnceSummariesExist() {
+        booking(tennisId, MONDAY, 10, 11, BookingStatus.CONFIRMED);
+        userSummaryWriter.backfill();
+        booking(tennisId, MONDAY.plusDays(1), 10, 11, BookingStatus.CONFIRMED);
+
+        userSummaryWriter.backfill();
+
+        assertEquals(1, userSummaryRepository.findById(userId).orElseThrow().getTotalBookings());
+    }
+
+    @Test
+    void recurringSeriesIsWrittenOncePerTransaction() {
+        int occurrences = 104;
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < occurrences; i++) {
+                eventPublisher.publishEvent(created(i + 1, tennisId, MONDAY.plusWeeks(i), BookingStatus.CONFIRMED));
+            }
+        });
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 8, "series issued " + statements + " statements");
+        UserSummary summary = userSummaryRepository.findById(userId).orElseThrow();
+        assertEquals(occurrences, summary.getTotalBookings());
+        assertEquals(occurrences, summary.getActiveBookings());
+        assertEquals(occurrences * 60L, summary.getMinutesPlayed());
+        assertEquals(occurrences, summary.getCurrentStreakWeeks());
+        assertEquals(occurrences, summary.getLongestStreakWeeks());
+        assertEquals(1, summary.getDistinctVenues());
+        assertEquals(tennisId, summary.getFavoriteVenueId());
+        assertEquals(occurrences, summary.getFavoriteVenueBookings());
+    }
+
+    @Test
+    void rolledBackChangesAreNotWritten() {
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(created(1, tennisId, MONDAY, BookingStatus.CONFIRMED));
+            eventPublisher.publishEvent(new PaymentRecordedEvent(1, 1, tennisId, userId, 20, "CARD",
+                    LocalDateTime.of(MONDAY, LocalTime.NOON)));
+            throw new IllegalStateException("booking failed");
+        }));
+
+        assertFalse(userSummaryRepository.findById(userId).isPresent());
+    }
+
+    @Test
+    void favouriteMovesWhenItLosesBookings() {
+        transaction.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(created(1, tennisId, MONDAY, BookingStatus.PENDING));
+            eventPublisher.publishEvent(created(2, tennisId, MONDAY.plusDays(1), BookingStatus.PENDING));
+            eventPublisher.publishEvent(created(3, squashId, MONDAY.plusDays(2), BookingStatus.PENDING));
+        });
+        assertEquals(tennisId, userSummaryRepository.findById(userId).orElseThrow().getFavoriteVenueId());
+
+        transaction.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(deleted(1, tennisId, MONDAY));
+            eventPublisher.publishEvent(deleted(2, tennisId, MONDAY.plusDays(1)));
+        });
+
+        UserSummary summary = userSummaryRepository.findById(userId).orElseThrow();
+        assertEquals(1, summary.getTotalBookings());
+        assertEquals(1, summary.getDistinctVenues());
+        assertEquals(squashId, summary.getFavoriteVenueId());
+        assertEquals("Squash", summary.getFavoriteSport());
+        assertEquals(1, summary.getFavoriteVenueBookings());
+    }
+
+    private BookingStatusChangedEvent created(long bookingId, long venueId, LocalDate date, BookingStatus status) {
+        return new BookingStatusChangedEvent(bookingId, venueId, userId, 1, date, LocalTime.of(10, 0),
+                LocalTime.of(11, 0), 500, null, status);
+    }
+
+    private BookingStatusChangedEvent deleted(long bookingId, long venueId, LocalDate date) {
+        return new BookingStatusChangedEvent(bookingId, venueId, userId, 1, date, LocalTime.of(10, 0),
+                LocalTime.of(11, 0), 500, BookingStatus.PENDING, null);
+    }
+
+    private long venue(String sportType) {
+        Venue venue = new Venue();
+        venue.setName(sportType + " Club");
+        venue.setSportType(sportType);
+        venue.setTotalCourts(2);
+        return venueRepository.save(venue).getId();
+    }
+
+    private long booking(long venueId, LocalDate date, int startHour, int endHour, BookingStatus status) {
+        jdbcTemplate.update("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, 1, 500, ?, ?)",
+                venueId, userId, Date.valueOf(date), Time.valueOf(LocalTime.of(startHour, 0)),
+                Time.valueOf(LocalTime.of(endHour, 0)), status.name(), Date.valueOf(date));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.BookingStatusChangedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the bounds on a utilization heatmap's date range and the figures it
+ * reports for a venue.
+ */
+class UtilizationIndexTest {
+
+    private static final int RETENTION_DAYS = 30;
+    private static final int HORIZON_DAYS = 60;
+
+    private final UtilizationIndex index = new UtilizationIndex(mock(BookingRepository.class), RETENTION_DAYS,
+            HORIZON_DAYS);
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    void rangeMustStayWithinRetentionAndHorizon() {
+        List<Venue> venues = List.of(venue());
+
+        assertThrows(BadRequestException.class, () -> index.heatmap(venues, today, today.minusDays(1)));
+        assertThrows(BadRequestException.class,
+                () -> index.heatmap(venues, today.minusDays(RETENTION_DAYS + 1), today));
+        assertThrows(BadRequestException.class,
+                () -> index.heatmap(venues, today, today.plusDays(HORIZON_DAYS + 1)));
+        assertThrows(BadRequestException.class,
+                () -> index.heatmap(venues, today.plusDays(1), today.plusDays(RETENTION_DAYS + 1)));
+
+        index.heatmap(venues, today.minusDays(RETENTION_DAYS), today.minusDays(1));
+        index.heatmap(venues, today.plusDays(HORIZON_DAYS - RETENTION_DAYS + 1), today.plusDays(HORIZON_DAYS));
+    }
+
+    @Test
+    void soldHoursFollowConfirmedBookings() {
+        Venue venue = venue();
+        index.onBookingStatusChanged(new BookingStatusChangedEvent(1, venue.getId(), 1, 1, today,
+                LocalTime.of(10, 0), LocalTime.of(12, 0), 500, BookingStatus.PENDING, BookingStatus.CONFIRMED));
+
+        Map<String, Object> heatmap = index.heatmap(List.of(venue), today, today);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> venueStats = ((List<Map<String, Object>>) heatmap.get("venues")).get(0);
+        assertEquals(2.0, venueStats.get("soldHours"));
+        assertEquals(2.0 * 16, venueStats.get("availableHours"));
+    }
+
+    private static Venue venue() {
+        Venue venue = new Venue();
+        venue.setId(1L);
+        venue.setName("Court House");
+        venue.setTotalCourts(2);
+        venue.setOpeningTime("06:00");
+        venue.setClosingTime("22:00");
+        return venue;
+    }
+}
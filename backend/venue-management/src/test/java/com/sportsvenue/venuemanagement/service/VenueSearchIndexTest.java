@@ -0,0 +1,184 @@
+package com.sportsvenue.venuemanagement.service;
+
+import com.sportsvenue.venuemanagement.event.VenueChangedEvent;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how venues are tokenized and kept up to date, which venues a
+ * search matches and the order they come back in.
+ */
+class VenueSearchIndexTest {
+
+    private final VenueSearchIndex index = new VenueSearchIndex(null, null);
+
+    @Test
+    void tokensAreFoldedSplitAndDeduplicatedInOrder() {
+        assertEquals(List.of("sao", "paulo", "arena", "5"),
+                List.copyOf(VenueSearchIndex.tokenize("São Paulo — ARENA #5, são paulo")));
+        assertEquals(List.of("cafe", "pro", "shop"), List.copyOf(VenueSearchIndex.tokenize("Café/Pro-Shop")));
+        assertTrue(VenueSearchIndex.tokenize("  ,;  ").isEmpty());
+        assertTrue(VenueSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void trigramsArePaddedAtWordBoundaries() {
+        assertEquals(Set.of("$ab", "ab$"), VenueSearchIndex.trigrams("ab"));
+        assertEquals(Set.of("$te", "ten", "enn", "nni", "nis", "is$"), VenueSearchIndex.trigrams("tennis"));
+    }
+
+    @Test
+    void typosFindTheirTermThroughTheTrigramFilter() {
+        add(1, "Shuttle Hall", "Pune", "Badminton", null);
+        add(2, "Koramangala Courts", "Bangalore", "Tennis", null);
+        add(3, "Goal Post", "Mumbai", "Football", null);
+
+        assertEquals(List.of(1L), ids("badmintn"));
+        assertEquals(List.of(1L), ids("badmniton"));
+        assertEquals(List.of(1L), ids("bedmintn"));
+        assertEquals(List.of(2L), ids("koramangla"));
+        // one edit is only allowed from four characters, two from eight
+        assertEquals(List.of(), ids("gol"));
+        assertEquals(List.of(), ids("tenisss"));
+        assertEquals(List.of(), ids("fotbll"));
+    }
+
+    @Test
+    void nameMatchesOutrankOtherFields() {
+        add(1, "Riverside Club", "Tennis Park", "Squash", "tennis coaching");
+        add(2, "Tennis Centre", "Pune", "Squash", null);
+        add(3, "Riverside Club", "Pune", "Tennis", null);
+
+        assertEquals(List.of(2L, 1L, 3L), ids("tennis"));
+    }
+
+    @Test
+    void exactMatchesOutrankPrefixesAndPrefixesOutrankTypos() {
+        add(1, "Court House", "Pune", "Squash", null);
+        add(2, "Courts Plaza", "Pune", "Squash", null);
+        add(3, "Curt Arena", "Pune", "Squash", null);
+
+        assertEquals(List.of(1L, 2L, 3L), ids("court"));
+    }
+
+    @Test
+    void everyTokenHasToMatch() {
+        add(1, "North Arena", "Pune", "Tennis", null);
+        add(2, "North Arena", "Delhi", "Tennis", null);
+
+        assertEquals(List.of(1L), ids("north pune"));
+        assertEquals(List.of(), ids("north jaipur"));
+    }
+
+    @Test
+    void tiesGoToTheLowerIdWithinTheLimit() {
+        for (long id = 10; id >= 1; id--) {
+            add(id, "Smash Court " + id, "Pune", "Badminton", null);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), ids("smash", 3));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids("smash", 5));
+    }
+
+    @Test
+    void shortTokensOnlyMatchExactly() {
+        add(1, "Badminton Hub", "Pune", "Badminton", null);
+        add(2, "Ba Sports", "Pune", "Squash", null);
+
+        assertEquals(List.of(2L), ids("ba"));
+        assertEquals(List.of(1L), ids("bad"));
+    }
+
+    @Test
+    void prefixExpandsToALimitedNumberOfTerms() {
+        int terms = VenueSearchIndex.MAX_PREFIX_TERMS + 10;
+        for (int i = 0; i < terms; i++) {
+            add(i + 1, String.format("arena%03d", i), "Pune", "Squash", null);
+        }
+
+        List<Long> found = ids("arena", 200);
+
+        assertEquals(VenueSearchIndex.MAX_PREFIX_TERMS, found.size());
+        // terms are expanded in dictionary order
+        assertTrue(found.contains(1L));
+        assertTrue(!found.contains((long) terms));
+    }
+
+    @Test
+    void updatedVenuesAreReindexed() {
+        add(1, "Lakeside Arena", "Pune", "Tennis", null);
+
+        add(1, "Hilltop Arena", "Pune", "Tennis", null);
+
+        assertEquals(List.of(), ids("lakeside"));
+        // the old term has left the dictionary, so typos of it find nothing either
+        assertEquals(List.of(), ids("lakesid"));
+        assertEquals(List.of(1L), ids("hilltop"));
+        assertEquals(List.of(1L), ids("arena"));
+    }
+
+    @Test
+    void deletedVenuesAreNoLongerFound() {
+        add(1, "Lakeside Arena", "Pune", "Tennis", null);
+        add(2, "Riverside Arena", "Pune", "Tennis", null);
+
+        index.onVenueChanged(VenueChangedEvent.deleted(1L));
+
+        assertEquals(List.of(2L), ids("arena"));
+        assertEquals(List.of(), ids("lakeside"));
+        assertEquals(List.of(2L), index.search(null, null, null, null, 10).stream().map(Venue::getId).toList());
+        // deleting twice, or deleting an unknown venue, is harmless
+        index.onVenueChanged(VenueChangedEvent.deleted(1L));
+        index.onVenueChanged(VenueChangedEvent.deleted(99L));
+        assertEquals(List.of(2L), ids("arena"));
+    }
+
+    @Test
+    void rebuildLoadsEveryVenue() {
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        when(venueRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(venue(1, "Lakeside Arena", "Pune", "Tennis", null),
+                        venue(2, "Hilltop Courts", "Pune", "Squash", null)));
+        VenueSearchIndex loaded = new VenueSearchIndex(venueRepository, mock(PlatformTransactionManager.class));
+
+        loaded.rebuild();
+
+        assertEquals(List.of(1L), loaded.search("lake", null, null, null, 10).stream().map(Venue::getId).toList());
+        assertEquals(List.of(2L), loaded.search(null, null, null, "squash", 10).stream().map(Venue::getId)
+                .toList());
+    }
+
+    private void add(long id, String name, String location, String sportType, String facilities) {
+        index.onVenueChanged(VenueChangedEvent.saved(venue(id, name, location, sportType, facilities)));
+    }
+
+    private static Venue venue(long id, String name, String location, String sportType, String facilities) {
+        Venue venue = new Venue();
+        venue.setId(id);
+        venue.setName(name);
+        venue.setLocation(location);
+        venue.setSportType(sportType);
+        venue.setFacilities(facilities);
+        return venue;
+    }
+
+    private List<Long> ids(String q) {
+        return ids(q, 50);
+    }
+
+    private List<Long> ids(String q, int limit) {
+        return index.search(q, null, null, null, limit).stream().map(Venue::getId).toList();
+    }
+}
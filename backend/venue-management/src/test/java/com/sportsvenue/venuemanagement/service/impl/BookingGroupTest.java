@@ -0,0 +1,151 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how {@link BookingServiceImpl#createBookingGroup} resolves a group:
+ * where it looks for existing bookings, and what it tells each request.
+ */
+class BookingGroupTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final AtomicLong ids = new AtomicLong();
+
+    private BookingRepository bookingRepository;
+    private CourtOccupancyIndex occupancyIndex;
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        BookingBatchRepository bookingBatchRepository = mock(BookingBatchRepository.class);
+
+        User user = new User();
+        user.setId(1L);
+        Venue venue = new Venue();
+        venue.setId(1L);
+        venue.setTotalCourts(2);
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+        when(venueRepository.findAllById(anyIterable())).thenReturn(List.of(venue));
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        doAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setId(ids.incrementAndGet()));
+            return null;
+        }).when(bookingBatchRepository).insertAll(any());
+
+        occupancyIndex = new CourtOccupancyIndex(bookingRepository);
+        bookingService = new BookingServiceImpl(bookingRepository, bookingBatchRepository, userRepository,
+                venueRepository, occupancyIndex, mock(BookingLockManager.class), mock(BookingCounterStore.class),
+                event -> { }, 60, 104, 15);
+    }
+
+    @Test
+    void uncoveredDatesAreCheckedAgainstTheDatabase() {
+        // The index has not been built yet, so it knows nothing about this booking
+        when(bookingRepository.findActiveSlotsForCourtBetween(eq(1L), eq(1), eq(date), eq(date), any()))
+                .thenReturn(slots(LocalTime.of(10, 0), LocalTime.of(11, 0)));
+
+        List<GroupBookingOutcome> outcomes = bookingService.createBookingGroup(List.of(
+                request(1L, 1L, 10, 11), request(1L, 1L, 11, 12)));
+
+        assertFalse(outcomes.get(0).isBooked());
+        assertEquals("Court is already booked for the selected time slot", outcomes.get(0).getRejection());
+        assertTrue(outcomes.get(1).isBooked());
+    }
+
+    @Test
+    void coveredDatesAreAnsweredFromTheIndex() {
+        when(bookingRepository.findActiveSlotsFrom(any(), any())).thenReturn(new ArrayList<>());
+        occupancyIndex.rebuild();
+
+        List<GroupBookingOutcome> outcomes = bookingService.createBookingGroup(List.of(request(1L, 1L, 10, 11)));
+
+        assertTrue(outcomes.get(0).isBooked());
+        verify(bookingRepository, never()).findActiveSlotsForCourtBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void rejectionsSayWhyTheRequestFailed() {
+        when(bookingRepository.findActiveSlotsFrom(any(), any())).thenReturn(new ArrayList<>());
+        occupancyIndex.rebuild();
+
+        List<GroupBookingOutcome> outcomes = bookingService.createBookingGroup(List.of(
+                request(1L, 1L, 10, 11), request(1L, 1L, 10, 11), request(1L, 2L, 12, 13),
+                request(2L, 1L, 12, 13)));
+
+        assertEquals(1L, outcomes.get(0).getBookingId());
+        assertNull(outcomes.get(0).getRejection());
+        assertEquals("Court was taken by an earlier request for the selected time slot",
+                outcomes.get(1).getRejection());
+        assertEquals("User not found with id: 2", outcomes.get(2).getRejection());
+        assertEquals("Venue not found with id: 2", outcomes.get(3).getRejection());
+    }
+
+    @Test
+    void aBadRequestIsRejectedWithoutFailingTheRestOfTheGroup() {
+        when(bookingRepository.findActiveSlotsFrom(any(), any())).thenReturn(new ArrayList<>());
+        occupancyIndex.rebuild();
+
+        List<GroupBookingOutcome> outcomes = bookingService.createBookingGroup(List.of(
+                request(1L, 1L, 10, 11), request(1L, 1L, 11, 12, 1, null), request(1L, 1L, 12, 13, 3, 500.0),
+                request(1L, 1L, 13, 14, 0, 500.0), request(1L, 1L, 14, 15)));
+
+        assertTrue(outcomes.get(0).isBooked());
+        assertEquals("totalAmount is required", outcomes.get(1).getRejection());
+        assertEquals("Court number must be between 1 and 2", outcomes.get(2).getRejection());
+        assertEquals("Court number must be between 1 and 2", outcomes.get(3).getRejection());
+        assertTrue(outcomes.get(4).isBooked());
+    }
+
+    private BookingIntakeRequest request(long venueId, long userId, int startHour, int endHour) {
+        return request(venueId, userId, startHour, endHour, 1, 500.0);
+    }
+
+    private BookingIntakeRequest request(long venueId, long userId, int startHour, int endHour, int courtNumber,
+            Double totalAmount) {
+        return new BookingIntakeRequest(venueId, userId, date, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0),
+                courtNumber, totalAmount);
+    }
+
+    private List<Object[]> slots(LocalTime start, LocalTime end) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { date, start, end });
+        return rows;
+    }
+}
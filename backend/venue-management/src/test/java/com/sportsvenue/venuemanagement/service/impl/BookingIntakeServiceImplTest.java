@@ -0,0 +1,106 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.BookingTicket;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.exception.ResourceNotFoundException;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks what intake tickets report once resolved, and that resolved tickets
+ * are dropped oldest first once the ticket limit is reached.
+ */
+class BookingIntakeServiceImplTest {
+
+    private BookingIntakeServiceImpl intake;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        intake.shutdown();
+    }
+
+    @Test
+    void rejectedTicketCarriesTheReason() throws InterruptedException {
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.createBookingGroup(any())).thenReturn(
+                List.of(GroupBookingOutcome.rejected("Venue not found with id: 1")));
+        intake = new BookingIntakeServiceImpl(bookingService, 10, 1, 1, 30, 100);
+
+        BookingTicket ticket = awaitResolved(intake.submit(request()).getTicketId());
+
+        assertEquals(BookingTicket.REJECTED, ticket.getStatus());
+        assertEquals("Venue not found with id: 1", ticket.getMessage());
+    }
+
+    @Test
+    void oldestResolvedTicketsAreDroppedAtTheLimit() throws InterruptedException {
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.createBookingGroup(any())).thenReturn(List.of(GroupBookingOutcome.booked(7L)));
+        intake = new BookingIntakeServiceImpl(bookingService, 1, 1, 1, 30, 3);
+
+        List<String> ticketIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String ticketId = intake.submit(request()).getTicketId();
+            awaitResolved(ticketId);
+            ticketIds.add(ticketId);
+            // keep resolution times strictly ordered
+            Thread.sleep(2);
+        }
+
+        assertThrows(ResourceNotFoundException.class, () -> intake.getTicket(ticketIds.get(0)));
+        assertThrows(ResourceNotFoundException.class, () -> intake.getTicket(ticketIds.get(1)));
+        for (String ticketId : ticketIds.subList(2, 5)) {
+            assertEquals(7L, intake.getTicket(ticketId).getBookingId());
+        }
+    }
+
+    @Test
+    void ticketLimitMustExceedQueueCapacity() {
+        intake = new BookingIntakeServiceImpl(mock(BookingService.class), 10, 1, 1, 30, 11);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BookingIntakeServiceImpl(mock(BookingService.class), 10, 1, 1, 30, 10));
+    }
+
+    @Test
+    void requestWithoutAmountIsRejectedBeforeQueueing() {
+        BookingService bookingService = mock(BookingService.class);
+        intake = new BookingIntakeServiceImpl(bookingService, 10, 1, 1, 30, 100);
+        BookingIntakeRequest request = request();
+        request.setTotalAmount(null);
+
+        assertThrows(BadRequestException.class, () -> intake.submit(request));
+        verify(bookingService, never()).createBookingGroup(any());
+    }
+
+    private BookingTicket awaitResolved(String ticketId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            BookingTicket ticket = intake.getTicket(ticketId);
+            if (ticket.getResolvedAt() != null) {
+                return ticket;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("ticket " + ticketId + " was not resolved");
+    }
+
+    private static BookingIntakeRequest request() {
+        return new BookingIntakeRequest(1L, 1L, LocalDate.now().plusDays(1), LocalTime.of(10, 0),
+                LocalTime.of(11, 0), 1, 500.0);
+    }
+}
@@ -0,0 +1,208 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingFilter;
+import com.sportsvenue.venuemanagement.dto.BookingPage;
+import com.sportsvenue.venuemanagement.dto.BookingSummary;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockBatchRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pages through a booking table full of same-day ties with every filter
+ * shape and checks that the pages add up to exactly the matching bookings,
+ * newest first with ties broken by descending id, and that each page is
+ * read with a single query.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-pages;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BookingServiceImpl.class, BookingBatchRepository.class, CourtDayLockBatchRepository.class,
+        CourtOccupancyIndex.class, BookingLockManager.class, BookingCounterStore.class })
+class BookingPageQueryTest {
+
+    private static final int BOOKINGS = 240;
+    private static final int DAYS = 4;
+    private static final int LIMIT = 7;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final Comparator<Row> NEWEST_FIRST = Comparator.comparing(Row::date)
+            .thenComparingLong(Row::id)
+            .reversed();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate firstDay = LocalDate.now().minusDays(10);
+    private List<Long> userIds;
+    private List<Long> managerIds;
+    private List<Long> venueIds;
+    private List<Row> rows;
+
+    private record Row(long id, long venueId, long userId, LocalDate date, BookingStatus status) {
+    }
+
+    @BeforeEach
+    void seed() {
+        userIds = List.of(user("alice", "PLAYER"), user("bob", "PLAYER"));
+        managerIds = List.of(user("manager1", "MANAGER"), user("manager2", "MANAGER"));
+        // the first manager runs two venues, the second one
+        venueIds = List.of(venue("North", managerIds.get(0)), venue("South", managerIds.get(0)),
+                venue("East", managerIds.get(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        Random random = new Random(42);
+        List<Object[]> inserts = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            // dates are drawn out of id order, so every day holds many ids and ids do not follow dates
+            LocalDate date = firstDay.plusDays(random.nextInt(DAYS));
+            inserts.add(new Object[] { venueIds.get(random.nextInt(venueIds.size())),
+                    userIds.get(random.nextInt(userIds.size())), Date.valueOf(date),
+                    Time.valueOf(LocalTime.of(8, 0)), Time.valueOf(LocalTime.of(9, 0)), 1 + i % 4, 20.0,
+                    STATUSES[random.nextInt(STATUSES.length)].name(), Date.valueOf(date) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+        rows = jdbcTemplate.query("SELECT id, venue_id, user_id, booking_date, status FROM bookings",
+                (rs, n) -> new Row(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDate(4).toLocalDate(),
+                        BookingStatus.valueOf(rs.getString(5))));
+    }
+
+    @Test
+    void unfilteredListingWalksEveryBookingOnceInOrder() {
+        assertPagesMatch(new BookingFilter(), row -> true);
+    }
+
+    @Test
+    void userAndVenueListingsFollowTheirOwnIndex() {
+        long user = userIds.get(1);
+        long venue = venueIds.get(2);
+
+        assertPagesMatch(new BookingFilter(user, null, null, null, null, null), row -> row.userId() == user);
+        assertPagesMatch(new BookingFilter(null, venue, null, null, null, null), row -> row.venueId() == venue);
+        assertPagesMatch(new BookingFilter(user, venue, null, null, null, null),
+                row -> row.userId() == user && row.venueId() == venue);
+    }
+
+    @Test
+    void statusAndDateRangeNarrowEveryShape() {
+        LocalDate from = firstDay.plusDays(1);
+        LocalDate to = firstDay.plusDays(2);
+        long user = userIds.get(0);
+        Predicate<Row> window = row -> row.status() == BookingStatus.CONFIRMED && !row.date().isBefore(from)
+                && !row.date().isAfter(to);
+
+        assertPagesMatch(new BookingFilter(null, null, null, BookingStatus.CONFIRMED, from, to), window);
+        assertPagesMatch(new BookingFilter(user, null, null, BookingStatus.CONFIRMED, from, to),
+                window.and(row -> row.userId() == user));
+    }
+
+    @Test
+    void managerListingCoversEachOfTheirVenues() {
+        long manager = managerIds.get(0);
+        List<Long> managed = List.of(venueIds.get(0), venueIds.get(1));
+
+        assertPagesMatch(new BookingFilter(null, null, manager, null, null, null),
+                row -> managed.contains(row.venueId()));
+        assertPagesMatch(new BookingFilter(null, venueIds.get(1), manager, BookingStatus.PENDING, null, null),
+                row -> row.venueId() == venueIds.get(1) && row.status() == BookingStatus.PENDING);
+    }
+
+    @Test
+    void managerSeesNothingForAnotherManagersVenue() {
+        BookingPage page = bookingService.findBookings(
+                new BookingFilter(null, venueIds.get(2), managerIds.get(0), null, null, null), null, LIMIT);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    private void assertPagesMatch(BookingFilter filter, Predicate<Row> matches) {
+        List<Long> expected = rows.stream().filter(matches).sorted(NEWEST_FIRST).map(Row::id).toList();
+        assertTrue(expected.size() > LIMIT, "the filter should span several pages");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Statistics statistics = resetStatistics();
+            BookingPage page = bookingService.findBookings(filter, cursor, LIMIT);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertTrue(page.getItems().size() <= LIMIT);
+            page.getItems().stream().map(BookingSummary::getId).forEach(seen::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+    }
+
+    private long user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret1");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        return entityManager.persist(user).getId();
+    }
+
+    private long venue(String name, long managerId) {
+        Venue venue = new Venue();
+        venue.setName(name);
+        venue.setTotalCourts(4);
+        venue.setManager(entityManager.find(User.class, managerId));
+        return entityManager.persist(venue).getId();
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.Payment;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.PaymentRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a booking is only confirmed by payment while its hold is still
+ * open, read under the row lock the hold sweeper also has to take.
+ */
+class BookingPaymentTest {
+
+    private BookingRepository bookingRepository;
+    private PaymentRepository paymentRepository;
+    private PaymentServiceImpl paymentService;
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setId(1L);
+            return payment;
+        });
+        CourtOccupancyIndex occupancyIndex = mock(CourtOccupancyIndex.class);
+        paymentService = new PaymentServiceImpl(paymentRepository, bookingRepository, occupancyIndex, event -> { });
+        bookingService = new BookingServiceImpl(bookingRepository, mock(BookingBatchRepository.class),
+                mock(UserRepository.class), mock(VenueRepository.class), occupancyIndex,
+                mock(BookingLockManager.class), mock(BookingCounterStore.class), event -> { }, 60, 104, 15);
+    }
+
+    @Test
+    void openHoldIsConfirmedByPayment() {
+        Booking booking = booking(BookingStatus.PENDING, LocalDateTime.now().plusMinutes(5));
+
+        paymentService.processPayment(1L, 500.0, "CARD", "COMPLETED", "2025-03-14T10:00:00", "CARD", "txn");
+
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        verify(bookingRepository, never()).findById(any());
+    }
+
+    @Test
+    void expiredHoldIsNotPaidFor() {
+        Booking booking = booking(BookingStatus.PENDING, LocalDateTime.now().minusSeconds(1));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> paymentService
+                .processPayment(1L, 500.0, "CARD", "COMPLETED", "2025-03-14T10:00:00", "CARD", "txn"));
+
+        assertEquals("Booking hold has expired", error.getMessage());
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelledHoldIsNotPaidFor() {
+        Booking booking = booking(BookingStatus.CANCELLED, LocalDateTime.now().plusMinutes(5));
+
+        assertThrows(IllegalArgumentException.class, () -> paymentService
+                .processPayment(1L, 500.0, "CARD", "COMPLETED", "2025-03-14T10:00:00", "CARD", "txn"));
+
+        assertEquals(BookingStatus.CANCELLED, booking.getStatus());
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void confirmedBookingIsNotPaidForTwice() {
+        booking(BookingStatus.CONFIRMED, null);
+
+        assertThrows(IllegalArgumentException.class, () -> paymentService
+                .processPayment(1L, 500.0, "CARD", "COMPLETED", "2025-03-14T10:00:00", "CARD", "txn"));
+
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void paymentInfoConfirmsOpenHold() {
+        Booking booking = booking(BookingStatus.PENDING, LocalDateTime.now().plusMinutes(5));
+
+        bookingService.updatePaymentInfo(1L, "pay-1");
+
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        assertEquals("pay-1", booking.getPaymentId());
+    }
+
+    @Test
+    void paymentInfoRejectsExpiredAndCancelledHolds() {
+        Booking expired = booking(BookingStatus.PENDING, LocalDateTime.now().minusMinutes(1));
+        assertThrows(BadRequestException.class, () -> bookingService.updatePaymentInfo(1L, "pay-1"));
+        assertEquals(BookingStatus.PENDING, expired.getStatus());
+
+        Booking cancelled = booking(BookingStatus.CANCELLED, LocalDateTime.now().plusMinutes(5));
+        assertThrows(BadRequestException.class, () -> bookingService.updatePaymentInfo(1L, "pay-1"));
+        assertEquals(BookingStatus.CANCELLED, cancelled.getStatus());
+    }
+
+    private Booking booking(BookingStatus status, LocalDateTime holdExpiresAt) {
+        Venue venue = new Venue();
+        venue.setId(1L);
+        User user = new User();
+        user.setId(1L);
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setVenue(venue);
+        booking.setUser(user);
+        booking.setCourtNumber(1);
+        booking.setBookingDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setTotalAmount(500.0);
+        booking.setStatus(status);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        when(bookingRepository.lockById(1L)).thenReturn(Optional.of(booking));
+        return booking;
+    }
+}
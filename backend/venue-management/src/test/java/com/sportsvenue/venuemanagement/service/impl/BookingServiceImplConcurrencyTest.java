@@ -0,0 +1,190 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockBatchRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires many concurrent booking requests through {@link BookingServiceImpl}
+ * and checks that no court-day ever ends up double booked.
+ */
+class BookingServiceImplConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    private final Queue<Booking> savedBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final LocalDate date = LocalDate.now().plusDays(1);
+
+    private BookingServiceImpl bookingService;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        VenueRepository venueRepository = mock(VenueRepository.class);
+
+        Venue venue = new Venue();
+        venue.setId(1L);
+        venue.setTotalCourts(THREADS);
+        User user = new User();
+        user.setId(1L);
+
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(venueRepository.findById(anyLong())).thenReturn(Optional.of(venue));
+        when(bookingRepository.findActiveSlotsFrom(any(), any())).thenReturn(new ArrayList<>());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            // Widen the window between the availability check and the insert
+            Thread.sleep(1);
+            booking.setId(ids.incrementAndGet());
+            savedBookings.add(booking);
+            return booking;
+        });
+
+        CourtOccupancyIndex occupancyIndex = new CourtOccupancyIndex(bookingRepository);
+        occupancyIndex.rebuild();
+        BookingLockManager bookingLocks = new BookingLockManager(mock(CourtDayLockRepository.class),
+                mock(CourtDayLockBatchRepository.class), 256, false);
+
+        bookingService = new BookingServiceImpl(bookingRepository, mock(BookingBatchRepository.class),
+                userRepository, venueRepository, occupancyIndex, bookingLocks, mock(BookingCounterStore.class), event -> { },
+                60, 104, 15);
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @Test
+    void concurrentRequestsForSameSlotProduceSingleBooking() throws Exception {
+        int rounds = 25;
+        LocalTime start = LocalTime.of(19, 0);
+        for (int round = 0; round < rounds; round++) {
+            int court = round + 1;
+            int successes = race(THREADS, thread -> book(court, start, start.plusMinutes(30)));
+            assertEquals(1, successes, "exactly one request should win court " + court);
+        }
+        assertEquals(rounds, savedBookings.size());
+        assertNoOverlaps();
+        executor.shutdown();
+    }
+
+    @Test
+    void requestsForDifferentCourtsAllSucceed() throws Exception {
+        LocalTime start = LocalTime.of(18, 0);
+        int successes = race(THREADS, thread -> book(thread + 1, start, start.plusHours(1)));
+        assertEquals(THREADS, successes);
+        assertNoOverlaps();
+        executor.shutdown();
+    }
+
+    private boolean book(int court, LocalTime start, LocalTime end) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingService.createBooking(
+                    1L, 1L, date, start, end, court, 500.0));
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private int race(int threads, ThreadTask task) throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                gate.await();
+                if (task.run(thread)) {
+                    successes.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        gate.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return successes.get();
+    }
+
+    private void assertNoOverlaps() {
+        List<Booking> bookings = new ArrayList<>(savedBookings);
+        for (int i = 0; i < bookings.size(); i++) {
+            for (int j = i + 1; j < bookings.size(); j++) {
+                Booking a = bookings.get(i);
+                Booking b = bookings.get(j);
+                boolean overlap = a.getCourtNumber().equals(b.getCourtNumber())
+                        && a.getStartTime().isBefore(b.getEndTime())
+                        && b.getStartTime().isBefore(a.getEndTime());
+                assertTrue(!overlap, "bookings " + a.getId() + " and " + b.getId() + " overlap");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        boolean run(int thread);
+    }
+
+    /**
+     * Drives transaction synchronization callbacks without a database.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
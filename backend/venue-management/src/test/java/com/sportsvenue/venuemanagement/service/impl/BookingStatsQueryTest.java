@@ -0,0 +1,171 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.CourtDayLockBatchRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a large booking table and checks that the counters behind the
+ * statistics endpoints are rebuilt by a fixed number of aggregate queries
+ * without loading entities, and then served without touching the database.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-stats;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BookingServiceImpl.class, BookingBatchRepository.class, CourtDayLockBatchRepository.class,
+        CourtOccupancyIndex.class, BookingLockManager.class, BookingCounterStore.class })
+class BookingStatsQueryTest {
+
+    private static final int BOOKINGS = 100_000;
+    private static final int VENUES = 20;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    // Loading 100k bookings as entities allocates well over this
+    private static final long MAX_ALLOCATED_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingCounterStore bookingCounters;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<BookingStatus, Long> expectedCounts = new HashMap<>();
+    private final Map<Long, Long> expectedPerVenue = new HashMap<>();
+    private double expectedRevenue;
+
+    @BeforeEach
+    void seed() {
+        User user = new User();
+        user.setUsername("player");
+        user.setPassword("secret1");
+        user.setEmail("player@example.com");
+        user.setRole("PLAYER");
+        entityManager.persist(user);
+
+        List<Long> venueIds = new ArrayList<>();
+        for (int i = 0; i < VENUES; i++) {
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setTotalCourts(4);
+            venueIds.add(entityManager.persist(venue).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        LocalDate date = LocalDate.now().minusYears(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            long venueId = venueIds.get(i % VENUES);
+            BookingStatus status = STATUSES[i % STATUSES.length];
+            double amount = 100 + (i % 7) * 50;
+            rows.add(new Object[] { venueId, user.getId(), Date.valueOf(date.plusDays(i % 365)),
+                    Time.valueOf(LocalTime.of(6 + i % 16, 0)), Time.valueOf(LocalTime.of(7 + i % 16, 0)),
+                    1 + i % 4, amount, status.name(), Date.valueOf(date) });
+
+            expectedCounts.merge(status, 1L, Long::sum);
+            expectedPerVenue.merge(venueId, 1L, Long::sum);
+            if (status == BookingStatus.CONFIRMED) {
+                expectedRevenue += amount;
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (venue_id, user_id, booking_date, start_time, end_time, " +
+                "court_number, total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void reconcileUsesOneAggregateQueryPerSource() {
+        // Warm up query plans so their one-off cost is not measured
+        bookingCounters.reconcile();
+        Statistics statistics = resetStatistics();
+        long allocatedBefore = allocatedBytes();
+
+        bookingCounters.reconcile();
+
+        long allocated = allocatedBytes() - allocatedBefore;
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(allocated < MAX_ALLOCATED_BYTES, "allocated " + allocated + " bytes");
+        assertStatusStats(bookingService.getAdminBookingStats());
+    }
+
+    @Test
+    void statsAreServedFromCountersWithoutQueries() {
+        bookingCounters.reconcile();
+        Statistics statistics = resetStatistics();
+
+        Map<String, Object> adminStats = bookingService.getAdminBookingStats();
+        Map<String, Object> managerStats = bookingService.getManagerBookingStats();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertStatusStats(adminStats);
+        assertStatusStats(managerStats);
+        assertEquals(expectedPerVenue, managerStats.get("bookingsPerVenue"));
+    }
+
+    private void assertStatusStats(Map<String, Object> stats) {
+        assertEquals((long) BOOKINGS, stats.get("totalBookings"));
+        assertEquals(expectedCounts.get(BookingStatus.CONFIRMED), stats.get("activeBookings"));
+        assertEquals(expectedCounts.get(BookingStatus.PENDING), stats.get("pendingBookings"));
+        assertEquals(expectedRevenue, (Double) stats.get("totalRevenue"), 0.001);
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
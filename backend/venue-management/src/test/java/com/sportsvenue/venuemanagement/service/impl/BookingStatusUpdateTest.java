@@ -0,0 +1,159 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.BookingStatus;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a booking taking its court back, on creation or through a
+ * status change, holds the court-day lock and re-checks for conflicts, both
+ * against the database guard and against the occupancy index.
+ */
+class BookingStatusUpdateTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final CourtDayKey key = new CourtDayKey(1L, 1, date);
+
+    private BookingRepository bookingRepository;
+    private CourtOccupancyIndex occupancyIndex;
+    private BookingLockManager bookingLocks;
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        occupancyIndex = mock(CourtOccupancyIndex.class);
+        bookingLocks = mock(BookingLockManager.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user()));
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        when(venueRepository.findById(anyLong())).thenReturn(Optional.of(venue()));
+        bookingService = new BookingServiceImpl(bookingRepository, mock(BookingBatchRepository.class),
+                userRepository, venueRepository, occupancyIndex, bookingLocks, mock(BookingCounterStore.class),
+                event -> { }, 60, 104, 15);
+    }
+
+    @Test
+    void dbGuardRejectsCreatingOverAnExistingBooking() {
+        when(bookingLocks.isDbGuardEnabled()).thenReturn(true);
+        conflictInDatabase();
+
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(1L, 1L, date,
+                LocalTime.of(10, 0), LocalTime.of(11, 0), 1, 500.0));
+
+        verify(bookingLocks).lockForTransaction(List.of(key));
+        verify(bookingRepository, never()).save(any());
+        verify(occupancyIndex, never()).covers(any());
+    }
+
+    @Test
+    void dbGuardRejectsReactivatingOverANewerBooking() {
+        when(bookingLocks.isDbGuardEnabled()).thenReturn(true);
+        conflictInDatabase();
+        Booking cancelled = booking(BookingStatus.CANCELLED, null);
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.updateBookingStatus(1L, BookingStatus.CONFIRMED));
+
+        verify(bookingLocks).lockForTransaction(List.of(key));
+        assertEquals(BookingStatus.CANCELLED, cancelled.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void dbGuardLetsAFreeCourtBeReactivated() {
+        when(bookingLocks.isDbGuardEnabled()).thenReturn(true);
+        Booking cancelled = booking(BookingStatus.CANCELLED, null);
+
+        bookingService.updateBookingStatus(1L, BookingStatus.PENDING);
+
+        verify(bookingLocks).lockForTransaction(List.of(key));
+        assertEquals(BookingStatus.PENDING, cancelled.getStatus());
+    }
+
+    @Test
+    void expiredHoldIsCheckedAgainstTheIndexWithoutTheGuard() {
+        when(occupancyIndex.covers(date)).thenReturn(true);
+        when(occupancyIndex.hasConflict(1L, 1, date, LocalTime.of(10, 0), LocalTime.of(11, 0))).thenReturn(true);
+        Booking expired = booking(BookingStatus.PENDING, LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.updateBookingStatus(1L, BookingStatus.CONFIRMED));
+
+        verify(bookingLocks).lockForTransaction(List.of(key));
+        assertEquals(BookingStatus.PENDING, expired.getStatus());
+    }
+
+    @Test
+    void bookingThatStillHoldsItsCourtIsNotReChecked() {
+        when(bookingLocks.isDbGuardEnabled()).thenReturn(true);
+        Booking open = booking(BookingStatus.PENDING, LocalDateTime.now().plusMinutes(5));
+
+        bookingService.updateBookingStatus(1L, BookingStatus.CONFIRMED);
+        bookingService.updateBookingStatus(1L, BookingStatus.CANCELLED);
+
+        assertEquals(BookingStatus.CANCELLED, open.getStatus());
+        verify(bookingLocks, never()).lockForTransaction(any());
+        verify(bookingRepository, never()).findConflictingBookings(any(), any(), any(), any(), any(), any());
+    }
+
+    private void conflictInDatabase() {
+        when(bookingRepository.findConflictingBookings(any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(new Booking()));
+    }
+
+    private Booking booking(BookingStatus status, LocalDateTime holdExpiresAt) {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setVenue(venue());
+        booking.setUser(user());
+        booking.setCourtNumber(1);
+        booking.setBookingDate(date);
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setTotalAmount(500.0);
+        booking.setStatus(status);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        when(bookingRepository.lockById(1L)).thenReturn(Optional.of(booking));
+        return booking;
+    }
+
+    private static Venue venue() {
+        Venue venue = new Venue();
+        venue.setId(1L);
+        return venue;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(1L);
+        return user;
+    }
+}
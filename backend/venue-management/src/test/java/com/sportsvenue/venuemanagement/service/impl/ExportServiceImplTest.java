@@ -0,0 +1,88 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.repository.ExportRepository;
+import com.sportsvenue.venuemanagement.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the CSV an export writes, in particular that text cells cannot be
+ * read as spreadsheet formulas.
+ */
+class ExportServiceImplTest {
+
+    private final LocalDate from = LocalDate.of(2025, 3, 1);
+    private final LocalDate to = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void formulaLikeTextCellsAreQuoted() throws Exception {
+        String csv = exportCsv(new String[] { "id", "username", "amount" },
+                new int[] { Types.BIGINT, Types.VARCHAR, Types.DECIMAL },
+                new String[][] {
+                        { "1", "=HYPERLINK(\"http://x\")", "-12.50" },
+                        { "2", "+1", "10.00" },
+                        { "3", "-2+3", "10.00" },
+                        { "4", "@SUM(A1)", "10.00" },
+                        { "5", "\tcmd", "10.00" },
+                        { "6", "\rcmd", "10.00" },
+                        { "7", "plain", "10.00" } });
+
+        assertEquals("id,username,amount\r\n"
+                + "1,\"'=HYPERLINK(\"\"http://x\"\")\",-12.50\r\n"
+                + "2,'+1,10.00\r\n"
+                + "3,'-2+3,10.00\r\n"
+                + "4,'@SUM(A1),10.00\r\n"
+                + "5,'\tcmd,10.00\r\n"
+                + "6,\"'\rcmd\",10.00\r\n"
+                + "7,plain,10.00\r\n", csv);
+    }
+
+    @Test
+    void fieldsWithSeparatorsAreQuotedAndNullsLeftEmpty() throws Exception {
+        String csv = exportCsv(new String[] { "name", "note" }, new int[] { Types.VARCHAR, Types.VARCHAR },
+                new String[][] { { "Court, \"A\"", null } });
+
+        assertEquals("name,note\r\n\"Court, \"\"A\"\"\",\r\n", csv);
+    }
+
+    private String exportCsv(String[] labels, int[] types, String[][] rows) throws Exception {
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(meta.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(meta.getColumnLabel(i + 1)).thenReturn(labels[i]);
+            when(meta.getColumnType(i + 1)).thenReturn(types[i]);
+        }
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(meta);
+        int[] row = { 0 };
+        when(rs.getString(anyInt()))
+                .thenAnswer(invocation -> rows[row[0]][invocation.<Integer>getArgument(0) - 1]);
+
+        ExportRepository exportRepository = mock(ExportRepository.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (row[0] = 0; row[0] < rows.length; row[0]++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(exportRepository).streamBookings(any(), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ExportServiceImpl(exportRepository).exportBookings(ExportService.Format.CSV, from, to, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
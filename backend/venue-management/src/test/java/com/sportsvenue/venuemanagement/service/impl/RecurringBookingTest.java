@@ -0,0 +1,125 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BatchBookingResult;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.Booking;
+import com.sportsvenue.venuemanagement.model.User;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.repository.BookingBatchRepository;
+import com.sportsvenue.venuemanagement.repository.BookingRepository;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.service.BookingCounterStore;
+import com.sportsvenue.venuemanagement.service.BookingLockManager;
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a recurring series is validated before any lock is taken, and
+ * that a valid series locks all of its court-days in one call.
+ */
+class RecurringBookingTest {
+
+    private final LocalDate firstDate = LocalDate.now().plusDays(1);
+    private final LocalTime start = LocalTime.of(18, 0);
+    private final LocalTime end = LocalTime.of(19, 0);
+
+    private BookingRepository bookingRepository;
+    private BookingBatchRepository bookingBatchRepository;
+    private BookingLockManager bookingLocks;
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        bookingBatchRepository = mock(BookingBatchRepository.class);
+        bookingLocks = mock(BookingLockManager.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        when(venueRepository.existsById(anyLong())).thenReturn(true);
+        Venue venue = new Venue();
+        venue.setId(1L);
+        when(venueRepository.getReferenceById(anyLong())).thenReturn(venue);
+        bookingService = new BookingServiceImpl(bookingRepository, bookingBatchRepository, userRepository,
+                venueRepository, mock(CourtOccupancyIndex.class), bookingLocks, mock(BookingCounterStore.class),
+                event -> { }, 60, 104, 15);
+    }
+
+    @Test
+    void missingFirstDateIsRejected() {
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, null, start, end, 1, 20.0, 4, 1));
+    }
+
+    @Test
+    void missingTimesAreRejected() {
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, null, end, 1, 20.0, 4, 1));
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, null, 1, 20.0, 4, 1));
+    }
+
+    @Test
+    void startMustBeBeforeEnd() {
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, end, start, 1, 20.0, 4, 1));
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, start, 1, 20.0, 4, 1));
+    }
+
+    @Test
+    void missingCourtIsRejected() {
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, end, null, 20.0, 4, 1));
+    }
+
+    @Test
+    void occurrencesAndIntervalAreBounded() {
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, end, 1, 20.0, 0, 1));
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, end, 1, 20.0, 105, 1));
+        assertRejected(() -> bookingService.createRecurringBookings(1L, 1L, firstDate, start, end, 1, 20.0, 4, 0));
+    }
+
+    @Test
+    void aValidSeriesLocksEveryCourtDayInOneCall() {
+        when(bookingRepository.findActiveSlotsForCourtBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        doAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(i + 1L);
+            }
+            return null;
+        }).when(bookingBatchRepository).insertAll(any());
+
+        BatchBookingResult result = bookingService.createRecurringBookings(1L, 1L, firstDate, start, end, 1, 20.0,
+                3, 2);
+
+        assertTrue(result.isCommitted());
+        verify(bookingLocks).lockForTransaction(List.of(new CourtDayKey(1L, 1, firstDate),
+                new CourtDayKey(1L, 1, firstDate.plusWeeks(2)), new CourtDayKey(1L, 1, firstDate.plusWeeks(4))));
+        assertEquals(3, result.getOccurrences().size());
+    }
+
+    private void assertRejected(Runnable call) {
+        assertThrows(BadRequestException.class, call::run);
+        verifyNoInteractions(bookingLocks, bookingBatchRepository);
+        verify(bookingRepository, never()).findActiveSlotsForCourtBetween(any(), any(), any(), any(), any());
+    }
+}
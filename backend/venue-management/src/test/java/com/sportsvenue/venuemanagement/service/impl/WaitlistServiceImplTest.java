@@ -0,0 +1,171 @@
+package com.sportsvenue.venuemanagement.service.impl;
+
+import com.sportsvenue.venuemanagement.dto.BookingIntakeRequest;
+import com.sportsvenue.venuemanagement.dto.GroupBookingOutcome;
+import com.sportsvenue.venuemanagement.dto.WaitlistRequest;
+import com.sportsvenue.venuemanagement.event.SlotReleasedEvent;
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import com.sportsvenue.venuemanagement.model.Venue;
+import com.sportsvenue.venuemanagement.model.WaitlistEntry;
+import com.sportsvenue.venuemanagement.model.WaitlistStatus;
+import com.sportsvenue.venuemanagement.repository.UserRepository;
+import com.sportsvenue.venuemanagement.repository.VenueRepository;
+import com.sportsvenue.venuemanagement.repository.WaitlistEntryRepository;
+import com.sportsvenue.venuemanagement.service.BookingService;
+import com.sportsvenue.venuemanagement.service.CourtDayKey;
+import com.sportsvenue.venuemanagement.service.CourtOccupancyIndex;
+import com.sportsvenue.venuemanagement.service.WaitlistIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that waitlist order is set by the server, that promotion runs off
+ * the thread that released the slot, and that one failed promotion does not
+ * hold up the rest of the list.
+ */
+class WaitlistServiceImplTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final CourtDayKey key = new CourtDayKey(1L, 1, date);
+    private final Map<Long, WaitlistEntry> entries = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private BookingService bookingService;
+    private CourtOccupancyIndex occupancyIndex;
+    private WaitlistIndex waitlistIndex;
+    private WaitlistServiceImpl waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        WaitlistEntryRepository waitlistEntryRepository = mock(WaitlistEntryRepository.class);
+        when(waitlistEntryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            if (entry.getId() == null) {
+                entry.setId(ids.incrementAndGet());
+            }
+            entries.put(entry.getId(), entry);
+            return entry;
+        });
+        when(waitlistEntryRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(entries.get(invocation.<Long>getArgument(0))));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        Venue venue = new Venue();
+        venue.setId(1L);
+        venue.setTotalCourts(2);
+        when(venueRepository.findById(1L)).thenReturn(Optional.of(venue));
+
+        bookingService = mock(BookingService.class);
+        occupancyIndex = mock(CourtOccupancyIndex.class);
+        waitlistIndex = new WaitlistIndex(waitlistEntryRepository);
+        waitlistService = new WaitlistServiceImpl(waitlistEntryRepository, userRepository, venueRepository,
+                bookingService, waitlistIndex, occupancyIndex, mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        waitlistService.shutdown();
+    }
+
+    @Test
+    void waitersJoinAtDefaultPriorityInJoinOrder() {
+        WaitlistEntry first = waitlistService.joinWaitlist(request(1L));
+        WaitlistEntry second = waitlistService.joinWaitlist(request(2L));
+
+        assertEquals(0, first.getPriority());
+        assertEquals(0, second.getPriority());
+        assertEquals(List.of(first.getId(), second.getId()), waitingIds());
+    }
+
+    @Test
+    void raisedPriorityMovesAWaiterAhead() {
+        WaitlistEntry first = waitlistService.joinWaitlist(request(1L));
+        WaitlistEntry second = waitlistService.joinWaitlist(request(2L));
+
+        waitlistService.updatePriority(second.getId(), 5);
+
+        assertEquals(List.of(second.getId(), first.getId()), waitingIds());
+    }
+
+    @Test
+    void onlyWaitingEntriesCanBeReprioritised() {
+        WaitlistEntry entry = waitlistService.joinWaitlist(request(1L));
+        entry.setStatus(WaitlistStatus.PROMOTED);
+
+        assertThrows(BadRequestException.class, () -> waitlistService.updatePriority(entry.getId(), 5));
+    }
+
+    @Test
+    void promotionRunsOffTheReleasingThread() throws Exception {
+        CompletableFuture<String> promotingThread = new CompletableFuture<>();
+        when(occupancyIndex.covers(date)).thenAnswer(invocation -> {
+            promotingThread.complete(Thread.currentThread().getName());
+            return false;
+        });
+
+        waitlistService.onSlotReleased(new SlotReleasedEvent(key));
+
+        String threadName = promotingThread.get(5, TimeUnit.SECONDS);
+        assertEquals("waitlist-promoter", threadName);
+        assertNotEquals(Thread.currentThread().getName(), threadName);
+    }
+
+    @Test
+    void waiterWithoutAmountCannotJoin() {
+        WaitlistRequest request = request(1L);
+        request.setTotalAmount(null);
+
+        assertThrows(BadRequestException.class, () -> waitlistService.joinWaitlist(request));
+    }
+
+    @Test
+    void failedPromotionDoesNotStallTheWaitersBehindIt() {
+        WaitlistEntry broken = waitlistService.joinWaitlist(request(1L));
+        WaitlistEntry next = waitlistService.joinWaitlist(request(2L));
+        when(occupancyIndex.covers(date)).thenReturn(true);
+        when(bookingService.createBookingGroup(any())).thenAnswer(invocation -> {
+            BookingIntakeRequest request = invocation.<List<BookingIntakeRequest>>getArgument(0).get(0);
+            if (request.getUserId() == 1L) {
+                throw new IllegalStateException("insert failed");
+            }
+            return List.of(GroupBookingOutcome.booked(42L));
+        });
+
+        assertEquals(List.of(42L), waitlistService.promoteWaiters(key));
+        assertEquals(WaitlistStatus.FAILED, broken.getStatus());
+        assertEquals(WaitlistStatus.PROMOTED, next.getStatus());
+        assertEquals(List.of(), waitingIds());
+    }
+
+    private List<Long> waitingIds() {
+        List<Long> waiting = new ArrayList<>();
+        waitlistIndex.waitersFor(key).forEach(waiter -> waiting.add(waiter.entryId()));
+        return waiting;
+    }
+
+    private WaitlistRequest request(Long userId) {
+        return new WaitlistRequest(1L, userId, date, LocalTime.of(10, 0), LocalTime.of(11, 0), 1, 500.0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.sportsvenue.venuemanagement.util;
+
+import com.sportsvenue.venuemanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that cursors survive a round trip as URL-safe tokens, that a
+ * missing token starts from the top and that malformed tokens are rejected.
+ */
+class BookingCursorTest {
+
+    @Test
+    void encodedCursorDecodesToItself() {
+        BookingCursor cursor = new BookingCursor(LocalDate.of(2025, 2, 28), 123_456_789_012L);
+
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+        assertEquals(BookingCursor.START, BookingCursor.decode(BookingCursor.START.encode()));
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        for (long id = 0; id < 2_000; id += 7) {
+            String token = new BookingCursor(LocalDate.of(2024, 1, 1).plusDays(id), id).encode();
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        }
+    }
+
+    @Test
+    void missingTokenStartsFromTheTop() {
+        assertEquals(BookingCursor.START, BookingCursor.decode(null));
+        assertEquals(BookingCursor.START, BookingCursor.decode(""));
+        assertEquals(BookingCursor.START, BookingCursor.decode("  "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2025-01-01", "2025-13-01:5", "2025-01-01:x", ":5", "2025-01-01:" })
+    void malformedTokensAreRejected(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode(token));
+    }
+
+    @Test
+    void tokensThatAreNotBase64AreRejected() {
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("not a cursor!"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.sportsvenue.venuemanagement.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the bounded edit distance against known distances, and that it
+ * gives up with {@code max + 1} once the distance is over the bound.
+ */
+class EditDistanceTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "badminton, badminton, 0",
+            "badmintn, badminton, 1",
+            "badminton, badmintno, 1",
+            "badmniton, badminton, 1",
+            "tenis, tennis, 1",
+            "tennis, tenis, 1",
+            "koramangla, koramangala, 1",
+            "squosh, squash, 1",
+            "bdmintn, badminton, 2",
+            "abcd, badc, 2",
+            "'', ab, 2"
+    })
+    void distanceWithinTheBound(String a, String b, int distance) {
+        assertEquals(distance, EditDistance.bounded(a, b, 2));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "tennis, cricket, 2",
+            "badminton, basketball, 2",
+            "futsal, football, 2",
+            "ab, abcd, 1",
+            "abc, cba, 1",
+            "court, courts, 0"
+    })
+    void distanceOverTheBoundIsCutShort(String a, String b, int max) {
+        assertEquals(max + 1, EditDistance.bounded(a, b, max));
+    }
+}
@@ -0,0 +1,108 @@
+package com.sportsvenue.venuemanagement.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that estimates stay within the documented relative standard error,
+ * that small cardinalities are close to exact and that merging behaves like
+ * a union.
+ */
+class HyperLogLogTest {
+
+    private static final int PRECISION = 12;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1_000, 10_000, 100_000, 1_000_000 })
+    void estimateIsWithinThreeStandardErrors(int distinct) {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (long value = 1; value <= distinct; value++) {
+            sketch.add(value);
+        }
+
+        assertWithin(3 * HyperLogLog.relativeStandardError(PRECISION), distinct, sketch.estimate());
+    }
+
+    @Test
+    void errorAveragedOverManySketchesMatchesTheDocumentedBound() {
+        int sketches = 200;
+        int distinct = 20_000;
+        double sumOfSquares = 0;
+        for (int s = 0; s < sketches; s++) {
+            HyperLogLog sketch = new HyperLogLog(PRECISION);
+            long offset = (long) s * distinct;
+            for (long value = 1; value <= distinct; value++) {
+                sketch.add(offset + value);
+            }
+            double relative = (sketch.estimate() - distinct) / (double) distinct;
+            sumOfSquares += relative * relative;
+        }
+        double observed = Math.sqrt(sumOfSquares / sketches);
+
+        assertTrue(observed <= 1.25 * HyperLogLog.relativeStandardError(PRECISION),
+                "observed standard error " + observed);
+    }
+
+    @Test
+    void smallCardinalitiesAreCloseToExact() {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        assertEquals(0, sketch.estimate());
+        for (long value = 1; value <= 100; value++) {
+            sketch.add(value);
+            assertWithin(0.02, value, sketch.estimate());
+        }
+    }
+
+    @Test
+    void repeatedValuesDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (long value = 1; value <= 5_000; value++) {
+            sketch.add(value);
+        }
+        long estimate = sketch.estimate();
+        for (int round = 0; round < 3; round++) {
+            for (long value = 1; value <= 5_000; value++) {
+                sketch.add(value);
+            }
+        }
+
+        assertEquals(estimate, sketch.estimate());
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog(PRECISION);
+        HyperLogLog right = new HyperLogLog(PRECISION);
+        HyperLogLog union = new HyperLogLog(PRECISION);
+        for (long value = 1; value <= 60_000; value++) {
+            left.add(value);
+            union.add(value);
+        }
+        for (long value = 40_001; value <= 100_000; value++) {
+            right.add(value);
+            union.add(value);
+        }
+
+        left.merge(right);
+
+        assertEquals(union.estimate(), left.estimate());
+        assertWithin(3 * HyperLogLog.relativeStandardError(PRECISION), 100_000, left.estimate());
+    }
+
+    @Test
+    void precisionIsBoundedAndMustMatchToMerge() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(14)));
+    }
+
+    private static void assertWithin(double relativeError, long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= Math.max(1, relativeError * expected),
+                "estimate " + actual + " for " + expected);
+    }
+}
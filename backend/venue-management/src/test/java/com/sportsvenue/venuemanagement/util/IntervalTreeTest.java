@@ -0,0 +1,152 @@
+package com.sportsvenue.venuemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks half-open boundaries, expiry, replacement and removal, and compares
+ * the tree with a brute-force list over random operations.
+ */
+class IntervalTreeTest {
+
+    private static final long NOW = 1_000;
+
+    private final IntervalTree tree = new IntervalTree();
+
+    @Test
+    void intervalsThatOnlyTouchDoNotOverlap() {
+        tree.put(1, 600, 660, IntervalTree.NEVER_EXPIRES);
+
+        assertFalse(tree.overlaps(540, 600, NOW));
+        assertFalse(tree.overlaps(660, 720, NOW));
+        assertTrue(tree.overlaps(599, 601, NOW));
+        assertTrue(tree.overlaps(659, 660, NOW));
+        assertTrue(tree.overlaps(500, 800, NOW));
+        assertEquals(660, tree.nextFreeGap(600, 60, 1440, NOW));
+        assertEquals(540, tree.nextFreeGap(540, 60, 1440, NOW));
+    }
+
+    @Test
+    void expiredIntervalsAreIgnored() {
+        tree.put(1, 600, 660, NOW);
+        tree.put(2, 700, 760, NOW + 1);
+
+        assertFalse(tree.overlaps(600, 660, NOW));
+        assertTrue(tree.overlaps(700, 760, NOW));
+        assertFalse(tree.overlaps(700, 760, NOW + 1));
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        tree.put(1, 600, 660, IntervalTree.NEVER_EXPIRES);
+        tree.put(1, 720, 780, IntervalTree.NEVER_EXPIRES);
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(600, 660, NOW));
+        assertTrue(tree.overlaps(720, 780, NOW));
+
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.overlaps(0, 1440, NOW));
+    }
+
+    @Test
+    void removingANodeKeepsItsNeighboursReachable() {
+        // same start, so removal has to tell them apart by id
+        tree.put(1, 600, 900, IntervalTree.NEVER_EXPIRES);
+        tree.put(2, 600, 660, IntervalTree.NEVER_EXPIRES);
+        tree.put(3, 540, 570, IntervalTree.NEVER_EXPIRES);
+
+        tree.remove(1);
+
+        assertFalse(tree.overlaps(700, 800, NOW));
+        assertTrue(tree.overlaps(650, 700, NOW));
+        assertTrue(tree.overlaps(560, 561, NOW));
+    }
+
+    @Test
+    void freeGapsSkipShortGapsAndMergeOverlaps() {
+        tree.put(1, 600, 660, IntervalTree.NEVER_EXPIRES);
+        tree.put(2, 630, 700, IntervalTree.NEVER_EXPIRES);
+        tree.put(3, 730, 800, IntervalTree.NEVER_EXPIRES);
+
+        List<int[]> gaps = tree.freeGaps(540, 900, 60, NOW);
+
+        assertEquals(2, gaps.size());
+        assertArrayEquals(new int[] { 540, 600 }, gaps.get(0));
+        assertArrayEquals(new int[] { 800, 900 }, gaps.get(1));
+        assertEquals(-1, tree.nextFreeGap(600, 60, 790, NOW));
+    }
+
+    @Test
+    void treeStaysBalancedForSortedInsertsAndRemovals() {
+        int intervals = 1 << 14;
+        for (int i = 0; i < intervals; i++) {
+            tree.put(i, i * 10, i * 10 + 5, IntervalTree.NEVER_EXPIRES);
+        }
+        // a treap is about 3 log2(n) deep; a degenerate tree would be n deep
+        assertTrue(tree.height() < 4 * 14, "height " + tree.height());
+
+        for (int i = 0; i < intervals; i += 2) {
+            tree.remove(i);
+        }
+        assertEquals(intervals / 2, tree.size());
+        assertTrue(tree.height() < 4 * 13, "height " + tree.height());
+        assertFalse(tree.overlaps(0, 10, NOW));
+        assertTrue(tree.overlaps(10, 11, NOW));
+    }
+
+    @Test
+    void matchesBruteForceOverRandomOperations() {
+        Random random = new Random(7);
+        Map<Long, long[]> model = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                assertEquals(model.remove(id) != null, tree.remove(id));
+            } else {
+                int start = random.nextInt(1400);
+                int end = start + 1 + random.nextInt(120);
+                long expiresAt = random.nextInt(4) == 0 ? NOW - random.nextInt(2) : IntervalTree.NEVER_EXPIRES;
+                tree.put(id, start, end, expiresAt);
+                model.put(id, new long[] { start, end, expiresAt });
+            }
+
+            int from = random.nextInt(1440);
+            int to = from + 1 + random.nextInt(180);
+            assertEquals(overlaps(model, from, to), tree.overlaps(from, to, NOW), "step " + step);
+            int length = 1 + random.nextInt(90);
+            assertEquals(nextFreeGap(model, from, length, 1600), tree.nextFreeGap(from, length, 1600, NOW),
+                    "step " + step);
+        }
+        assertEquals(model.size(), tree.size());
+    }
+
+    private static boolean overlaps(Map<Long, long[]> model, int start, int end) {
+        for (long[] interval : model.values()) {
+            if (interval[2] > NOW && interval[0] < end && interval[1] > start) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextFreeGap(Map<Long, long[]> model, int from, int length, int limit) {
+        for (int t = from; t + length <= limit; t++) {
+            if (!overlaps(model, t, t + length)) {
+                return t;
+            }
+        }
+        return -1;
+    }
+}
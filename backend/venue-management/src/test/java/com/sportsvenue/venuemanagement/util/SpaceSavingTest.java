@@ -0,0 +1,94 @@
+package com.sportsvenue.venuemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the documented guarantees against exact counts: reported counts
+ * never undercount, overcount by at most their error and at most
+ * {@code total / capacity}, and every item above that frequency is reported.
+ */
+class SpaceSavingTest {
+
+    private static final int CAPACITY = 64;
+
+    @Test
+    void countsStayWithinTheirErrorBoundsOnASkewedStream() {
+        SpaceSaving<Integer> sketch = new SpaceSaving<>(CAPACITY);
+        Map<Integer, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int item = zipf(random, 10_000);
+            sketch.add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        assertEquals(200_000, sketch.total());
+        assertEquals(200_000 / CAPACITY, sketch.maxError());
+        List<SpaceSaving.Counter<Integer>> top = sketch.top(CAPACITY);
+        for (SpaceSaving.Counter<Integer> counter : top) {
+            long actual = exact.getOrDefault(counter.item(), 0L);
+            assertTrue(counter.count() >= actual, "undercounted " + counter.item());
+            assertTrue(counter.count() - counter.error() <= actual, "lower bound above true count");
+            assertTrue(counter.error() <= sketch.maxError(), "error above total / capacity");
+        }
+        List<Integer> reported = top.stream().map(SpaceSaving.Counter::item).toList();
+        exact.forEach((item, count) -> {
+            if (count > sketch.maxError()) {
+                assertTrue(reported.contains(item), "missed heavy hitter " + item);
+            }
+        });
+    }
+
+    @Test
+    void countsAreExactUntilCapacityIsReached() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(3);
+        for (String item : new String[] { "a", "b", "a", "c", "a", "b" }) {
+            sketch.add(item);
+        }
+
+        List<SpaceSaving.Counter<String>> top = sketch.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals("a", top.get(0).item());
+        assertEquals(3, top.get(0).count());
+        assertEquals(0, top.get(0).error());
+        assertEquals("b", top.get(1).item());
+        assertEquals(2, top.get(1).count());
+    }
+
+    @Test
+    void newItemInheritsTheSmallestCountAsItsError() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(2);
+        sketch.add("a");
+        sketch.add("a");
+        sketch.add("b");
+
+        sketch.add("c");
+
+        SpaceSaving.Counter<String> c = sketch.top(2).stream().filter(counter -> counter.item().equals("c"))
+                .findFirst().orElseThrow();
+        assertEquals(2, c.count());
+        assertEquals(1, c.error());
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving<String>(0));
+    }
+
+    /**
+     * Zipf-like draw over {@code [0, n)}: item {@code k} has weight {@code 1 / (k + 1)}.
+     */
+    private static int zipf(Random random, int n) {
+        return (int) Math.floor(Math.exp(random.nextDouble() * Math.log(n + 1))) - 1;
+    }
+}
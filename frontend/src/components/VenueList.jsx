@@ -4,6 +4,9 @@ import { useAuth } from '../context/AuthContext';
 import api from '../api/api';
 import { toast } from 'react-toastify';
 
+const SEARCH_PAGE_SIZE = 50;
+const MAX_SEARCH_RESULTS = 200;
+
 const VenueList = () => {
   const navigate = useNavigate();
   const { isLoggedIn } = useAuth();
@@ -12,6 +15,7 @@ const VenueList = () => {
   const [error, setError] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedSport, setSelectedSport] = useState('');
+  const [searchLimit, setSearchLimit] = useState(null);
 
   useEffect(() => {
     fetchVenues();
@@ -29,11 +33,14 @@ const VenueList = () => {
     }
   };
 
-  const handleSearch = async () => {
+  const search = async (limit) => {
     try {
       setLoading(true);
-      const response = await api.get(`/venues/search?q=${searchTerm}&sportType=${selectedSport}`);
+      const response = await api.get('/venues/search', {
+        params: { q: searchTerm, sportType: selectedSport, limit },
+      });
       setVenues(response.data);
+      setSearchLimit(limit);
       setLoading(false);
     } catch (err) {
       console.error('Error searching venues:', err);
@@ -42,6 +49,24 @@ const VenueList = () => {
     }
   };
 
+  const handleSearch = () => {
+    if (!searchTerm.trim() && !selectedSport) {
+      // Nothing to rank by, so show every venue rather than the first page
+      setSearchLimit(null);
+      setLoading(true);
+      fetchVenues();
+      return;
+    }
+    search(SEARCH_PAGE_SIZE);
+  };
+
+  const handleLoadMore = () => {
+    search(Math.min(searchLimit + SEARCH_PAGE_SIZE, MAX_SEARCH_RESULTS));
+  };
+
+  // A full page may have been cut short by the limit
+  const canLoadMore = searchLimit !== null && venues.length === searchLimit && searchLimit < MAX_SEARCH_RESULTS;
+
   const handleBookNow = (venueId) => {
     if (!isLoggedIn) {
       toast.error('Please log in to book a venue');
@@ -131,6 +156,17 @@ const VenueList = () => {
         ))}
       </div>
       
+      {canLoadMore && (
+        <div className="text-center mt-8">
+          <button
+            onClick={handleLoadMore}
+            className="px-4 py-2 border border-blue-500 text-blue-500 rounded-md hover:bg-blue-50 focus:outline-none focus:ring-2 focus:ring-blue-500"
+          >
+            Load more
+          </button>
+        </div>
+      )}
+
       {venues.length === 0 && (
         <div className="text-center text-gray-500 text-xl mt-8">
           No venues found matching your search criteria.
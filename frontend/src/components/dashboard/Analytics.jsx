@@ -23,25 +23,24 @@ const Analytics = () => {
   useEffect(() => {
     const fetchAnalytics = async () => {
       try {
-        const [venueAnalytics, userAnalytics, bookingAnalytics] = await Promise.all([
-          api.get('/admin/analytics/venues'),
-          api.get('/admin/analytics/users'),
-          api.get('/admin/analytics/bookings')
-        ]);
+        const { data } = await api.get('/admin/analytics/dashboard', {
+          params: { sections: 'users,venues,bookings' }
+        });
+        const { users = {}, venues = {}, bookings = {} } = data;
 
         setAnalytics({
-          totalUsers: userAnalytics.data.totalUsers,
-          totalVenues: venueAnalytics.data.totalVenues,
-          totalBookings: venueAnalytics.data.totalBookings,
-          totalRevenue: venueAnalytics.data.totalRevenue,
-          recentBookings: bookingAnalytics.data.recentBookings || [],
-          userGrowth: userAnalytics.data.userGrowth || [],
-          revenueTrend: venueAnalytics.data.revenueTrend || [],
-          activeUsers: userAnalytics.data.activeUsers || 0,
-          pendingBookings: bookingAnalytics.data.pendingBookings || 0,
-          completedBookings: bookingAnalytics.data.completedBookings || 0,
-          averageBookingValue: bookingAnalytics.data.averageBookingValue || 0,
-          topVenues: venueAnalytics.data.topVenues || []
+          totalUsers: users.totalUsers,
+          totalVenues: venues.totalVenues,
+          totalBookings: venues.totalBookings,
+          totalRevenue: venues.totalRevenue,
+          recentBookings: bookings.recentBookings || [],
+          userGrowth: users.userGrowth || [],
+          revenueTrend: venues.revenueTrend || [],
+          activeUsers: users.activeUsers || 0,
+          pendingBookings: bookings.pendingBookings || 0,
+          completedBookings: bookings.completedBookings || 0,
+          averageBookingValue: bookings.averageBookingValue || 0,
+          topVenues: venues.topVenues || []
         });
       } catch (error) {
         console.error('Error fetching analytics:', error);
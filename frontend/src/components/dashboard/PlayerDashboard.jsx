@@ -13,8 +13,8 @@ const PlayerDashboard = () => {
   useEffect(() => {
     const fetchBookings = async () => {
       try {
-        const response = await api.get(`/bookings/user/id/${user.id}`);
-        setBookings(response.data);
+        const response = await api.get(`/bookings/user/id/${user.id}`, { params: { limit: 5 } });
+        setBookings(response.data.items);
       } catch (error) {
         console.error('Error fetching bookings:', error);
         toast.error('Failed to load bookings');
@@ -67,7 +67,7 @@ const PlayerDashboard = () => {
             bookings.map((booking) => (
               <div key={booking.id} className="flex items-center justify-between p-4 border rounded-lg">
                 <div>
-                  <p className="font-medium">{booking.venue.name}</p>
+                  <p className="font-medium">{booking.venueName}</p>
                   <p className="text-sm text-gray-500">{new Date(booking.bookingDate).toLocaleDateString()}</p>
                 </div>
                 <div className="text-right">
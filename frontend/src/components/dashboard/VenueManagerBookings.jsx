@@ -6,6 +6,7 @@ import { useAuthRedirect } from '../../hooks/useAuthRedirect';
 export default function VenueManagerBookings() {
   const { user, isAuthenticated } = useAuthRedirect('VENUE_MANAGER');
   const [bookings, setBookings] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [stats, setStats] = useState({
     totalBookings: 0,
@@ -20,10 +21,12 @@ export default function VenueManagerBookings() {
     fetchStats();
   }, [isAuthenticated, user]);
 
-  const fetchBookings = async () => {
+  const fetchBookings = async (cursor = null) => {
     try {
-      const response = await api.get(`/bookings/manager/${user.id}`);
-      setBookings(response.data);
+      const response = await api.get(`/bookings/manager/${user.id}`, { params: { cursor } });
+      const { items, nextCursor: next } = response.data;
+      setBookings((previous) => (cursor ? [...previous, ...items] : items));
+      setNextCursor(next);
     } catch (error) {
       console.error('Error fetching bookings:', error);
       toast.error('Failed to load bookings');
@@ -145,11 +148,11 @@ export default function VenueManagerBookings() {
               {bookings.map((booking) => (
                 <tr key={booking.id} className="hover:bg-gray-50">
                   <td className="px-6 py-4 whitespace-nowrap">
-                    <div className="text-sm font-medium text-gray-900">{booking.venue.name}</div>
+                    <div className="text-sm font-medium text-gray-900">{booking.venueName}</div>
                     <div className="text-sm text-gray-500">Court {booking.courtNumber}</div>
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap">
-                    <div className="text-sm text-gray-900">{booking.user.username}</div>
+                    <div className="text-sm text-gray-900">{booking.username}</div>
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap">
                     <div className="text-sm text-gray-900">
@@ -187,6 +190,16 @@ export default function VenueManagerBookings() {
               ))}
             </tbody>
           </table>
+          {nextCursor && (
+            <div className="px-6 py-4 text-center">
+              <button
+                onClick={() => fetchBookings(nextCursor)}
+                className="px-4 py-2 text-sm font-medium text-blue-600 hover:text-blue-800"
+              >
+                Load more
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
@@ -112,7 +112,7 @@ const PaymentPage = () => {
         <div className="mb-6">
           <h2 className="text-xl font-semibold mb-2">Booking Summary</h2>
           <div className="space-y-2">
-            <p className="text-gray-600">Venue: {booking.venue.name}</p>
+            <p className="text-gray-600">Venue: {booking.venueName}</p>
             <p className="text-gray-600">Date: {new Date(booking.bookingDate).toLocaleDateString()}</p>
             <p className="text-gray-600">Time: {booking.startTime} - {booking.endTime}</p>
             <p className="text-gray-600">Court: {booking.courtNumber}</p>
@@ -6,24 +6,25 @@ import { toast } from 'react-toastify';
 const PlayerBookings = () => {
   const { user } = useAuth();
   const [bookings, setBookings] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
 
-  useEffect(() => {
-    const fetchBookings = async () => {
-      try {
-        console.log('Fetching bookings for user:', user);
-        const response = await api.get(`/bookings/user/id/${user.id}`);
-        console.log('Bookings response:', response.data);
-        setBookings(response.data);
-      } catch (error) {
-        console.error('Error fetching bookings:', error);
-        console.error('Error details:', error.response?.data);
-        toast.error('Failed to load bookings');
-      } finally {
-        setLoading(false);
-      }
-    };
+  const fetchBookings = async (cursor = null) => {
+    try {
+      const response = await api.get(`/bookings/user/id/${user.id}`, { params: { cursor } });
+      const { items, nextCursor: next } = response.data;
+      setBookings((previous) => (cursor ? [...previous, ...items] : items));
+      setNextCursor(next);
+    } catch (error) {
+      console.error('Error fetching bookings:', error);
+      console.error('Error details:', error.response?.data);
+      toast.error('Failed to load bookings');
+    } finally {
+      setLoading(false);
+    }
+  };
 
+  useEffect(() => {
     if (user) {
       fetchBookings();
     }
@@ -51,7 +52,7 @@ const PlayerBookings = () => {
             <div key={booking.id} className="bg-white rounded-lg shadow-md p-6">
               <div className="flex justify-between items-start mb-4">
                 <div>
-                  <h3 className="text-lg font-semibold text-gray-800">{booking.venue.name}</h3>
+                  <h3 className="text-lg font-semibold text-gray-800">{booking.venueName}</h3>
                   <p className="text-sm text-gray-600">Court {booking.courtNumber}</p>
                 </div>
                 <span className={`px-3 py-1 rounded-full text-sm font-medium ${
@@ -81,6 +82,16 @@ const PlayerBookings = () => {
           ))}
         </div>
       )}
+      {nextCursor && (
+        <div className="mt-6 text-center">
+          <button
+            onClick={() => fetchBookings(nextCursor)}
+            className="px-4 py-2 text-sm font-medium text-blue-600 hover:text-blue-800"
+          >
+            Load more
+          </button>
+        </div>
+      )}
     </div>
   );
 };
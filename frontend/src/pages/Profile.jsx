@@ -167,7 +167,7 @@ export default function Profile() {
             <div key={booking.id} className="bg-white p-4 rounded-lg shadow">
               <div className="flex justify-between items-start">
                 <div>
-                  <h4 className="font-medium text-gray-800">{booking.venue.name}</h4>
+                  <h4 className="font-medium text-gray-800">{booking.venueName}</h4>
                   <p className="text-sm text-gray-500">
                     {new Date(booking.bookingDate).toLocaleDateString()}
                   </p>
@@ -14,33 +14,24 @@ const VenueList = () => {
   useEffect(() => {
     const fetchVenues = async () => {
       try {
-        // Try the search endpoint first
-        const response = await api.get('/venues/search');
+        // The list shows every venue; search is capped at a page of results
+        const response = await api.get('/venues');
         setVenues(response.data);
         setLoading(false);
       } catch (err) {
         console.error('Error fetching venues:', err);
-        
-        // If search endpoint fails, try the main venues endpoint
-        try {
-          const response = await api.get('/venues');
-          setVenues(response.data);
-          setLoading(false);
-        } catch (secondErr) {
-          console.error('Error fetching venues from fallback endpoint:', secondErr);
-          
-          if (secondErr.response && secondErr.response.status === 403) {
-            // If unauthorized, show a message and redirect to login
-            toast.error('Please log in to view venues');
-            navigate('/login');
-          } else if (secondErr.response && secondErr.response.status === 500) {
-            setError('Server error. Please try again later or contact support.');
-          } else {
-            setError('Failed to fetch venues. Please try again later.');
-          }
-          
-          setLoading(false);
+
+        if (err.response && err.response.status === 403) {
+          // If unauthorized, show a message and redirect to login
+          toast.error('Please log in to view venues');
+          navigate('/login');
+        } else if (err.response && err.response.status === 500) {
+          setError('Server error. Please try again later or contact support.');
+        } else {
+          setError('Failed to fetch venues. Please try again later.');
         }
+
+        setLoading(false);
       }
     };
 